@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+# Compares throughput and p99 latency of the platform-thread and the virtual-thread mode under
+# the same read load. Each mode gets a fresh loadTestServer on the same seeded dataset, with
+# every database statement delayed by DB_LATENCY ms to stand in for a slow MariaDB.
+#
+#   DB_LATENCY=20 RATE=600 DURATION=2m loadtest/compare.sh
+#
+# Requires k6 and jq. Run from the backend directory; summaries go to build/reports/loadtest.
+set -euo pipefail
+
+POSTS=${POSTS:-10000}
+DB_LATENCY=${DB_LATENCY:-20}
+RATE=${RATE:-400}
+DURATION=${DURATION:-1m}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+REPORTS=build/reports/loadtest
+GRADLE=${GRADLE:-../gradlew}
+
+mkdir -p "$REPORTS"
+
+run_mode() {
+  local mode=$1 profile=$2
+  echo "== $mode threads (profile $profile)"
+
+  "$GRADLE" -q -p .. :backend:loadTestServer -x :backend:copyFrontend \
+    -PloadTestProfile="$profile" -PloadTestPosts="$POSTS" -PloadTestDbLatency="$DB_LATENCY" \
+    > "$REPORTS/$mode-server.log" 2>&1 &
+  local server=$!
+  trap 'kill $server 2>/dev/null || true' RETURN
+
+  # Ready once the dataset is seeded, not just once the port is open
+  until curl -sf "$BASE_URL/api/posts/by-slug/post-11" > /dev/null; do
+    if ! kill -0 $server 2>/dev/null; then
+      echo "Server failed to start, see $REPORTS/$mode-server.log" >&2
+      exit 1
+    fi
+    sleep 2
+  done
+
+  # Warm up the JIT and the caches before measuring
+  k6 run -q -e BASE_URL="$BASE_URL" -e POSTS="$POSTS" -e RATE="$RATE" -e DURATION=20s \
+    loadtest/read-mix.js > /dev/null || true
+  k6 run -q -e BASE_URL="$BASE_URL" -e POSTS="$POSTS" -e RATE="$RATE" -e DURATION="$DURATION" \
+    --summary-export "$REPORTS/$mode.json" loadtest/read-mix.js || true
+
+  # Stop the Gradle daemon's JavaExec as well as the client
+  pkill -f kr.null0xff.blog.benchmark.LoadTestServer || true
+  wait $server 2>/dev/null || true
+}
+
+run_mode platform dev
+run_mode virtual dev,virtual-threads
+
+printf '\n%-10s %10s %10s %10s %10s %10s\n' mode req/s p95_ms p99_ms failed dropped
+for mode in platform virtual; do
+  jq -r --arg mode "$mode" '[$mode,
+      (.metrics.http_reqs.rate | floor),
+      (.metrics.http_req_duration["p(95)"] | floor),
+      (.metrics.http_req_duration["p(99)"] | floor),
+      (.metrics.http_req_failed.value * 100 | tostring + "%"),
+      (.metrics.dropped_iterations.count // 0)] | @tsv' "$REPORTS/$mode.json" |
+    awk -F'\t' '{ printf "%-10s %10s %10s %10s %10s %10s\n", $1, $2, $3, $4, $5, $6 }'
+done
@@ -0,0 +1,65 @@
+// k6 load test of the public read endpoints against the seeded benchmark dataset served by the
+// loadTestServer task. Requests arrive at a fixed rate, so a mode that cannot keep up shows it
+// as higher latency, dropped iterations and errors instead of silently sending less load.
+//
+//   k6 run -e RATE=400 -e DURATION=1m -e POSTS=10000 loadtest/read-mix.js
+//
+// compare.sh runs it against the platform-thread and the virtual-thread mode.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const POSTS = parseInt(__ENV.POSTS || '10000');
+const TAGS = 1000;
+
+export const options = {
+  scenarios: {
+    reads: {
+      executor: 'constant-arrival-rate',
+      rate: parseInt(__ENV.RATE || '400'),
+      timeUnit: '1s',
+      duration: __ENV.DURATION || '1m',
+      preAllocatedVUs: 200,
+      maxVUs: parseInt(__ENV.MAX_VUS || '2000'),
+    },
+  },
+  summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+function randomInt(max) {
+  return Math.floor(Math.random() * max);
+}
+
+// Every tenth seeded post is a draft; these are the published ones past the slug collisions
+function publishedPostId() {
+  const id = 11 + randomInt(POSTS - 11);
+  return id % 10 === 0 ? id + 1 : id;
+}
+
+const requests = [
+  // weight, request
+  [40, () => `/api/posts?page=${randomInt(20)}&size=10`],
+  [30, () => `/api/posts/by-slug/post-${publishedPostId()}`],
+  [15, () => `/api/posts/by-tag/tag-${1 + randomInt(TAGS)}?size=10`],
+  [10, () => '/api/comments/post/1/threads?size=10'],
+  [5, () => '/api/tags/popular?limit=10'],
+];
+const totalWeight = requests.reduce((sum, [weight]) => sum + weight, 0);
+
+export default function () {
+  let pick = randomInt(totalWeight);
+  for (const [weight, path] of requests) {
+    if (pick < weight) {
+      const url = path();
+      // Group the per-endpoint metrics by path, without the IDs and slugs
+      const name = url.split('?')[0].replace(/\d+/g, 'N');
+      const res = http.get(BASE_URL + url, { tags: { name } });
+      check(res, { 'status is 200': (r) => r.status === 200 });
+      return;
+    }
+    pick -= weight;
+  }
+}
@@ -0,0 +1,58 @@
+package kr.null0xff.blog.benchmark;
+
+import java.nio.file.Path;
+import kr.null0xff.blog.MainApplication;
+import kr.null0xff.blog.service.PostCounterService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Application context backed by a file-based H2 database holding {@link #posts} posts. The
+ * database files are kept in {@code build/jmh-data}, so each dataset is only seeded by the first
+ * fork that needs it.
+ */
+@State(Scope.Benchmark)
+public class BlogDataset {
+
+  @Param({"10000", "100000", "1000000"})
+  public int posts;
+
+  private ConfigurableApplicationContext context;
+
+  @Setup(Level.Trial)
+  public void start() {
+    Path database = Path.of(System.getProperty("blog.benchmark.data-dir", "build/jmh-data"))
+        .resolve("blog-" + posts)
+        .toAbsolutePath();
+
+    context = new SpringApplicationBuilder(MainApplication.class)
+        .web(WebApplicationType.NONE)
+        .run("--spring.datasource.url=jdbc:h2:file:" + database + ";DB_CLOSE_ON_EXIT=FALSE",
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN",
+            "--logging.level.kr.null0xff.blog=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql=WARN");
+
+    if (new DatasetSeeder(bean(JdbcTemplate.class)).seed(posts)) {
+      bean(PostCounterService.class).reconcile();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void stop() {
+    context.close();
+  }
+
+  public <T> T bean(Class<T> type) {
+    return context.getBean(type);
+  }
+}
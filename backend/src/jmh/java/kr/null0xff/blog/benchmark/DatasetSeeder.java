@@ -0,0 +1,180 @@
+package kr.null0xff.blog.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import kr.null0xff.blog.entity.Comment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Fills the benchmark database with plain JDBC batches; going through the services would take
+ * hours for a million posts.
+ * <p>
+ * Every post has three tags and a category. The first {@link #SLUG_COLLISIONS} posts share the
+ * title {@link #COLLIDING_TITLE}, so slug generation has to probe that many slugs, and the first
+ * post carries a thread of {@link #ROOT_COMMENTS} comments with {@link #REPLIES_PER_COMMENT}
+ * replies each.
+ */
+class DatasetSeeder {
+
+  static final String COLLIDING_TITLE = "Benchmark Post";
+  static final int SLUG_COLLISIONS = 10;
+  static final long COMMENTED_POST_ID = 1;
+  static final int ROOT_COMMENTS = 50;
+  static final int REPLIES_PER_COMMENT = 4;
+
+  private static final int USERS = 100;
+  private static final int CATEGORIES = 20;
+  private static final int TAGS = 1_000;
+  private static final int TAGS_PER_POST = 3;
+  private static final int BATCH_SIZE = 10_000;
+
+  private static final String[] TABLES = {"post_tags", "comments", "posts", "tags", "categories",
+      "users"};
+
+  private static final String[] ENTITY_TABLES = {"comments", "posts", "tags", "categories",
+      "users"};
+
+  private final JdbcTemplate jdbcTemplate;
+  private final LocalDateTime now = LocalDateTime.now();
+
+  DatasetSeeder(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Seed the database unless it already holds a dataset of the requested size
+   *
+   * @return true if the database had to be (re)seeded
+   */
+  boolean seed(int posts) {
+    Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts", Long.class);
+    if (existing != null && existing == posts) {
+      return false;
+    }
+
+    clear();
+    seedUsers();
+    seedCategories();
+    seedTags();
+    seedPosts(posts);
+    seedComments();
+    restartSequences();
+    return true;
+  }
+
+  private void clear() {
+    jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+    for (String table : TABLES) {
+      jdbcTemplate.execute("TRUNCATE TABLE " + table + " RESTART IDENTITY");
+    }
+    jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+  }
+
+  private void seedUsers() {
+    List<Object[]> rows = new ArrayList<>();
+    for (long id = 1; id <= USERS; id++) {
+      rows.add(new Object[]{id, "user" + id, "user" + id + "@example.com", "password",
+          "Avatar of user " + id, timestamp(0)});
+    }
+    insert("INSERT INTO users (id, username, email, password, avatar_url, created_at) "
+        + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+  }
+
+  private void seedCategories() {
+    List<Object[]> rows = new ArrayList<>();
+    for (long id = 1; id <= CATEGORIES; id++) {
+      rows.add(new Object[]{id, "Category " + id, "category-" + id, "#3366ff", timestamp(0)});
+    }
+    insert("INSERT INTO categories (id, name, slug, color, created_at) VALUES (?, ?, ?, ?, ?)",
+        rows);
+  }
+
+  private void seedTags() {
+    List<Object[]> rows = new ArrayList<>();
+    for (long id = 1; id <= TAGS; id++) {
+      rows.add(new Object[]{id, "tag" + id, "tag-" + id, timestamp(0)});
+    }
+    insert("INSERT INTO tags (id, name, slug, created_at) VALUES (?, ?, ?, ?)", rows);
+  }
+
+  private void seedPosts(int posts) {
+    List<Object[]> postRows = new ArrayList<>(BATCH_SIZE);
+    List<Object[]> tagRows = new ArrayList<>(BATCH_SIZE * TAGS_PER_POST);
+
+    for (long id = 1; id <= posts; id++) {
+      boolean published = id % 10 != 0;
+      String title = id <= SLUG_COLLISIONS ? COLLIDING_TITLE : "Post number " + id;
+      String slug = id == 1 ? "benchmark-post"
+          : id <= SLUG_COLLISIONS ? "benchmark-post-" + (id - 1) : "post-" + id;
+      Timestamp createdAt = timestamp(posts - id);
+
+      postRows.add(new Object[]{id, title, slug, "Description of post " + id,
+          "Content of post " + id + ". " + "Lorem ipsum dolor sit amet. ".repeat(20),
+          published, createdAt, createdAt, published ? createdAt : null,
+          id % USERS + 1, id % CATEGORIES + 1});
+
+      long firstTag = id * 7 % TAGS;
+      for (int i = 0; i < TAGS_PER_POST; i++) {
+        tagRows.add(new Object[]{id, (firstTag + i) % TAGS + 1});
+      }
+
+      if (postRows.size() == BATCH_SIZE) {
+        flushPosts(postRows, tagRows);
+      }
+    }
+    flushPosts(postRows, tagRows);
+  }
+
+  private void flushPosts(List<Object[]> postRows, List<Object[]> tagRows) {
+    insert("INSERT INTO posts (id, title, slug, description, content, published, created_at, "
+        + "updated_at, published_at, author_id, category_id) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", postRows);
+    insert("INSERT INTO post_tags (post_id, tag_id) VALUES (?, ?)", tagRows);
+    postRows.clear();
+    tagRows.clear();
+  }
+
+  private void seedComments() {
+    List<Object[]> rows = new ArrayList<>();
+    long id = 1;
+    for (int i = 0; i < ROOT_COMMENTS; i++) {
+      long rootId = id++;
+      rows.add(comment(rootId, null));
+      for (int j = 0; j < REPLIES_PER_COMMENT; j++) {
+        rows.add(comment(id++, rootId));
+      }
+    }
+    insert("INSERT INTO comments (id, content, approved, created_at, author_id, post_id, "
+        + "parent_id, path) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+  }
+
+  private Object[] comment(long id, Long parentId) {
+    return new Object[]{id, "Comment " + id + ". Lorem ipsum dolor sit amet.", true,
+        timestamp(-id), id % USERS + 1, COMMENTED_POST_ID, parentId,
+        parentId == null ? "" : Comment.segment(parentId)};
+  }
+
+  /**
+   * Move the ID sequences past the seeded rows. The pooled optimizer reads each sequence value as
+   * the top of a block of 50 IDs.
+   */
+  private void restartSequences() {
+    for (String table : ENTITY_TABLES) {
+      Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table,
+          Long.class);
+      jdbcTemplate.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + (maxId + 50));
+    }
+  }
+
+  private void insert(String sql, List<Object[]> rows) {
+    if (!rows.isEmpty()) {
+      jdbcTemplate.batchUpdate(sql, rows);
+    }
+  }
+
+  private Timestamp timestamp(long minutesAgo) {
+    return Timestamp.valueOf(now.minusMinutes(minutesAgo));
+  }
+}
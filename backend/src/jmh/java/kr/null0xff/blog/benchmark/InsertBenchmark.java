@@ -0,0 +1,122 @@
+package kr.null0xff.blog.benchmark;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import kr.null0xff.blog.MainApplication;
+import kr.null0xff.blog.entity.Comment;
+import kr.null0xff.blog.entity.Post;
+import kr.null0xff.blog.entity.User;
+import kr.null0xff.blog.repository.CommentRepository;
+import kr.null0xff.blog.repository.PostRepository;
+import kr.null0xff.blog.repository.UserRepository;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Insert throughput of a bulk comment import with and without JDBC batching. A batch size of 1
+ * sends one INSERT per row, which is what IDENTITY ids forced on every insert.
+ * <p>
+ * Runs against an H2 server on the loopback interface by default, so every round trip crosses a
+ * socket like it would with MariaDB. Pass {@code -Dblog.benchmark.url=jdbc:mariadb://...} (plus
+ * username and password properties) through {@code -jvmArgsAppend} to measure a real server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class InsertBenchmark {
+
+  private static final int ROWS = 500;
+
+  @Param({"1", "50"})
+  public int jdbcBatchSize;
+
+  private Server h2Server;
+  private ConfigurableApplicationContext context;
+  private CommentRepository commentRepository;
+  private TransactionTemplate transactionTemplate;
+  private User author;
+  private Post post;
+
+  @Setup(Level.Trial)
+  public void start() throws SQLException {
+    String url = System.getProperty("blog.benchmark.url");
+    if (url == null) {
+      h2Server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+      url = "jdbc:h2:tcp://localhost:" + h2Server.getPort() + "/mem:insert-benchmark";
+    }
+
+    context = new SpringApplicationBuilder(MainApplication.class)
+        .web(WebApplicationType.NONE)
+        .run("--spring.datasource.url=" + url,
+            "--spring.datasource.username=" + System.getProperty("blog.benchmark.username", "sa"),
+            "--spring.datasource.password=" + System.getProperty("blog.benchmark.password", ""),
+            "--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN",
+            "--logging.level.kr.null0xff.blog=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql=WARN");
+
+    commentRepository = context.getBean(CommentRepository.class);
+    transactionTemplate = new TransactionTemplate(
+        context.getBean(PlatformTransactionManager.class));
+
+    author = context.getBean(UserRepository.class).save(User.builder()
+        .username("importer")
+        .email("importer@example.com")
+        .password("password")
+        .build());
+
+    Post newPost = new Post();
+    newPost.setTitle("Imported comments");
+    newPost.setSlug("imported-comments");
+    newPost.setDescription("Target of the comment import");
+    newPost.setContent("Comments are imported into this post");
+    newPost.setAuthor(author);
+    post = context.getBean(PostRepository.class).save(newPost);
+  }
+
+  @TearDown(Level.Trial)
+  public void stop() {
+    context.close();
+    if (h2Server != null) {
+      h2Server.stop();
+    }
+  }
+
+  /**
+   * Insert {@value #ROWS} comments in one transaction; the score is rows per second
+   */
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public void importComments() {
+    List<Comment> comments = new ArrayList<>(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      comments.add(Comment.builder()
+          .content("Imported comment " + i)
+          .approved(true)
+          .author(author)
+          .post(post)
+          .build());
+    }
+
+    transactionTemplate.executeWithoutResult(status -> commentRepository.saveAll(comments));
+  }
+}
@@ -0,0 +1,112 @@
+package kr.null0xff.blog.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import kr.null0xff.blog.MainApplication;
+import kr.null0xff.blog.service.PostCounterService;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Serves the blog over HTTP on a seeded H2 dataset for the k6 load test in {@code loadtest/}.
+ * Started by the {@code loadTestServer} task; the database files are shared with the JMH
+ * benchmarks in {@code build/jmh-data}.
+ * <p>
+ * H2 answers in microseconds, where a loaded MariaDB across the network takes milliseconds, so
+ * every statement can be delayed by {@code blog.loadtest.db-latency} milliseconds to make requests
+ * block on the database the way they do in production.
+ */
+public class LoadTestServer {
+
+  public static void main(String[] args) {
+    int posts = Integer.getInteger("blog.loadtest.posts", 10_000);
+    long dbLatency = Long.getLong("blog.loadtest.db-latency", 0);
+    Path database = Path.of(System.getProperty("blog.benchmark.data-dir", "build/jmh-data"))
+        .resolve("blog-" + posts)
+        .toAbsolutePath();
+
+    List<String> arguments = new ArrayList<>(List.of(
+        "--spring.datasource.url=jdbc:h2:file:" + database + ";DB_CLOSE_ON_EXIT=FALSE",
+        "--spring.jpa.show-sql=false",
+        "--logging.level.root=WARN",
+        "--logging.level.kr.null0xff.blog=WARN",
+        "--logging.level.org.hibernate.SQL=WARN",
+        "--logging.level.org.hibernate.type.descriptor.sql=WARN"));
+    arguments.addAll(List.of(args));
+
+    ConfigurableApplicationContext context = new SpringApplicationBuilder(MainApplication.class)
+        .initializers(ctx -> ctx.getBeanFactory()
+            .addBeanPostProcessor(new SlowDataSourcePostProcessor(dbLatency)))
+        .run(arguments.toArray(String[]::new));
+
+    if (new DatasetSeeder(context.getBean(JdbcTemplate.class)).seed(posts)) {
+      context.getBean(PostCounterService.class).reconcile();
+    }
+    System.out.printf("Load test server ready: %d posts, %d ms per statement, profiles %s%n",
+        posts, dbLatency, String.join(",", context.getEnvironment().getActiveProfiles()));
+  }
+
+  /**
+   * Wraps the data source so that every statement execution sleeps before it runs
+   */
+  private record SlowDataSourcePostProcessor(long latency) implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+      if (latency <= 0 || !(bean instanceof DataSource dataSource)) {
+        return bean;
+      }
+      return proxy(DataSource.class, dataSource, (method, result) ->
+          result instanceof Connection connection
+              ? proxy(Connection.class, connection, this::wrapStatement) : result);
+    }
+
+    private Object wrapStatement(Method method, Object result) {
+      if (!(result instanceof Statement statement)) {
+        return result;
+      }
+      // Keep the most specific statement interface, Hibernate casts to PreparedStatement
+      Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+          : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+      return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+          delegate(statement, (executed, value) -> value, true));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Class<T> type, T target, ResultWrapper wrapper) {
+      return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+          delegate(target, wrapper, false));
+    }
+
+    private InvocationHandler delegate(Object target, ResultWrapper wrapper, boolean slow) {
+      return (proxy, method, methodArgs) -> {
+        if (slow && method.getName().startsWith("execute")) {
+          Thread.sleep(latency);
+        }
+        try {
+          return wrapper.wrap(method, method.invoke(target, methodArgs));
+        } catch (InvocationTargetException e) {
+          throw e.getCause();
+        }
+      };
+    }
+  }
+
+  @FunctionalInterface
+  private interface ResultWrapper {
+
+    Object wrap(Method method, Object result);
+  }
+}
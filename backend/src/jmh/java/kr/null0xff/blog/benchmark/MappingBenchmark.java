@@ -0,0 +1,89 @@
+package kr.null0xff.blog.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import kr.null0xff.blog.dto.CommentResponse;
+import kr.null0xff.blog.dto.PostResponse;
+import kr.null0xff.blog.entity.Comment;
+import kr.null0xff.blog.entity.Post;
+import kr.null0xff.blog.repository.CommentRepository;
+import kr.null0xff.blog.service.PostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Entity to DTO mapping and JSON serialization of the read path. The entities are loaded once
+ * per trial, so these benchmarks measure only the in-memory work of a request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MappingBenchmark {
+
+  private static final PageRequest POST_PAGE = PageRequest.of(0, 10,
+      Sort.by(Sort.Direction.DESC, "publishedAt"));
+  private static final PageRequest COMMENT_PAGE = PageRequest.of(0, 20);
+
+  @State(Scope.Benchmark)
+  public static class LoadedEntities {
+
+    List<Post> posts;
+    List<PostResponse> postResponses;
+    List<Comment> roots;
+    List<Comment> replies;
+    ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void load(BlogDataset dataset) {
+      // The posts of the newest page, each loaded the way a single post is served
+      PostService postService = dataset.bean(PostService.class);
+      posts = postService.getPublishedPostSummaries(POST_PAGE).stream()
+          .map(summary -> postService.getPostById(summary.getId()))
+          .collect(Collectors.toList());
+      postResponses = posts.stream()
+          .map(PostResponse::fromEntity)
+          .collect(Collectors.toList());
+      objectMapper = dataset.bean(ObjectMapper.class);
+
+      // The same two queries as CommentService.getCommentThreads, the assembly is measured below
+      CommentRepository commentRepository = dataset.bean(CommentRepository.class);
+      Post commented = postService.getPostById(DatasetSeeder.COMMENTED_POST_ID);
+      roots = commentRepository.findByPostAndParentIsNullAndApprovedTrue(commented, COMMENT_PAGE)
+          .getContent();
+      List<String> subtreePaths = roots.stream()
+          .map(Comment::getSubtreePath)
+          .sorted()
+          .collect(Collectors.toList());
+      replies = commentRepository.findApprovedRepliesInPathRange(commented.getId(),
+          subtreePaths.get(0), Comment.subtreePathEnd(subtreePaths.get(subtreePaths.size() - 1)));
+    }
+  }
+
+  @Benchmark
+  public List<PostResponse> postResponseFromEntity(LoadedEntities entities) {
+    return entities.posts.stream()
+        .map(PostResponse::fromEntity)
+        .collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public List<CommentResponse> commentThreadsOf(LoadedEntities entities) {
+    return CommentResponse.threadsOf(entities.roots, entities.replies);
+  }
+
+  @Benchmark
+  public byte[] serializePostResponsePage(LoadedEntities entities)
+      throws JsonProcessingException {
+    return entities.objectMapper.writeValueAsBytes(entities.postResponses);
+  }
+}
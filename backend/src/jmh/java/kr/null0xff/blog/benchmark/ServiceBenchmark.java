@@ -0,0 +1,63 @@
+package kr.null0xff.blog.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import kr.null0xff.blog.dto.CommentResponse;
+import kr.null0xff.blog.entity.Tag;
+import kr.null0xff.blog.service.CommentService;
+import kr.null0xff.blog.service.PostService;
+import kr.null0xff.blog.service.TagService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Service calls of the read path, including their transactions and database round trips
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServiceBenchmark {
+
+  private static final PageRequest COMMENT_PAGE = PageRequest.of(0, 20);
+
+  @State(Scope.Benchmark)
+  public static class Services {
+
+    PostService postService;
+    TagService tagService;
+    CommentService commentService;
+
+    @Setup(Level.Trial)
+    public void lookup(BlogDataset dataset) {
+      postService = dataset.bean(PostService.class);
+      tagService = dataset.bean(TagService.class);
+      commentService = dataset.bean(CommentService.class);
+    }
+  }
+
+  /**
+   * The title collides with {@link DatasetSeeder#SLUG_COLLISIONS} existing slugs
+   */
+  @Benchmark
+  public String generateUniqueSlug(Services services) {
+    return services.postService.generateUniqueSlug(DatasetSeeder.COLLIDING_TITLE);
+  }
+
+  @Benchmark
+  public Map<Tag, Long> getTagsWithPostCount(Services services) {
+    return services.tagService.getTagsWithPostCount();
+  }
+
+  @Benchmark
+  public Page<CommentResponse> getCommentThreads(Services services) {
+    return services.commentService.getCommentThreads(DatasetSeeder.COMMENTED_POST_ID,
+        COMMENT_PAGE);
+  }
+}
@@ -0,0 +1,68 @@
+package db.migration.common;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Fills in the paths of the replies written before V3 added the column. Top-level comments keep
+ * the empty default path.
+ * <p>
+ * The path encoding is copied from {@code Comment} rather than shared, so this migration keeps
+ * producing the same paths whatever later versions of the entity do.
+ */
+public class V4__Backfill_comment_paths extends BaseJavaMigration {
+
+  private static final int SEGMENT_DIGITS = 8;
+  private static final int BATCH_SIZE = 500;
+
+  @Override
+  public void migrate(Context context) throws Exception {
+    Connection connection = context.getConnection();
+
+    // reply ID -> parent ID
+    Map<Long, Long> parents = new HashMap<>();
+    try (Statement statement = connection.createStatement();
+        ResultSet rows = statement.executeQuery(
+            "SELECT id, parent_id FROM comments WHERE parent_id IS NOT NULL")) {
+      while (rows.next()) {
+        parents.put(rows.getLong(1), rows.getLong(2));
+      }
+    }
+
+    try (PreparedStatement update = connection.prepareStatement(
+        "UPDATE comments SET path = ? WHERE id = ?")) {
+      int batched = 0;
+      for (Long id : parents.keySet()) {
+        update.setString(1, path(id, parents));
+        update.setLong(2, id);
+        update.addBatch();
+        if (++batched % BATCH_SIZE == 0) {
+          update.executeBatch();
+        }
+      }
+      update.executeBatch();
+    }
+  }
+
+  private static String path(long id, Map<Long, Long> parents) {
+    Deque<Long> ancestors = new ArrayDeque<>();
+    for (Long parent = parents.get(id); parent != null; parent = parents.get(parent)) {
+      ancestors.push(parent);
+    }
+
+    StringBuilder path = new StringBuilder();
+    for (long ancestor : ancestors) {
+      String digits = Long.toString(ancestor, Character.MAX_RADIX);
+      path.append("0".repeat(SEGMENT_DIGITS - digits.length())).append(digits).append('/');
+    }
+    return path.toString();
+  }
+}
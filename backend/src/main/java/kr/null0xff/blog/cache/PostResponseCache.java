@@ -0,0 +1,144 @@
+package kr.null0xff.blog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.function.Function;
+import kr.null0xff.blog.config.PostCacheProperties;
+import kr.null0xff.blog.dto.PostResponse;
+import kr.null0xff.blog.dto.TagSummaryResponse;
+import kr.null0xff.blog.event.CategoryChangedEvent;
+import kr.null0xff.blog.event.PostChangedEvent;
+import kr.null0xff.blog.event.TagChangedEvent;
+import kr.null0xff.blog.event.UserChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bounded in-process cache of fully assembled {@link PostResponse}s for published posts, keyed by
+ * slug. Entries are weighed by their approximate heap size, expire after a configurable time to
+ * live and are invalidated as soon as a change to the post, or to any tag or category, commits.
+ * <p>
+ * Hit, miss and eviction counts are published as {@code cache.*} metrics with
+ * {@code cache=posts.by-slug}.
+ */
+@Component
+@Slf4j
+public class PostResponseCache {
+
+  public static final String NAME = "posts.by-slug";
+
+  // Rough per-object overhead used when weighing entries
+  private static final int OBJECT_OVERHEAD = 64;
+
+  private final Cache<String, PostResponse> cache;
+
+  public PostResponseCache(PostCacheProperties properties, MeterRegistry meterRegistry) {
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(properties.getMaximumSize().toBytes())
+        .weigher((String slug, PostResponse response) -> weigh(slug, response))
+        .expireAfterWrite(properties.getTimeToLive())
+        .recordStats()
+        .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+  }
+
+  /**
+   * Get the cached response for a slug, loading and caching it on a miss. Exceptions thrown by the
+   * loader (e.g. for unknown slugs) are propagated and nothing is cached.
+   */
+  public PostResponse get(String slug, Function<String, PostResponse> loader) {
+    return cache.get(slug, loader);
+  }
+
+  public void invalidate(String slug) {
+    if (slug != null) {
+      cache.invalidate(slug);
+    }
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * Drop the old and the new slug of a changed post
+   */
+  @TransactionalEventListener
+  public void onPostChanged(PostChangedEvent event) {
+    log.debug("Invalidating cached post {} after {}", event.getPostId(), event.getType());
+    if (event.getBefore() != null) {
+      invalidate(event.getBefore().getSlug());
+    }
+    if (event.getAfter() != null) {
+      invalidate(event.getAfter().getSlug());
+    }
+  }
+
+  /**
+   * Tag names and slugs are embedded in every post using them, so drop everything
+   */
+  @TransactionalEventListener
+  public void onTagChanged(TagChangedEvent event) {
+    if (event.getType() != TagChangedEvent.Type.CREATED) {
+      invalidateAll();
+    }
+  }
+
+  /**
+   * Category names, slugs and colors are embedded in every post using them, so drop everything
+   */
+  @TransactionalEventListener
+  public void onCategoryChanged(CategoryChangedEvent event) {
+    if (event.getType() != CategoryChangedEvent.Type.CREATED) {
+      invalidateAll();
+    }
+  }
+
+  /**
+   * Author usernames and avatars are embedded in every post, so drop everything
+   */
+  @TransactionalEventListener
+  public void onUserChanged(UserChangedEvent event) {
+    if (event.getType() != UserChangedEvent.Type.CREATED) {
+      invalidateAll();
+    }
+  }
+
+  private static int weigh(String slug, PostResponse response) {
+    long chars = length(slug)
+        + length(response.getTitle())
+        + length(response.getSlug())
+        + length(response.getDescription())
+        + length(response.getContent())
+        + length(response.getImageUrl());
+
+    int objects = 8;
+    if (response.getAuthor() != null) {
+      chars += length(response.getAuthor().getUsername())
+          + length(response.getAuthor().getAvatarUrl());
+      objects++;
+    }
+    if (response.getCategory() != null) {
+      chars += length(response.getCategory().getName())
+          + length(response.getCategory().getSlug());
+      objects++;
+    }
+    if (response.getTags() != null) {
+      for (TagSummaryResponse tag : response.getTags()) {
+        chars += length(tag.getName()) + length(tag.getSlug());
+        objects++;
+      }
+    }
+
+    // Strings are at most two bytes per char
+    return (int) Math.min(Integer.MAX_VALUE, chars * 2 + (long) objects * OBJECT_OVERHEAD);
+  }
+
+  private static int length(String value) {
+    return value != null ? value.length() : 0;
+  }
+}
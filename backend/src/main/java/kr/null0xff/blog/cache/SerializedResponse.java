@@ -0,0 +1,18 @@
+package kr.null0xff.blog.cache;
+
+import kr.null0xff.blog.web.ContentEncoding;
+
+/**
+ * A response body serialized to JSON, with its gzip-compressed form
+ *
+ * @param etag the ETag of the representation the body was serialized from
+ */
+public record SerializedResponse(String etag, byte[] json, byte[] gzip) {
+
+  /**
+   * The bytes to send for the negotiated encoding
+   */
+  public byte[] content(ContentEncoding encoding) {
+    return encoding == ContentEncoding.GZIP ? gzip : json;
+  }
+}
@@ -0,0 +1,117 @@
+package kr.null0xff.blog.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import kr.null0xff.blog.config.SerializedResponseCacheProperties;
+import kr.null0xff.blog.event.CategoryChangedEvent;
+import kr.null0xff.blog.event.PostChangedEvent;
+import kr.null0xff.blog.event.TagChangedEvent;
+import kr.null0xff.blog.event.UserChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bounded in-process cache of the hottest read-only listings as bytes ready to be written: the
+ * JSON and its gzip form. A hit skips loading, Jackson serialization and compression.
+ * <p>
+ * Every entry remembers the ETag it was built for and is only served while the ETag is still
+ * current, so a listing loaded while a change committed is never served after it. Entries are
+ * also dropped as soon as a change to posts, tags, categories or users commits, as they would
+ * never be served again.
+ * <p>
+ * Hit, miss and eviction counts are published as {@code cache.*} metrics with
+ * {@code cache=responses.serialized}.
+ */
+@Component
+public class SerializedResponseCache {
+
+  public static final String NAME = "responses.serialized";
+
+  private final Cache<String, SerializedResponse> cache;
+  private final ObjectMapper objectMapper;
+
+  public SerializedResponseCache(SerializedResponseCacheProperties properties,
+      ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+    this.objectMapper = objectMapper;
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(properties.getMaximumSize().toBytes())
+        .weigher((String key, SerializedResponse response) ->
+            key.length() * 2 + response.json().length + response.gzip().length)
+        .recordStats()
+        .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+  }
+
+  /**
+   * Get the serialized response for a key, serializing the body from the supplier if nothing is
+   * cached for the current ETag
+   *
+   * @param key  identifies the listing and its parameters
+   * @param etag the current ETag of the listing
+   * @param body loads and maps the body, only called on a miss
+   */
+  public SerializedResponse get(String key, String etag, Supplier<?> body) {
+    SerializedResponse cached = cache.getIfPresent(key);
+    if (cached != null && cached.etag().equals(etag)) {
+      return cached;
+    }
+
+    // Concurrent misses may serialize the same listing twice, the last one wins
+    byte[] json = serialize(body.get());
+    SerializedResponse response = new SerializedResponse(etag, json, gzip(json));
+    cache.put(key, response);
+    return response;
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  @TransactionalEventListener
+  public void onPostChanged(PostChangedEvent event) {
+    invalidateAll();
+  }
+
+  @TransactionalEventListener
+  public void onTagChanged(TagChangedEvent event) {
+    invalidateAll();
+  }
+
+  @TransactionalEventListener
+  public void onCategoryChanged(CategoryChangedEvent event) {
+    invalidateAll();
+  }
+
+  @TransactionalEventListener
+  public void onUserChanged(UserChangedEvent event) {
+    invalidateAll();
+  }
+
+  private byte[] serialize(Object body) {
+    try {
+      return objectMapper.writeValueAsBytes(body);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize response", e);
+    }
+  }
+
+  private static byte[] gzip(byte[] json) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(json);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,29 @@
+package kr.null0xff.blog.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the asynchronous ingestion of new comments
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.comments.ingestion")
+public class CommentIngestionProperties {
+
+  // Accept new comments with 202 and save them in the background instead of on the request thread
+  private boolean enabled = false;
+
+  // Comments waiting to be saved; further comments are turned away with 429
+  private int queueCapacity = 10_000;
+
+  // Comments saved per transaction, at most the JDBC batch size to keep one round trip per batch
+  private int batchSize = 50;
+
+  // How long a turned away client is asked to wait before retrying
+  private Duration retryAfter = Duration.ofSeconds(5);
+
+  // Append-only journal of the queued comments, replayed after a crash; no journal if unset
+  private Path journal;
+}
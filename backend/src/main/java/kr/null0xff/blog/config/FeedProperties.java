@@ -0,0 +1,25 @@
+package kr.null0xff.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the RSS and Atom feeds and the sitemap
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.feeds")
+public class FeedProperties {
+
+  // Public address of the site, without a trailing slash; feeds and sitemaps need absolute links
+  private String siteUrl = "http://localhost:8080";
+
+  private String title = "Null0xFF Blog";
+
+  private String description = "Latest posts";
+
+  // Newest posts listed in the feeds
+  private int size = 20;
+
+  // Posts per sitemap, by ID range; the sitemap protocol allows at most 50,000 URLs per file
+  private int sitemapChunkSize = 50_000;
+}
@@ -0,0 +1,59 @@
+package kr.null0xff.blog.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.CacheControl;
+
+/**
+ * Cache-Control policies for the read endpoints, keyed by policy name. Endpoints without a
+ * configured policy use the defaults, which make clients revalidate on every use.
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.http-cache")
+public class HttpCacheProperties {
+
+  private Policy defaults = new Policy();
+
+  private Map<String, Policy> policies = new HashMap<>();
+
+  /**
+   * Cache-Control header for the given policy name
+   */
+  public CacheControl cacheControl(String policy) {
+    return policies.getOrDefault(policy, defaults).toCacheControl();
+  }
+
+  @Data
+  public static class Policy {
+
+    // How long clients may reuse a response without revalidating (zero means always revalidate)
+    private Duration maxAge = Duration.ZERO;
+
+    // How long shared caches (CDN, proxies) may reuse a response, if different from max-age
+    private Duration sharedMaxAge;
+
+    // How long a stale response may be served while it is revalidated in the background
+    private Duration staleWhileRevalidate;
+
+    // Whether only the browser may cache the response
+    private boolean cachePrivate = false;
+
+    CacheControl toCacheControl() {
+      CacheControl cacheControl = maxAge.isZero() ?
+          CacheControl.noCache() :
+          CacheControl.maxAge(maxAge);
+
+      cacheControl = cachePrivate ? cacheControl.cachePrivate() : cacheControl.cachePublic();
+      if (sharedMaxAge != null) {
+        cacheControl = cacheControl.sMaxAge(sharedMaxAge);
+      }
+      if (staleWhileRevalidate != null) {
+        cacheControl = cacheControl.staleWhileRevalidate(staleWhileRevalidate);
+      }
+      return cacheControl;
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package kr.null0xff.blog.config;
+
+import kr.null0xff.blog.metrics.DatabaseActivityListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hooks the query instrumentation into Hibernate: every session reports its statements to
+ * {@link DatabaseActivityListener}, and statements slower than the configured threshold are
+ * logged by Hibernate under {@code org.hibernate.SQL_SLOW}.
+ */
+@Configuration
+public class MetricsConfig {
+
+  @Bean
+  public HibernatePropertiesCustomizer databaseActivityCustomizer(MetricsProperties properties) {
+    return hibernateProperties -> {
+      hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+          DatabaseActivityListener.class.getName());
+      hibernateProperties.put(AvailableSettings.LOG_SLOW_QUERY,
+          properties.getSlowQueryThreshold().toMillis());
+    };
+  }
+}
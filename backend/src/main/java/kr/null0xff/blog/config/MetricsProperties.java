@@ -0,0 +1,19 @@
+package kr.null0xff.blog.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the timing and query counting of service methods and requests
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.metrics")
+public class MetricsProperties {
+
+  // Statements running longer than this are logged by Hibernate with their SQL; zero disables it
+  private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+  // Entries returned by the hot paths endpoint unless a limit is given
+  private int hotPathsLimit = 20;
+}
@@ -0,0 +1,20 @@
+package kr.null0xff.blog.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the cache of assembled post responses keyed by slug
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.cache.posts-by-slug")
+public class PostCacheProperties {
+
+  // Approximate heap budget for cached responses
+  private DataSize maximumSize = DataSize.ofMegabytes(32);
+
+  // How long an entry may be served before it is reloaded
+  private Duration timeToLive = Duration.ofMinutes(10);
+}
@@ -0,0 +1,18 @@
+package kr.null0xff.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the startup check of the hot query plans
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.query-plans")
+public class QueryPlanProperties {
+
+  // Run EXPLAIN on the hot repository queries at startup
+  private boolean verify = true;
+
+  // Fail startup when a hot query has no usable index, instead of only logging it
+  private boolean failOnFullScan = true;
+}
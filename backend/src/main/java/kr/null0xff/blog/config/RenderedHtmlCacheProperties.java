@@ -0,0 +1,16 @@
+package kr.null0xff.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the store of post content rendered to HTML, keyed by a hash of the Markdown
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.cache.rendered-html")
+public class RenderedHtmlCacheProperties {
+
+  // Approximate heap budget for the rendered HTML
+  private DataSize maximumSize = DataSize.ofMegabytes(64);
+}
@@ -0,0 +1,16 @@
+package kr.null0xff.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the cache of serialized and compressed listing responses
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.cache.serialized-responses")
+public class SerializedResponseCacheProperties {
+
+  // Heap budget for the cached bytes, uncompressed and compressed together
+  private DataSize maximumSize = DataSize.ofMegabytes(16);
+}
@@ -0,0 +1,19 @@
+package kr.null0xff.blog.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for serving the embedded SvelteKit build
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.static-assets")
+public class StaticAssetProperties {
+
+  // Where the frontend build is copied to by the copyFrontend task
+  private String location = "classpath:/static/";
+
+  // How long files under _app/immutable, whose names contain a content hash, may be cached
+  private Duration immutableMaxAge = Duration.ofDays(365);
+}
@@ -0,0 +1,34 @@
+package kr.null0xff.blog.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the trending posts ranking
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.trending")
+public class TrendingProperties {
+
+  // Time after which a view, comment or publication counts half as much
+  private Duration halfLife = Duration.ofHours(24);
+
+  // Score added per view
+  private double viewWeight = 1.0;
+
+  // Score added per approved comment
+  private double commentWeight = 10.0;
+
+  // Score a post starts with when it is published
+  private double publishWeight = 50.0;
+
+  // How often the ranking served by the API is refreshed
+  private Duration snapshotInterval = Duration.ofMinutes(1);
+
+  // Posts kept in the ranking, the most the endpoint can return
+  private int rankingSize = 20;
+
+  // Approved comments loaded at startup, older ones have decayed to almost nothing
+  private Duration startupWindow = Duration.ofDays(7);
+}
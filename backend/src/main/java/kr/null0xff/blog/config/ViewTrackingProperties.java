@@ -0,0 +1,20 @@
+package kr.null0xff.blog.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for counting post views
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.views")
+public class ViewTrackingProperties {
+
+  // How often the views counted in memory are added to the posts table; views since the last
+  // flush are lost if the application crashes
+  private Duration flushInterval = Duration.ofSeconds(10);
+
+  // Posts kept in the most viewed ranking, the most the endpoint can return
+  private int rankingSize = 50;
+}
@@ -1,14 +1,69 @@
 package kr.null0xff.blog.config;
 
+import java.util.concurrent.TimeUnit;
+import kr.null0xff.blog.metrics.HotPathInterceptor;
+import kr.null0xff.blog.web.ResourceEtags;
+import kr.null0xff.blog.web.VaryAcceptEncodingInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+  // Where SvelteKit puts the files whose names contain a hash of their content
+  private static final String IMMUTABLE_ASSETS = "_app/immutable/";
+
+  private final HotPathInterceptor hotPathInterceptor;
+  private final StaticAssetProperties staticAssetProperties;
+
   @Override
   public void addCorsMappings(CorsRegistry registry) {
-    registry.addMapping("/**");
+    // Let cross-origin clients read the validators needed for conditional requests
+    registry.addMapping("/**")
+        .exposedHeaders(HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    // Statements and database time per endpoint
+    registry.addInterceptor(hotPathInterceptor);
+    registry.addInterceptor(new VaryAcceptEncodingInterceptor())
+        .excludePathPatterns("/api/**");
+  }
+
+  /**
+   * Serve the frontend build, preferring the .br and .gz files precompressed at build time.
+   * Hashed assets never change under their name and are cached for good, everything else is
+   * revalidated against its ETag on every use.
+   */
+  @Override
+  public void addResourceHandlers(ResourceHandlerRegistry registry) {
+    String location = staticAssetProperties.getLocation();
+    ResourceEtags etags = new ResourceEtags();
+
+    registry.addResourceHandler("/" + IMMUTABLE_ASSETS + "**")
+        .addResourceLocations(location + IMMUTABLE_ASSETS)
+        .setCacheControl(CacheControl
+            .maxAge(staticAssetProperties.getImmutableMaxAge().toSeconds(), TimeUnit.SECONDS)
+            .cachePublic()
+            .immutable())
+        .setEtagGenerator(etags)
+        .resourceChain(true)
+        .addResolver(new EncodedResourceResolver());
+
+    registry.addResourceHandler("/**")
+        .addResourceLocations(location)
+        .setCacheControl(CacheControl.noCache())
+        .setEtagGenerator(etags)
+        .resourceChain(true)
+        .addResolver(new EncodedResourceResolver());
   }
-}
\ No newline at end of file
+}
@@ -16,6 +16,10 @@ import kr.null0xff.blog.dto.CategoryResponse;
 import kr.null0xff.blog.dto.CategoryWithPostCountResponse;
 import kr.null0xff.blog.entity.Category;
 import kr.null0xff.blog.service.CategoryService;
+import kr.null0xff.blog.web.ConditionalResponses;
+import kr.null0xff.blog.web.ResourceValidator;
+import kr.null0xff.blog.web.ResourceVersions;
+import kr.null0xff.blog.web.ResourceVersions.Resource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -29,6 +33,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -38,6 +43,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class CategoryController {
 
   private final CategoryService categoryService;
+  private final ResourceVersions resourceVersions;
+  private final ConditionalResponses conditionalResponses;
 
   /**
    * Get all categories
@@ -51,17 +58,18 @@ public class CategoryController {
               schema = @Schema(implementation = CategoryResponse.class)))
   })
   @GetMapping
-  public ResponseEntity<List<CategoryResponse>> getAllCategories() {
+  public ResponseEntity<List<CategoryResponse>> getAllCategories(WebRequest webRequest) {
     log.info("Fetching all categories");
 
-    List<Category> categories = categoryService.getAllCategories();
+    ResourceValidator validator = resourceVersions.validator(Resource.CATEGORIES, Resource.POSTS);
+    return conditionalResponses.respond(webRequest, "categories", validator, () -> {
+      List<Category> categories = categoryService.getAllCategories();
 
-    // Convert entities to DTOs
-    List<CategoryResponse> responseBody = categories.stream()
-        .map(CategoryResponse::fromEntity)
-        .collect(Collectors.toList());
-
-    return ResponseEntity.ok(responseBody);
+      // Convert entities to DTOs
+      return categories.stream()
+          .map(CategoryResponse::fromEntity)
+          .collect(Collectors.toList());
+    });
   }
 
   /**
@@ -77,18 +85,21 @@ public class CategoryController {
               schema = @Schema(implementation = CategoryWithPostCountResponse.class)))
   })
   @GetMapping("/with-post-count")
-  public ResponseEntity<List<CategoryWithPostCountResponse>> getCategoriesWithPostCount() {
+  public ResponseEntity<byte[]> getCategoriesWithPostCount(WebRequest webRequest) {
     log.info("Fetching all categories with post counts");
 
-    Map<Category, Long> categoriesWithCount = categoryService.getCategoriesWithPostCount();
-
-    // Convert map entries to DTOs
-    List<CategoryWithPostCountResponse> responseBody = categoriesWithCount.entrySet().stream()
-        .map(entry -> CategoryWithPostCountResponse.fromEntityAndCount(entry.getKey(),
-            entry.getValue()))
-        .collect(Collectors.toList());
-
-    return ResponseEntity.ok(responseBody);
+    ResourceValidator validator = resourceVersions.validator(Resource.CATEGORIES, Resource.POSTS);
+    // Kept serialized and compressed until a change commits
+    String key = "categories-with-post-count";
+    return conditionalResponses.respondSerialized(webRequest, "categories", key, validator, () -> {
+      Map<Category, Long> categoriesWithCount = categoryService.getCategoriesWithPostCount();
+
+      // Convert map entries to DTOs
+      return categoriesWithCount.entrySet().stream()
+          .map(entry -> CategoryWithPostCountResponse.fromEntityAndCount(entry.getKey(),
+              entry.getValue()))
+          .collect(Collectors.toList());
+    });
   }
 
   /**
@@ -104,17 +115,18 @@ public class CategoryController {
               schema = @Schema(implementation = CategoryResponse.class)))
   })
   @GetMapping("/non-empty")
-  public ResponseEntity<List<CategoryResponse>> getNonEmptyCategories() {
+  public ResponseEntity<List<CategoryResponse>> getNonEmptyCategories(WebRequest webRequest) {
     log.info("Fetching non-empty categories");
 
-    List<Category> categories = categoryService.getNonEmptyCategories();
-
-    // Convert entities to DTOs
-    List<CategoryResponse> responseBody = categories.stream()
-        .map(CategoryResponse::fromEntity)
-        .collect(Collectors.toList());
+    ResourceValidator validator = resourceVersions.validator(Resource.CATEGORIES, Resource.POSTS);
+    return conditionalResponses.respond(webRequest, "categories", validator, () -> {
+      List<Category> categories = categoryService.getNonEmptyCategories();
 
-    return ResponseEntity.ok(responseBody);
+      // Convert entities to DTOs
+      return categories.stream()
+          .map(CategoryResponse::fromEntity)
+          .collect(Collectors.toList());
+    });
   }
 
   /**
@@ -135,13 +147,15 @@ public class CategoryController {
   @GetMapping("/{id}")
   public ResponseEntity<CategoryResponse> getCategoryById(
       @Parameter(description = "Category ID", required = true)
-      @PathVariable Long id) {
+      @PathVariable Long id,
+      WebRequest webRequest) {
     log.info("Fetching category with ID: {}", id);
 
-    Category category = categoryService.getCategoryById(id);
-    CategoryResponse responseBody = CategoryResponse.fromEntity(category);
-
-    return ResponseEntity.ok(responseBody);
+    ResourceValidator validator = resourceVersions.validator(Resource.CATEGORIES, Resource.POSTS);
+    return conditionalResponses.respond(webRequest, "categories", validator, () -> {
+      Category category = categoryService.getCategoryById(id);
+      return CategoryResponse.fromEntity(category);
+    });
   }
 
   /**
@@ -162,13 +176,15 @@ public class CategoryController {
   @GetMapping("/by-slug/{slug}")
   public ResponseEntity<CategoryResponse> getCategoryBySlug(
       @Parameter(description = "Category slug", required = true)
-      @PathVariable String slug) {
+      @PathVariable String slug,
+      WebRequest webRequest) {
     log.info("Fetching category with slug: {}", slug);
 
-    Category category = categoryService.getCategoryBySlug(slug);
-    CategoryResponse responseBody = CategoryResponse.fromEntity(category);
-
-    return ResponseEntity.ok(responseBody);
+    ResourceValidator validator = resourceVersions.validator(Resource.CATEGORIES, Resource.POSTS);
+    return conditionalResponses.respond(webRequest, "categories", validator, () -> {
+      Category category = categoryService.getCategoryBySlug(slug);
+      return CategoryResponse.fromEntity(category);
+    });
   }
 
   /**
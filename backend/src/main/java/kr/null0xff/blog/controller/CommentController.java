@@ -9,12 +9,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
-import java.util.stream.Collectors;
 import kr.null0xff.blog.dto.CommentCreateRequest;
 import kr.null0xff.blog.dto.CommentResponse;
 import kr.null0xff.blog.dto.CommentUpdateRequest;
 import kr.null0xff.blog.entity.Comment;
+import kr.null0xff.blog.ingest.CommentIngestion;
+import kr.null0xff.blog.repository.CommentsVersion;
 import kr.null0xff.blog.service.CommentService;
+import kr.null0xff.blog.web.ConditionalResponses;
+import kr.null0xff.blog.web.ResourceValidator;
+import kr.null0xff.blog.web.ResourceVersions;
+import kr.null0xff.blog.web.ResourceVersions.Resource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -32,6 +37,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/comments")
@@ -41,6 +47,9 @@ import org.springframework.web.bind.annotation.RestController;
 public class CommentController {
 
   private final CommentService commentService;
+  private final CommentIngestion commentIngestion;
+  private final ResourceVersions resourceVersions;
+  private final ConditionalResponses conditionalResponses;
 
   /**
    * Get all approved comments for a post with pagination
@@ -70,7 +79,8 @@ public class CommentController {
       @Parameter(description = "Sort field")
       @RequestParam(defaultValue = "createdAt") String sortBy,
       @Parameter(description = "Sort direction (asc or desc)")
-      @RequestParam(defaultValue = "desc") String direction) {
+      @RequestParam(defaultValue = "desc") String direction,
+      WebRequest webRequest) {
 
     log.info("Fetching comments for post ID: {} - page: {}, size: {}", postId, page, size);
 
@@ -79,12 +89,14 @@ public class CommentController {
         Sort.by(sortBy).descending();
 
     Pageable pageable = PageRequest.of(page, size, sort);
-    Page<Comment> commentsPage = commentService.getApprovedCommentsForPost(postId, pageable);
 
-    // Convert entity to DTO
-    Page<CommentResponse> responseBody = commentsPage.map(CommentResponse::fromEntity);
+    ResourceValidator validator = commentsValidator(postId);
+    return conditionalResponses.respond(webRequest, "comments", validator, () -> {
+      Page<Comment> commentsPage = commentService.getApprovedCommentsForPost(postId, pageable);
 
-    return ResponseEntity.ok(responseBody);
+      // Convert entity to DTO
+      return commentsPage.map(CommentResponse::fromEntity);
+    });
   }
 
   /**
@@ -111,18 +123,21 @@ public class CommentController {
       @Parameter(description = "Page number (0-based)")
       @RequestParam(defaultValue = "0") int page,
       @Parameter(description = "Number of items per page")
-      @RequestParam(defaultValue = "20") int size) {
+      @RequestParam(defaultValue = "20") int size,
+      WebRequest webRequest) {
 
     log.info("Fetching top-level comments for post ID: {} - page: {}, size: {}", postId, page,
         size);
 
     Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-    Page<Comment> commentsPage = commentService.getTopLevelCommentsForPost(postId, pageable);
 
-    // Convert entity to DTO
-    Page<CommentResponse> responseBody = commentsPage.map(CommentResponse::fromEntity);
+    ResourceValidator validator = commentsValidator(postId);
+    return conditionalResponses.respond(webRequest, "comments", validator, () -> {
+      Page<Comment> commentsPage = commentService.getTopLevelCommentsForPost(postId, pageable);
 
-    return ResponseEntity.ok(responseBody);
+      // Convert entity to DTO
+      return commentsPage.map(CommentResponse::fromEntity);
+    });
   }
 
   /**
@@ -149,17 +164,20 @@ public class CommentController {
       @Parameter(description = "Page number (0-based)")
       @RequestParam(defaultValue = "0") int page,
       @Parameter(description = "Number of items per page")
-      @RequestParam(defaultValue = "20") int size) {
+      @RequestParam(defaultValue = "20") int size,
+      WebRequest webRequest) {
 
     log.info("Fetching replies for comment ID: {} - page: {}, size: {}", commentId, page, size);
 
     Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").ascending());
-    Page<Comment> commentsPage = commentService.getRepliesForComment(commentId, pageable);
 
-    // Convert entity to DTO
-    Page<CommentResponse> responseBody = commentsPage.map(CommentResponse::fromEntity);
+    ResourceValidator validator = resourceVersions.validator(Resource.COMMENTS, Resource.USERS);
+    return conditionalResponses.respond(webRequest, "comments", validator, () -> {
+      Page<Comment> commentsPage = commentService.getRepliesForComment(commentId, pageable);
 
-    return ResponseEntity.ok(responseBody);
+      // Convert entity to DTO
+      return commentsPage.map(CommentResponse::fromEntity);
+    });
   }
 
   /**
@@ -180,13 +198,15 @@ public class CommentController {
   @GetMapping("/{id}")
   public ResponseEntity<CommentResponse> getCommentById(
       @Parameter(description = "Comment ID", required = true)
-      @PathVariable Long id) {
+      @PathVariable Long id,
+      WebRequest webRequest) {
     log.info("Fetching comment with ID: {}", id);
 
-    Comment comment = commentService.getCommentById(id);
-    CommentResponse responseBody = CommentResponse.fromEntity(comment);
-
-    return ResponseEntity.ok(responseBody);
+    ResourceValidator validator = resourceVersions.validator(Resource.COMMENTS, Resource.USERS);
+    return conditionalResponses.respond(webRequest, "comments", validator, () -> {
+      Comment comment = commentService.getCommentById(id);
+      return CommentResponse.fromEntity(comment);
+    });
   }
 
   /**
@@ -242,6 +262,44 @@ public class CommentController {
     return ResponseEntity.ok(count);
   }
 
+  /**
+   * Get a page of top-level comments of a post, each with its whole reply tree
+   *
+   * @param postId Post ID
+   * @param page   Page number (0-based)
+   * @param size   Number of top-level comments per page
+   * @return ResponseEntity with a page of comment threads
+   */
+  @Operation(summary = "Get comment threads for a post",
+      description = "Retrieves top-level comments for a post with pagination, each with all its "
+          + "approved replies nested at any depth")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully retrieved comment threads",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = CommentResponse.class))),
+      @ApiResponse(responseCode = "404", description = "Post not found",
+          content = @Content)
+  })
+  @GetMapping("/post/{postId}/threads")
+  public ResponseEntity<Page<CommentResponse>> getCommentThreads(
+      @Parameter(description = "Post ID", required = true)
+      @PathVariable Long postId,
+      @Parameter(description = "Page number (0-based)")
+      @RequestParam(defaultValue = "0") int page,
+      @Parameter(description = "Number of top-level comments per page")
+      @RequestParam(defaultValue = "20") int size,
+      WebRequest webRequest) {
+
+    log.info("Fetching comment threads for post ID: {} - page: {}, size: {}", postId, page,
+        size);
+
+    Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+
+    ResourceValidator validator = commentsValidator(postId);
+    return conditionalResponses.respond(webRequest, "comments", validator,
+        () -> commentService.getCommentThreads(postId, pageable));
+  }
+
   /**
    * Get comments with their replies in an efficient manner
    *
@@ -251,7 +309,8 @@ public class CommentController {
    * @return ResponseEntity with a list of comments with their replies
    */
   @Operation(summary = "Get comments with replies",
-      description = "Retrieves comments with their replies for a post in an efficient manner")
+      description = "Retrieves comments with their replies for a post in an efficient manner. "
+          + "Same as the threads endpoint, without the page metadata")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Successfully retrieved comments with replies",
           content = @Content(mediaType = "application/json",
@@ -266,20 +325,17 @@ public class CommentController {
       @Parameter(description = "Page number (0-based)")
       @RequestParam(defaultValue = "0") int page,
       @Parameter(description = "Number of items per page")
-      @RequestParam(defaultValue = "20") int size) {
+      @RequestParam(defaultValue = "20") int size,
+      WebRequest webRequest) {
 
     log.info("Fetching comments with replies for post ID: {} - page: {}, size: {}", postId, page,
         size);
 
     Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-    List<Comment> comments = commentService.getCommentsWithReplies(postId, pageable);
 
-    // Convert entity to DTO
-    List<CommentResponse> responseBody = comments.stream()
-        .map(CommentResponse::fromEntityWithReplies)
-        .collect(Collectors.toList());
-
-    return ResponseEntity.ok(responseBody);
+    ResourceValidator validator = commentsValidator(postId);
+    return conditionalResponses.respond(webRequest, "comments", validator,
+        () -> commentService.getCommentThreads(postId, pageable).getContent());
   }
 
   /**
@@ -289,14 +345,21 @@ public class CommentController {
    * @return ResponseEntity with the created comment
    */
   @Operation(summary = "Create a new comment",
-      description = "Creates a new comment or reply on a post")
+      description = "Creates a new comment or reply on a post. With asynchronous ingestion "
+          + "enabled, the comment is checked, queued and saved in the background instead; a "
+          + "queued comment whose post, author or parent is deleted before it is saved is "
+          + "dropped")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "201", description = "Comment successfully created",
           content = @Content(mediaType = "application/json",
               schema = @Schema(implementation = CommentResponse.class))),
+      @ApiResponse(responseCode = "202", description = "Comment queued to be saved",
+          content = @Content),
       @ApiResponse(responseCode = "400", description = "Invalid input",
           content = @Content),
       @ApiResponse(responseCode = "404", description = "Post, author, or parent comment not found",
+          content = @Content),
+      @ApiResponse(responseCode = "429", description = "Too many comments queued, retry later",
           content = @Content)
   })
   @PostMapping
@@ -305,6 +368,14 @@ public class CommentController {
       @Valid @RequestBody CommentCreateRequest request) {
     log.info("Creating new comment for post ID: {}", request.getPostId());
 
+    // Queued comments answer 404 for a missing post, author or parent like saved ones; only a
+    // reference that disappears before the comment is saved still drops it
+    if (commentIngestion.isEnabled()) {
+      commentService.checkReferences(request);
+      commentIngestion.submit(request);
+      return ResponseEntity.accepted().build();
+    }
+
     // Create a Comment entity from the request
     Comment comment = new Comment();
     comment.setContent(request.getContent());
@@ -458,17 +529,20 @@ public class CommentController {
       @Parameter(description = "Page number (0-based)")
       @RequestParam(defaultValue = "0") int page,
       @Parameter(description = "Number of items per page")
-      @RequestParam(defaultValue = "10") int size) {
+      @RequestParam(defaultValue = "10") int size,
+      WebRequest webRequest) {
 
     log.info("Fetching recent comments - page: {}, size: {}", page, size);
 
     Pageable pageable = PageRequest.of(page, size);
-    Page<Comment> commentsPage = commentService.getRecentComments(pageable);
 
-    // Convert entity to DTO
-    Page<CommentResponse> responseBody = commentsPage.map(CommentResponse::fromEntity);
+    ResourceValidator validator = resourceVersions.validator(Resource.COMMENTS, Resource.USERS);
+    return conditionalResponses.respond(webRequest, "comments", validator, () -> {
+      Page<Comment> commentsPage = commentService.getRecentComments(pageable);
 
-    return ResponseEntity.ok(responseBody);
+      // Convert entity to DTO
+      return commentsPage.map(CommentResponse::fromEntity);
+    });
   }
 
   /**
@@ -489,11 +563,22 @@ public class CommentController {
   @GetMapping("/post/{postId}/count")
   public ResponseEntity<Long> countCommentsForPost(
       @Parameter(description = "Post ID", required = true)
-      @PathVariable Long postId) {
+      @PathVariable Long postId,
+      WebRequest webRequest) {
     log.info("Counting comments for post ID: {}", postId);
 
-    long count = commentService.countCommentsForPost(postId);
+    ResourceValidator validator = commentsValidator(postId);
+    return conditionalResponses.respond(webRequest, "comments", validator,
+        () -> commentService.countCommentsForPost(postId));
+  }
 
-    return ResponseEntity.ok(count);
+  /**
+   * Validator for the comments of a post. It changes whenever a comment of the post is added,
+   * edited, approved or removed, or any user changes their name or avatar.
+   */
+  private ResourceValidator commentsValidator(Long postId) {
+    CommentsVersion version = commentService.getCommentsVersion(postId);
+    return resourceVersions.validator(Resource.USERS)
+        .and(version.getLastUpdatedAt(), postId, version.getLastUpdatedAt(), version.getCount());
   }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package kr.null0xff.blog.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.nio.charset.StandardCharsets;
+import kr.null0xff.blog.feed.SiteFeeds;
+import kr.null0xff.blog.feed.XmlDocument;
+import kr.null0xff.blog.web.ConditionalResponses;
+import kr.null0xff.blog.web.ResourceValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Serves the RSS and Atom feeds and the sitemaps for feed readers and crawlers. The documents are
+ * kept rendered in memory and answered with 304 Not Modified while the client's copy is current.
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Feeds", description = "RSS and Atom feeds and sitemaps of the published posts")
+public class FeedController {
+
+  private static final MediaType RSS = new MediaType(MediaType.APPLICATION_RSS_XML,
+      StandardCharsets.UTF_8);
+  private static final MediaType ATOM = new MediaType(MediaType.APPLICATION_ATOM_XML,
+      StandardCharsets.UTF_8);
+  private static final MediaType SITEMAP = new MediaType(MediaType.APPLICATION_XML,
+      StandardCharsets.UTF_8);
+
+  private final SiteFeeds siteFeeds;
+  private final ConditionalResponses conditionalResponses;
+
+  @Operation(summary = "RSS feed", description = "RSS 2.0 feed of the newest published posts")
+  @GetMapping("/feed.xml")
+  public ResponseEntity<byte[]> getRss(WebRequest webRequest) {
+    return respond(webRequest, siteFeeds.getRss(), RSS);
+  }
+
+  @Operation(summary = "Atom feed", description = "Atom 1.0 feed of the newest published posts")
+  @GetMapping("/atom.xml")
+  public ResponseEntity<byte[]> getAtom(WebRequest webRequest) {
+    return respond(webRequest, siteFeeds.getAtom(), ATOM);
+  }
+
+  @Operation(summary = "Sitemap",
+      description = "Sitemap of the site, or a sitemap index once the posts span several sitemaps")
+  @GetMapping("/sitemap.xml")
+  public ResponseEntity<byte[]> getSitemap(WebRequest webRequest) {
+    return respond(webRequest, siteFeeds.getSitemap(), SITEMAP);
+  }
+
+  @Operation(summary = "Sitemap of a range of posts",
+      description = "One of the sitemaps listed by the sitemap index")
+  @GetMapping("/sitemaps/posts-{number:\\d+}.xml")
+  public ResponseEntity<byte[]> getSitemapChunk(
+      @Parameter(description = "Number of the sitemap") @PathVariable long number,
+      WebRequest webRequest) {
+    return respond(webRequest, siteFeeds.getSitemapChunk(number), SITEMAP);
+  }
+
+  private ResponseEntity<byte[]> respond(WebRequest request, XmlDocument document,
+      MediaType mediaType) {
+    if (document == null) {
+      return ResponseEntity.notFound().build();
+    }
+
+    ResourceValidator validator = new ResourceValidator(document.etag(), document.lastModified());
+    return conditionalResponses.respond(request, "feeds", validator, mediaType,
+        document::content);
+  }
+}
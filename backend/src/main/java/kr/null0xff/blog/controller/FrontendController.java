@@ -3,30 +3,36 @@ package kr.null0xff.blog.controller;
 import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import kr.null0xff.blog.web.SpaShell;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Controller to handle frontend routing for single-page application. This ensures that deep links
  * and refreshing the page works correctly.
  */
 @Controller
+@RequiredArgsConstructor
 @Tag(name = "Frontend Routing", description = "Handles SPA routing for deep linking and page refresh support")
 public class FrontendController {
 
+  private final SpaShell spaShell;
+
   /**
-   * This mapping catches routes that do not contain a period (e.g. '.js', '.css') so that deep
-   * links are correctly forwarded to index.html.
+   * This mapping catches the root and routes that do not contain a period (e.g. '.js', '.css') and
+   * answers them with index.html from memory, so the SPA can handle the routing.
    *
-   * @param path The requested path
-   * @return Forward to index.html for the SPA to handle routing
+   * @param request The current request
+   * @return index.html in the best encoding the client accepts
    */
-  @Operation(summary = "Forward to index.html",
-      description = "Forwards all non-asset requests to index.html for SPA routing")
+  @Operation(summary = "Serve index.html",
+      description = "Serves index.html for all non-asset requests for SPA routing")
   @Hidden  // Hide this endpoint from the API documentation as it's not part of the REST API
-  @RequestMapping(value = {"/{path:[^.]*}"})
-  public String redirect(@PathVariable String path) {
-    return "forward:/index.html";
+  @GetMapping(value = {"/", "/{path:[^.]*}"})
+  public ResponseEntity<byte[]> index(WebRequest request) {
+    return spaShell.respond(request);
   }
-}
\ No newline at end of file
+}
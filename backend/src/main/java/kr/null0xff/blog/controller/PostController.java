@@ -9,12 +9,30 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import kr.null0xff.blog.cache.PostResponseCache;
+import kr.null0xff.blog.dto.CursorPageResponse;
 import kr.null0xff.blog.dto.PostCreateRequest;
 import kr.null0xff.blog.dto.PostResponse;
+import kr.null0xff.blog.dto.PostSearchHitResponse;
+import kr.null0xff.blog.dto.PostSummaryResponse;
 import kr.null0xff.blog.dto.PostUpdateRequest;
+import kr.null0xff.blog.dto.PostViewsResponse;
 import kr.null0xff.blog.entity.Post;
+import kr.null0xff.blog.markdown.RenderedHtmlStore;
+import kr.null0xff.blog.repository.PostSummaryView;
+import kr.null0xff.blog.repository.PostVersion;
+import kr.null0xff.blog.search.PostSearchHit;
 import kr.null0xff.blog.service.PostService;
+import kr.null0xff.blog.trending.TrendingPost;
+import kr.null0xff.blog.trending.TrendingPosts;
+import kr.null0xff.blog.views.PostViewCount;
+import kr.null0xff.blog.views.PostViews;
+import kr.null0xff.blog.web.ConditionalResponses;
+import kr.null0xff.blog.web.ResourceValidator;
+import kr.null0xff.blog.web.ResourceVersions;
+import kr.null0xff.blog.web.ResourceVersions.Resource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -22,6 +40,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -32,6 +51,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -40,7 +60,25 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Post Management", description = "APIs for managing blog posts and their content")
 public class PostController {
 
+  /**
+   * Kinds of resources embedded in a single post, in addition to the post itself
+   */
+  private static final Resource[] POST_EMBEDS = {Resource.TAGS, Resource.CATEGORIES,
+      Resource.USERS};
+
+  /**
+   * Kinds of resources a post listing depends on
+   */
+  private static final Resource[] POST_LISTING = {Resource.POSTS, Resource.TAGS,
+      Resource.CATEGORIES, Resource.USERS};
+
   private final PostService postService;
+  private final PostResponseCache postResponseCache;
+  private final RenderedHtmlStore renderedHtmlStore;
+  private final PostViews postViews;
+  private final TrendingPosts trendingPosts;
+  private final ResourceVersions resourceVersions;
+  private final ConditionalResponses conditionalResponses;
 
   /**
    * Get all published posts with pagination
@@ -54,10 +92,10 @@ public class PostController {
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Successfully retrieved posts",
           content = @Content(mediaType = "application/json",
-              schema = @Schema(implementation = PostResponse.class)))
+              schema = @Schema(implementation = PostSummaryResponse.class)))
   })
   @GetMapping
-  public ResponseEntity<Page<PostResponse>> getAllPublishedPosts(
+  public ResponseEntity<byte[]> getAllPublishedPosts(
       @Parameter(description = "Page number (0-based)")
       @RequestParam(defaultValue = "0") int page,
       @Parameter(description = "Number of items per page")
@@ -65,7 +103,8 @@ public class PostController {
       @Parameter(description = "Field to sort by")
       @RequestParam(defaultValue = "publishedAt") String sortBy,
       @Parameter(description = "Sort direction (asc or desc)")
-      @RequestParam(defaultValue = "desc") String direction) {
+      @RequestParam(defaultValue = "desc") String direction,
+      WebRequest webRequest) {
 
     log.info("Fetching published posts - page: {}, size: {}", page, size);
 
@@ -74,12 +113,57 @@ public class PostController {
         Sort.by(sortBy).descending();
 
     Pageable pageable = PageRequest.of(page, size, sort);
-    Page<Post> postsPage = postService.getAllPublishedPosts(pageable);
 
-    // Convert entity to DTO
-    Page<PostResponse> responseBody = postsPage.map(PostResponse::fromEntity);
+    // The hottest listing, kept serialized and compressed until a post, tag, category or user
+    // changes
+    String key = "posts:" + page + ":" + size + ":" + sort;
+    ResourceValidator validator = resourceVersions.validator(POST_LISTING);
+    return conditionalResponses.respondSerialized(webRequest, "posts", key, validator, () -> {
+      Page<PostSummaryView> postsPage = postService.getPublishedPostSummaries(pageable);
 
-    return ResponseEntity.ok(responseBody);
+      // Convert projection to DTO
+      return postsPage.map(PostSummaryResponse::fromView);
+    });
+  }
+
+  /**
+   * Get published posts using cursor-based pagination
+   *
+   * @param cursor       Cursor returned by the previous slice (omit for the first slice)
+   * @param size         Number of items per slice
+   * @param includeTotal Whether to count the total number of published posts
+   * @return ResponseEntity with a slice of published posts
+   */
+  @Operation(summary = "Get published posts by cursor",
+      description = "Retrieves published posts newest first using keyset pagination, so deep "
+          + "slices cost the same as the first one")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully retrieved posts",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = CursorPageResponse.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor or size",
+          content = @Content)
+  })
+  @GetMapping("/cursor")
+  public ResponseEntity<CursorPageResponse<PostSummaryResponse>> getPublishedPostsByCursor(
+      @Parameter(description = "Cursor returned by the previous slice (omit for the first slice)")
+      @RequestParam(required = false) String cursor,
+      @Parameter(description = "Number of items per slice (at most 100)")
+      @RequestParam(defaultValue = "10") int size,
+      @Parameter(description = "Whether to include the total number of matching posts")
+      @RequestParam(defaultValue = "false") boolean includeTotal,
+      WebRequest webRequest) {
+
+    log.info("Fetching published posts - cursor: {}, size: {}", cursor, size);
+
+    ResourceValidator validator = resourceVersions.validator(POST_LISTING);
+    return conditionalResponses.respond(webRequest, "posts", validator, () -> {
+      CursorPageResponse<PostSummaryView> postsSlice = postService.getPublishedPostsByCursor(
+          cursor, size, includeTotal);
+
+      // Convert projection to DTO
+      return postsSlice.map(PostSummaryResponse::fromView);
+    });
   }
 
   /**
@@ -94,10 +178,10 @@ public class PostController {
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Successfully retrieved all posts",
           content = @Content(mediaType = "application/json",
-              schema = @Schema(implementation = PostResponse.class)))
+              schema = @Schema(implementation = PostSummaryResponse.class)))
   })
   @GetMapping("/admin")
-  public ResponseEntity<Page<PostResponse>> getAllPosts(
+  public ResponseEntity<Page<PostSummaryResponse>> getAllPosts(
       @Parameter(description = "Page number (0-based)")
       @RequestParam(defaultValue = "0") int page,
       @Parameter(description = "Number of items per page")
@@ -114,10 +198,10 @@ public class PostController {
         Sort.by(sortBy).descending();
 
     Pageable pageable = PageRequest.of(page, size, sort);
-    Page<Post> postsPage = postService.getAllPosts(pageable);
+    Page<PostSummaryView> postsPage = postService.getAllPostSummaries(pageable);
 
-    // Convert entity to DTO
-    Page<PostResponse> responseBody = postsPage.map(PostResponse::fromEntity);
+    // Convert projection to DTO
+    Page<PostSummaryResponse> responseBody = postsPage.map(PostSummaryResponse::fromView);
 
     return ResponseEntity.ok(responseBody);
   }
@@ -149,14 +233,159 @@ public class PostController {
     return ResponseEntity.ok(responseBody);
   }
 
+  /**
+   * Get the published posts most related to a published post
+   *
+   * @param id    Post ID
+   * @param limit Maximum number of related posts
+   * @return ResponseEntity with the related posts, best match first
+   */
+  @Operation(summary = "Get related posts",
+      description = "Retrieves the published posts most related to a published post by shared "
+          + "tags, category and content, from a precomputed index")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully retrieved related posts",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = PostSummaryResponse.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid limit",
+          content = @Content),
+      @ApiResponse(responseCode = "404", description = "Post not found or not published",
+          content = @Content)
+  })
+  @GetMapping("/{id}/related")
+  public ResponseEntity<byte[]> getRelatedPosts(
+      @Parameter(description = "Post ID", required = true)
+      @PathVariable Long id,
+      @Parameter(description = "Maximum number of related posts (1-10)")
+      @RequestParam(defaultValue = "3") int limit,
+      WebRequest webRequest) {
+    log.info("Fetching related posts of post with ID: {}", id);
+
+    // The neighbor IDs come from memory; only the summaries of a changed list are loaded
+    List<Long> relatedIds = postService.getRelatedPostIds(id, limit);
+    String key = "related:" + id + ":" + limit;
+    ResourceValidator validator = resourceVersions.validator(POST_LISTING)
+        .and(null, relatedIds);
+    return conditionalResponses.respondSerialized(webRequest, "posts", key, validator,
+        () -> postService.getPublishedPostSummaries(relatedIds).stream()
+            .map(PostSummaryResponse::fromView)
+            .collect(Collectors.toList()));
+  }
+
+  /**
+   * Count a view of a published post
+   *
+   * @param id Post ID
+   * @return ResponseEntity with status 202 (Accepted)
+   */
+  @Operation(summary = "Record a post view",
+      description = "Counts a view of a published post. Views are added to the post in "
+          + "periodic batches")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "202", description = "View counted",
+          content = @Content),
+      @ApiResponse(responseCode = "404", description = "Post not found or not published",
+          content = @Content)
+  })
+  @PostMapping("/{id}/views")
+  public ResponseEntity<Void> recordPostView(
+      @Parameter(description = "Post ID", required = true)
+      @PathVariable Long id) {
+    log.debug("Recording a view of post with ID: {}", id);
+
+    postViews.record(id);
+    return ResponseEntity.accepted().build();
+  }
+
+  /**
+   * Get the most viewed published posts
+   *
+   * @param limit Maximum number of posts
+   * @return ResponseEntity with the posts and their views, most viewed first
+   */
+  @Operation(summary = "Get most viewed posts",
+      description = "Retrieves the published posts with the most views, ranked in memory and "
+          + "updated with every flush of the counted views")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully retrieved the ranking",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = PostViewsResponse.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid limit",
+          content = @Content)
+  })
+  @GetMapping("/most-viewed")
+  public ResponseEntity<byte[]> getMostViewedPosts(
+      @Parameter(description = "Maximum number of posts (1-50)")
+      @RequestParam(defaultValue = "10") int limit,
+      WebRequest webRequest) {
+    log.info("Fetching the {} most viewed posts", limit);
+
+    List<PostViewCount> ranking = postViews.mostViewed(limit);
+    String key = "most-viewed:" + limit;
+    ResourceValidator validator = resourceVersions.validator(POST_LISTING)
+        .and(null, ranking);
+    return conditionalResponses.respondSerialized(webRequest, "posts", key, validator, () -> {
+      List<Long> postIds = ranking.stream()
+          .map(PostViewCount::postId)
+          .collect(Collectors.toList());
+      Map<Long, Long> viewsById = ranking.stream()
+          .collect(Collectors.toMap(PostViewCount::postId, PostViewCount::views));
+      return postService.getPublishedPostSummaries(postIds).stream()
+          .map(summary -> PostViewsResponse.builder()
+              .post(PostSummaryResponse.fromView(summary))
+              .views(viewsById.get(summary.getId()))
+              .build())
+          .collect(Collectors.toList());
+    });
+  }
+
+  /**
+   * Get the trending published posts
+   *
+   * @param limit Maximum number of posts
+   * @return ResponseEntity with the trending posts, most active first
+   */
+  @Operation(summary = "Get trending posts",
+      description = "Retrieves the published posts with the most recent activity. Views, approved "
+          + "comments and the publication itself count less the older they are; the ranking is "
+          + "refreshed periodically.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully retrieved the ranking",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = PostSummaryResponse.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid limit",
+          content = @Content)
+  })
+  @GetMapping("/trending")
+  public ResponseEntity<byte[]> getTrendingPosts(
+      @Parameter(description = "Maximum number of posts (1-20)")
+      @RequestParam(defaultValue = "10") int limit,
+      WebRequest webRequest) {
+    log.info("Fetching the {} trending posts", limit);
+
+    // Only the order matters to clients, so a new snapshot with the same order keeps the ETag
+    List<Long> postIds = trendingPosts.trending(limit).stream()
+        .map(TrendingPost::postId)
+        .collect(Collectors.toList());
+    String key = "trending:" + limit;
+    ResourceValidator validator = resourceVersions.validator(POST_LISTING)
+        .and(null, postIds);
+    return conditionalResponses.respondSerialized(webRequest, "posts", key, validator,
+        () -> postService.getPublishedPostSummaries(postIds).stream()
+            .map(PostSummaryResponse::fromView)
+            .collect(Collectors.toList()));
+  }
+
   /**
    * Get a published post by slug
    *
    * @param slug Post slug
+   * @param html Whether to return the content rendered to HTML instead of Markdown
    * @return ResponseEntity with the post
    */
   @Operation(summary = "Get published post by slug",
-      description = "Retrieves a specific published post by its slug")
+      description = "Retrieves a specific published post by its slug. With html=true the content "
+          + "is returned rendered to sanitized HTML in contentHtml instead of as Markdown.")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Successfully retrieved the post",
           content = @Content(mediaType = "application/json",
@@ -167,13 +396,65 @@ public class PostController {
   @GetMapping("/by-slug/{slug}")
   public ResponseEntity<PostResponse> getPublishedPostBySlug(
       @Parameter(description = "Post slug", required = true)
-      @PathVariable String slug) {
+      @PathVariable String slug,
+      @Parameter(description = "Return the content rendered to HTML")
+      @RequestParam(defaultValue = "false") boolean html,
+      WebRequest webRequest) {
     log.info("Fetching published post with slug: {}", slug);
 
-    Post post = postService.getPublishedPostBySlug(slug);
-    PostResponse responseBody = PostResponse.fromEntity(post);
+    ResourceValidator validator = publishedPostValidator(slug);
+    if (!html) {
+      // Served from the cache unless the post changed since it was last assembled
+      return conditionalResponses.respond(webRequest, "post", validator,
+          () -> cachedPublishedPost(slug));
+    }
+
+    // The cached response is shared, so the HTML variant is a copy of it
+    return conditionalResponses.respond(webRequest, "post", validator.and(null, "html"), () -> {
+      PostResponse post = cachedPublishedPost(slug);
+      return post.toBuilder()
+          .content(null)
+          .contentHtml(renderedHtmlStore.html(post.getContent()))
+          .build();
+    });
+  }
 
-    return ResponseEntity.ok(responseBody);
+  /**
+   * Get the content of a published post rendered to HTML
+   *
+   * @param slug Post slug
+   * @return ResponseEntity with the sanitized HTML fragment
+   */
+  @Operation(summary = "Get published post content as HTML",
+      description = "Retrieves the content of a published post rendered from Markdown to a "
+          + "sanitized HTML fragment")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully rendered the content",
+          content = @Content(mediaType = "text/html")),
+      @ApiResponse(responseCode = "404", description = "Post not found or not published",
+          content = @Content)
+  })
+  @GetMapping(value = "/by-slug/{slug}/html", produces = MediaType.TEXT_HTML_VALUE)
+  public ResponseEntity<String> getPublishedPostHtmlBySlug(
+      @Parameter(description = "Post slug", required = true)
+      @PathVariable String slug,
+      WebRequest webRequest) {
+    log.info("Fetching rendered content of published post with slug: {}", slug);
+
+    return conditionalResponses.respond(webRequest, "post",
+        publishedPostValidator(slug).and(null, "html-fragment"),
+        () -> renderedHtmlStore.html(cachedPublishedPost(slug).getContent()));
+  }
+
+  private ResourceValidator publishedPostValidator(String slug) {
+    PostVersion version = postService.getPublishedPostVersion(slug);
+    return resourceVersions.validator(POST_EMBEDS)
+        .and(version.getUpdatedAt(), version.getId(), version.getUpdatedAt());
+  }
+
+  private PostResponse cachedPublishedPost(String slug) {
+    return postResponseCache.get(slug,
+        key -> PostResponse.fromEntity(postService.getPublishedPostBySlug(key)));
   }
 
   /**
@@ -185,30 +466,74 @@ public class PostController {
    * @return ResponseEntity with a page of matching posts
    */
   @Operation(summary = "Search published posts",
-      description = "Searches for published posts containing the query in title or content")
+      description = "Searches published posts by title, description, content, tags and category, "
+          + "best matches first. The last query term also matches as a prefix.")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Successfully performed search",
           content = @Content(mediaType = "application/json",
-              schema = @Schema(implementation = PostResponse.class)))
+              schema = @Schema(implementation = PostSummaryResponse.class)))
   })
   @GetMapping("/search")
-  public ResponseEntity<Page<PostResponse>> searchPublishedPosts(
+  public ResponseEntity<Page<PostSummaryResponse>> searchPublishedPosts(
       @Parameter(description = "Search query", required = true)
       @RequestParam String query,
       @Parameter(description = "Page number (0-based)")
       @RequestParam(defaultValue = "0") int page,
       @Parameter(description = "Number of items per page")
-      @RequestParam(defaultValue = "10") int size) {
+      @RequestParam(defaultValue = "10") int size,
+      WebRequest webRequest) {
 
     log.info("Searching for posts with query: {} - page: {}, size: {}", query, page, size);
 
     Pageable pageable = PageRequest.of(page, size);
-    Page<Post> postsPage = postService.searchPublishedPosts(query, pageable);
 
-    // Convert entity to DTO
-    Page<PostResponse> responseBody = postsPage.map(PostResponse::fromEntity);
+    ResourceValidator validator = resourceVersions.validator(POST_LISTING);
+    return conditionalResponses.respond(webRequest, "posts", validator, () -> {
+      Page<PostSummaryView> postsPage = postService.searchPublishedPostSummaries(query, pageable);
 
-    return ResponseEntity.ok(responseBody);
+      // Convert projection to DTO
+      return postsPage.map(PostSummaryResponse::fromView);
+    });
+  }
+
+  /**
+   * Search for published posts and highlight the matched terms
+   *
+   * @param query Search query
+   * @param page  Page number (0-based)
+   * @param size  Number of items per page
+   * @return ResponseEntity with a page of search hits
+   */
+  @Operation(summary = "Search published posts with highlights",
+      description = "Same ranking as the search endpoint, with relevance scores and highlighted "
+          + "title, description and content fragments")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully performed search",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = PostSearchHitResponse.class)))
+  })
+  @GetMapping("/search/highlights")
+  public ResponseEntity<Page<PostSearchHitResponse>> searchPublishedPostsWithHighlights(
+      @Parameter(description = "Search query", required = true)
+      @RequestParam String query,
+      @Parameter(description = "Page number (0-based)")
+      @RequestParam(defaultValue = "0") int page,
+      @Parameter(description = "Number of items per page")
+      @RequestParam(defaultValue = "10") int size,
+      WebRequest webRequest) {
+
+    log.info("Searching for posts with highlights, query: {} - page: {}, size: {}", query, page,
+        size);
+
+    Pageable pageable = PageRequest.of(page, size);
+
+    ResourceValidator validator = resourceVersions.validator(POST_LISTING);
+    return conditionalResponses.respond(webRequest, "posts", validator, () -> {
+      Page<PostSearchHit> hitsPage = postService.searchPublishedPostHits(query, pageable);
+
+      // Convert hits to DTO
+      return hitsPage.map(PostSearchHitResponse::fromHit);
+    });
   }
 
   /**
@@ -224,28 +549,77 @@ public class PostController {
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Successfully retrieved posts",
           content = @Content(mediaType = "application/json",
-              schema = @Schema(implementation = PostResponse.class))),
+              schema = @Schema(implementation = PostSummaryResponse.class))),
       @ApiResponse(responseCode = "404", description = "Category not found",
           content = @Content)
   })
   @GetMapping("/by-category/{categorySlug}")
-  public ResponseEntity<Page<PostResponse>> getPostsByCategory(
+  public ResponseEntity<Page<PostSummaryResponse>> getPostsByCategory(
       @Parameter(description = "Category slug", required = true)
       @PathVariable String categorySlug,
       @Parameter(description = "Page number (0-based)")
       @RequestParam(defaultValue = "0") int page,
       @Parameter(description = "Number of items per page")
-      @RequestParam(defaultValue = "10") int size) {
+      @RequestParam(defaultValue = "10") int size,
+      WebRequest webRequest) {
 
     log.info("Fetching posts for category: {} - page: {}, size: {}", categorySlug, page, size);
 
     Pageable pageable = PageRequest.of(page, size);
-    Page<Post> postsPage = postService.getPostsByCategory(categorySlug, pageable);
 
-    // Convert entity to DTO
-    Page<PostResponse> responseBody = postsPage.map(PostResponse::fromEntity);
+    ResourceValidator validator = resourceVersions.validator(POST_LISTING);
+    return conditionalResponses.respond(webRequest, "posts", validator, () -> {
+      Page<PostSummaryView> postsPage = postService.getPostSummariesByCategory(categorySlug,
+          pageable);
 
-    return ResponseEntity.ok(responseBody);
+      // Convert projection to DTO
+      return postsPage.map(PostSummaryResponse::fromView);
+    });
+  }
+
+  /**
+   * Get published posts by category using cursor-based pagination
+   *
+   * @param categorySlug Category slug
+   * @param cursor       Cursor returned by the previous slice (omit for the first slice)
+   * @param size         Number of items per slice
+   * @param includeTotal Whether to count the total number of matching posts
+   * @return ResponseEntity with a slice of posts in the category
+   */
+  @Operation(summary = "Get posts by category by cursor",
+      description = "Retrieves published posts belonging to a specific category using keyset "
+          + "pagination")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully retrieved posts",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = CursorPageResponse.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor or size",
+          content = @Content),
+      @ApiResponse(responseCode = "404", description = "Category not found",
+          content = @Content)
+  })
+  @GetMapping("/by-category/{categorySlug}/cursor")
+  public ResponseEntity<CursorPageResponse<PostSummaryResponse>> getPostsByCategoryAndCursor(
+      @Parameter(description = "Category slug", required = true)
+      @PathVariable String categorySlug,
+      @Parameter(description = "Cursor returned by the previous slice (omit for the first slice)")
+      @RequestParam(required = false) String cursor,
+      @Parameter(description = "Number of items per slice (at most 100)")
+      @RequestParam(defaultValue = "10") int size,
+      @Parameter(description = "Whether to include the total number of matching posts")
+      @RequestParam(defaultValue = "false") boolean includeTotal,
+      WebRequest webRequest) {
+
+    log.info("Fetching posts for category: {} - cursor: {}, size: {}", categorySlug, cursor, size);
+
+    ResourceValidator validator = resourceVersions.validator(POST_LISTING);
+    return conditionalResponses.respond(webRequest, "posts", validator, () -> {
+      CursorPageResponse<PostSummaryView> postsSlice = postService.getPostsByCategoryAndCursor(
+          categorySlug, cursor, size, includeTotal);
+
+      // Convert projection to DTO
+      return postsSlice.map(PostSummaryResponse::fromView);
+    });
   }
 
   /**
@@ -261,28 +635,75 @@ public class PostController {
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Successfully retrieved posts",
           content = @Content(mediaType = "application/json",
-              schema = @Schema(implementation = PostResponse.class))),
+              schema = @Schema(implementation = PostSummaryResponse.class))),
       @ApiResponse(responseCode = "404", description = "Tag not found",
           content = @Content)
   })
   @GetMapping("/by-tag/{tagSlug}")
-  public ResponseEntity<Page<PostResponse>> getPostsByTag(
+  public ResponseEntity<Page<PostSummaryResponse>> getPostsByTag(
       @Parameter(description = "Tag slug", required = true)
       @PathVariable String tagSlug,
       @Parameter(description = "Page number (0-based)")
       @RequestParam(defaultValue = "0") int page,
       @Parameter(description = "Number of items per page")
-      @RequestParam(defaultValue = "10") int size) {
+      @RequestParam(defaultValue = "10") int size,
+      WebRequest webRequest) {
 
     log.info("Fetching posts for tag: {} - page: {}, size: {}", tagSlug, page, size);
 
     Pageable pageable = PageRequest.of(page, size);
-    Page<Post> postsPage = postService.getPostsByTag(tagSlug, pageable);
 
-    // Convert entity to DTO
-    Page<PostResponse> responseBody = postsPage.map(PostResponse::fromEntity);
+    ResourceValidator validator = resourceVersions.validator(POST_LISTING);
+    return conditionalResponses.respond(webRequest, "posts", validator, () -> {
+      Page<PostSummaryView> postsPage = postService.getPostSummariesByTag(tagSlug, pageable);
 
-    return ResponseEntity.ok(responseBody);
+      // Convert projection to DTO
+      return postsPage.map(PostSummaryResponse::fromView);
+    });
+  }
+
+  /**
+   * Get published posts by tag using cursor-based pagination
+   *
+   * @param tagSlug      Tag slug
+   * @param cursor       Cursor returned by the previous slice (omit for the first slice)
+   * @param size         Number of items per slice
+   * @param includeTotal Whether to count the total number of matching posts
+   * @return ResponseEntity with a slice of posts with the tag
+   */
+  @Operation(summary = "Get posts by tag by cursor",
+      description = "Retrieves published posts tagged with a specific tag using keyset pagination")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully retrieved posts",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = CursorPageResponse.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor or size",
+          content = @Content),
+      @ApiResponse(responseCode = "404", description = "Tag not found",
+          content = @Content)
+  })
+  @GetMapping("/by-tag/{tagSlug}/cursor")
+  public ResponseEntity<CursorPageResponse<PostSummaryResponse>> getPostsByTagAndCursor(
+      @Parameter(description = "Tag slug", required = true)
+      @PathVariable String tagSlug,
+      @Parameter(description = "Cursor returned by the previous slice (omit for the first slice)")
+      @RequestParam(required = false) String cursor,
+      @Parameter(description = "Number of items per slice (at most 100)")
+      @RequestParam(defaultValue = "10") int size,
+      @Parameter(description = "Whether to include the total number of matching posts")
+      @RequestParam(defaultValue = "false") boolean includeTotal,
+      WebRequest webRequest) {
+
+    log.info("Fetching posts for tag: {} - cursor: {}, size: {}", tagSlug, cursor, size);
+
+    ResourceValidator validator = resourceVersions.validator(POST_LISTING);
+    return conditionalResponses.respond(webRequest, "posts", validator, () -> {
+      CursorPageResponse<PostSummaryView> postsSlice = postService.getPostsByTagAndCursor(
+          tagSlug, cursor, size, includeTotal);
+
+      // Convert projection to DTO
+      return postsSlice.map(PostSummaryResponse::fromView);
+    });
   }
 
   /**
@@ -298,28 +719,76 @@ public class PostController {
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Successfully retrieved posts",
           content = @Content(mediaType = "application/json",
-              schema = @Schema(implementation = PostResponse.class))),
+              schema = @Schema(implementation = PostSummaryResponse.class))),
       @ApiResponse(responseCode = "404", description = "Author not found",
           content = @Content)
   })
   @GetMapping("/by-author/{username}")
-  public ResponseEntity<Page<PostResponse>> getPostsByAuthor(
+  public ResponseEntity<Page<PostSummaryResponse>> getPostsByAuthor(
       @Parameter(description = "Author's username", required = true)
       @PathVariable String username,
       @Parameter(description = "Page number (0-based)")
       @RequestParam(defaultValue = "0") int page,
       @Parameter(description = "Number of items per page")
-      @RequestParam(defaultValue = "10") int size) {
+      @RequestParam(defaultValue = "10") int size,
+      WebRequest webRequest) {
 
     log.info("Fetching posts by author: {} - page: {}, size: {}", username, page, size);
 
     Pageable pageable = PageRequest.of(page, size);
-    Page<Post> postsPage = postService.getPostsByAuthor(username, pageable);
 
-    // Convert entity to DTO
-    Page<PostResponse> responseBody = postsPage.map(PostResponse::fromEntity);
+    ResourceValidator validator = resourceVersions.validator(POST_LISTING);
+    return conditionalResponses.respond(webRequest, "posts", validator, () -> {
+      Page<PostSummaryView> postsPage = postService.getPostSummariesByAuthor(username, pageable);
 
-    return ResponseEntity.ok(responseBody);
+      // Convert projection to DTO
+      return postsPage.map(PostSummaryResponse::fromView);
+    });
+  }
+
+  /**
+   * Get published posts by author using cursor-based pagination
+   *
+   * @param username     Author's username
+   * @param cursor       Cursor returned by the previous slice (omit for the first slice)
+   * @param size         Number of items per slice
+   * @param includeTotal Whether to count the total number of matching posts
+   * @return ResponseEntity with a slice of posts by the author
+   */
+  @Operation(summary = "Get posts by author by cursor",
+      description = "Retrieves published posts written by a specific author using keyset "
+          + "pagination")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully retrieved posts",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = CursorPageResponse.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor or size",
+          content = @Content),
+      @ApiResponse(responseCode = "404", description = "Author not found",
+          content = @Content)
+  })
+  @GetMapping("/by-author/{username}/cursor")
+  public ResponseEntity<CursorPageResponse<PostSummaryResponse>> getPostsByAuthorAndCursor(
+      @Parameter(description = "Author's username", required = true)
+      @PathVariable String username,
+      @Parameter(description = "Cursor returned by the previous slice (omit for the first slice)")
+      @RequestParam(required = false) String cursor,
+      @Parameter(description = "Number of items per slice (at most 100)")
+      @RequestParam(defaultValue = "10") int size,
+      @Parameter(description = "Whether to include the total number of matching posts")
+      @RequestParam(defaultValue = "false") boolean includeTotal,
+      WebRequest webRequest) {
+
+    log.info("Fetching posts for author: {} - cursor: {}, size: {}", username, cursor, size);
+
+    ResourceValidator validator = resourceVersions.validator(POST_LISTING);
+    return conditionalResponses.respond(webRequest, "posts", validator, () -> {
+      CursorPageResponse<PostSummaryView> postsSlice = postService.getPostsByAuthorAndCursor(
+          username, cursor, size, includeTotal);
+
+      // Convert projection to DTO
+      return postsSlice.map(PostSummaryResponse::fromView);
+    });
   }
 
   /**
@@ -333,23 +802,25 @@ public class PostController {
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Successfully retrieved recent posts",
           content = @Content(mediaType = "application/json",
-              schema = @Schema(implementation = PostResponse.class)))
+              schema = @Schema(implementation = PostSummaryResponse.class)))
   })
   @GetMapping("/recent")
-  public ResponseEntity<List<PostResponse>> getRecentPublishedPosts(
+  public ResponseEntity<List<PostSummaryResponse>> getRecentPublishedPosts(
       @Parameter(description = "Maximum number of posts to return")
-      @RequestParam(defaultValue = "5") int limit) {
+      @RequestParam(defaultValue = "5") int limit,
+      WebRequest webRequest) {
 
     log.info("Fetching {} recent published posts", limit);
 
-    List<Post> posts = postService.getRecentPublishedPosts(limit);
+    ResourceValidator validator = resourceVersions.validator(POST_LISTING);
+    return conditionalResponses.respond(webRequest, "posts", validator, () -> {
+      List<PostSummaryView> posts = postService.getRecentPublishedPostSummaries(limit);
 
-    // Convert entities to DTOs
-    List<PostResponse> responseBody = posts.stream()
-        .map(PostResponse::fromEntity)
-        .collect(Collectors.toList());
-
-    return ResponseEntity.ok(responseBody);
+      // Convert projections to DTOs
+      return posts.stream()
+          .map(PostSummaryResponse::fromView)
+          .collect(Collectors.toList());
+    });
   }
 
   /**
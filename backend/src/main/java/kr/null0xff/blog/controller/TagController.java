@@ -15,6 +15,10 @@ import kr.null0xff.blog.dto.TagResponse;
 import kr.null0xff.blog.dto.TagWithPostCountResponse;
 import kr.null0xff.blog.entity.Tag;
 import kr.null0xff.blog.service.TagService;
+import kr.null0xff.blog.web.ConditionalResponses;
+import kr.null0xff.blog.web.ResourceValidator;
+import kr.null0xff.blog.web.ResourceVersions;
+import kr.null0xff.blog.web.ResourceVersions.Resource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -28,6 +32,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/tags")
@@ -37,6 +42,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class TagController {
 
   private final TagService tagService;
+  private final ResourceVersions resourceVersions;
+  private final ConditionalResponses conditionalResponses;
 
   /**
    * Get all tags
@@ -51,17 +58,18 @@ public class TagController {
               schema = @Schema(implementation = TagResponse.class)))
   })
   @GetMapping
-  public ResponseEntity<List<TagResponse>> getAllTags() {
+  public ResponseEntity<List<TagResponse>> getAllTags(WebRequest webRequest) {
     log.info("Fetching all tags");
 
-    List<Tag> tags = tagService.getAllTags();
+    ResourceValidator validator = resourceVersions.validator(Resource.TAGS, Resource.POSTS);
+    return conditionalResponses.respond(webRequest, "tags", validator, () -> {
+      List<Tag> tags = tagService.getAllTags();
 
-    // Convert entities to DTOs
-    List<TagResponse> responseBody = tags.stream()
-        .map(TagResponse::fromEntity)
-        .collect(Collectors.toList());
-
-    return ResponseEntity.ok(responseBody);
+      // Convert entities to DTOs
+      return tags.stream()
+          .map(TagResponse::fromEntity)
+          .collect(Collectors.toList());
+    });
   }
 
   /**
@@ -77,17 +85,20 @@ public class TagController {
               schema = @Schema(implementation = TagWithPostCountResponse.class)))
   })
   @GetMapping("/with-post-count")
-  public ResponseEntity<List<TagWithPostCountResponse>> getTagsWithPostCount() {
+  public ResponseEntity<byte[]> getTagsWithPostCount(WebRequest webRequest) {
     log.info("Fetching all tags with post counts");
 
-    Map<Tag, Long> tagsWithCount = tagService.getTagsWithPostCount();
-
-    // Convert map entries to DTOs
-    List<TagWithPostCountResponse> responseBody = tagsWithCount.entrySet().stream()
-        .map(entry -> TagWithPostCountResponse.fromEntityAndCount(entry.getKey(), entry.getValue()))
-        .collect(Collectors.toList());
-
-    return ResponseEntity.ok(responseBody);
+    ResourceValidator validator = resourceVersions.validator(Resource.TAGS, Resource.POSTS);
+    // Kept serialized and compressed until a change commits
+    String key = "tags-with-post-count";
+    return conditionalResponses.respondSerialized(webRequest, "tags", key, validator, () -> {
+      Map<Tag, Long> tagsWithCount = tagService.getTagsWithPostCount();
+
+      // Convert map entries to DTOs
+      return tagsWithCount.entrySet().stream()
+          .map(entry -> TagWithPostCountResponse.fromEntityAndCount(entry.getKey(), entry.getValue()))
+          .collect(Collectors.toList());
+    });
   }
 
   /**
@@ -106,18 +117,20 @@ public class TagController {
   @GetMapping("/popular")
   public ResponseEntity<List<TagWithPostCountResponse>> getPopularTags(
       @Parameter(description = "Maximum number of tags to return")
-      @RequestParam(defaultValue = "10") int limit) {
+      @RequestParam(defaultValue = "10") int limit,
+      WebRequest webRequest) {
 
     log.info("Fetching {} popular tags", limit);
 
-    Map<Tag, Long> tagsWithCount = tagService.getPopularTags(limit);
+    ResourceValidator validator = resourceVersions.validator(Resource.TAGS, Resource.POSTS);
+    return conditionalResponses.respond(webRequest, "tags", validator, () -> {
+      Map<Tag, Long> tagsWithCount = tagService.getPopularTags(limit);
 
-    // Convert map entries to DTOs
-    List<TagWithPostCountResponse> responseBody = tagsWithCount.entrySet().stream()
-        .map(entry -> TagWithPostCountResponse.fromEntityAndCount(entry.getKey(), entry.getValue()))
-        .collect(Collectors.toList());
-
-    return ResponseEntity.ok(responseBody);
+      // Convert map entries to DTOs
+      return tagsWithCount.entrySet().stream()
+          .map(entry -> TagWithPostCountResponse.fromEntityAndCount(entry.getKey(), entry.getValue()))
+          .collect(Collectors.toList());
+    });
   }
 
   /**
@@ -133,17 +146,18 @@ public class TagController {
               schema = @Schema(implementation = TagResponse.class)))
   })
   @GetMapping("/non-empty")
-  public ResponseEntity<List<TagResponse>> getNonEmptyTags() {
+  public ResponseEntity<List<TagResponse>> getNonEmptyTags(WebRequest webRequest) {
     log.info("Fetching non-empty tags");
 
-    List<Tag> tags = tagService.getNonEmptyTags();
-
-    // Convert entities to DTOs
-    List<TagResponse> responseBody = tags.stream()
-        .map(TagResponse::fromEntity)
-        .collect(Collectors.toList());
+    ResourceValidator validator = resourceVersions.validator(Resource.TAGS, Resource.POSTS);
+    return conditionalResponses.respond(webRequest, "tags", validator, () -> {
+      List<Tag> tags = tagService.getNonEmptyTags();
 
-    return ResponseEntity.ok(responseBody);
+      // Convert entities to DTOs
+      return tags.stream()
+          .map(TagResponse::fromEntity)
+          .collect(Collectors.toList());
+    });
   }
 
   /**
@@ -164,13 +178,15 @@ public class TagController {
   @GetMapping("/{id}")
   public ResponseEntity<TagResponse> getTagById(
       @Parameter(description = "Tag ID", required = true)
-      @PathVariable Long id) {
+      @PathVariable Long id,
+      WebRequest webRequest) {
     log.info("Fetching tag with ID: {}", id);
 
-    Tag tag = tagService.getTagById(id);
-    TagResponse responseBody = TagResponse.fromEntity(tag);
-
-    return ResponseEntity.ok(responseBody);
+    ResourceValidator validator = resourceVersions.validator(Resource.TAGS, Resource.POSTS);
+    return conditionalResponses.respond(webRequest, "tags", validator, () -> {
+      Tag tag = tagService.getTagById(id);
+      return TagResponse.fromEntity(tag);
+    });
   }
 
   /**
@@ -191,13 +207,15 @@ public class TagController {
   @GetMapping("/by-slug/{slug}")
   public ResponseEntity<TagResponse> getTagBySlug(
       @Parameter(description = "Tag slug", required = true)
-      @PathVariable String slug) {
+      @PathVariable String slug,
+      WebRequest webRequest) {
     log.info("Fetching tag with slug: {}", slug);
 
-    Tag tag = tagService.getTagBySlug(slug);
-    TagResponse responseBody = TagResponse.fromEntity(tag);
-
-    return ResponseEntity.ok(responseBody);
+    ResourceValidator validator = resourceVersions.validator(Resource.TAGS, Resource.POSTS);
+    return conditionalResponses.respond(webRequest, "tags", validator, () -> {
+      Tag tag = tagService.getTagBySlug(slug);
+      return TagResponse.fromEntity(tag);
+    });
   }
 
   /**
@@ -216,18 +234,20 @@ public class TagController {
   @GetMapping("/search")
   public ResponseEntity<List<TagResponse>> findTagsByPartialName(
       @Parameter(description = "Partial tag name for search", required = true)
-      @RequestParam String partialName) {
+      @RequestParam String partialName,
+      WebRequest webRequest) {
 
     log.info("Finding tags matching partial name: {}", partialName);
 
-    List<Tag> tags = tagService.findTagsByPartialName(partialName);
+    ResourceValidator validator = resourceVersions.validator(Resource.TAGS, Resource.POSTS);
+    return conditionalResponses.respond(webRequest, "tags", validator, () -> {
+      List<Tag> tags = tagService.findTagsByPartialName(partialName);
 
-    // Convert entities to DTOs
-    List<TagResponse> responseBody = tags.stream()
-        .map(TagResponse::fromEntity)
-        .collect(Collectors.toList());
-
-    return ResponseEntity.ok(responseBody);
+      // Convert entities to DTOs
+      return tags.stream()
+          .map(TagResponse::fromEntity)
+          .collect(Collectors.toList());
+    });
   }
 
   /**
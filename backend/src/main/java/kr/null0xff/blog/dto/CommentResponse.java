@@ -3,8 +3,9 @@ package kr.null0xff.blog.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 import kr.null0xff.blog.entity.Comment;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -70,21 +71,37 @@ public class CommentResponse {
   }
 
   /**
-   * Convert a Comment entity to a CommentResponse DTO with its replies
+   * Assemble comment threads in one pass over the comments. Replies whose parent is not among
+   * them, e.g. below an unapproved comment or outside the page, are left out.
+   *
+   * @param roots   the top-level comments, in display order
+   * @param replies the replies below them, in display order
+   * @return the top-level comments with their replies nested at any depth
    */
-  public static CommentResponse fromEntityWithReplies(Comment comment) {
-    if (comment == null) {
-      return null;
+  public static List<CommentResponse> threadsOf(List<Comment> roots, List<Comment> replies) {
+    Map<Long, CommentResponse> byId = new HashMap<>();
+    List<CommentResponse> threads = new ArrayList<>(roots.size());
+    for (Comment root : roots) {
+      CommentResponse thread = fromEntity(root);
+      byId.put(thread.getId(), thread);
+      threads.add(thread);
     }
 
-    CommentResponse response = fromEntity(comment);
+    List<CommentResponse> nodes = new ArrayList<>(replies.size());
+    for (Comment reply : replies) {
+      CommentResponse node = fromEntity(reply);
+      byId.put(node.getId(), node);
+      nodes.add(node);
+    }
 
-    if (comment.getReplies() != null && !comment.getReplies().isEmpty()) {
-      response.setReplies(comment.getReplies().stream()
-          .map(CommentResponse::fromEntity)
-          .collect(Collectors.toList()));
+    // Attach in a second pass, so the order of the replies does not have to put parents first
+    for (CommentResponse node : nodes) {
+      CommentResponse parent = byId.get(node.getParentId());
+      if (parent != null) {
+        parent.getReplies().add(node);
+      }
     }
 
-    return response;
+    return threads;
   }
-}
\ No newline at end of file
+}
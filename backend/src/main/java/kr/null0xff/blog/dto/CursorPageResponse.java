@@ -0,0 +1,49 @@
+package kr.null0xff.blog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for cursor-based (keyset) paginated responses
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "CursorPageResponse", description = "Response model for a cursor-paginated slice of results")
+public class CursorPageResponse<T> {
+
+  @Schema(description = "Items in this slice")
+  private List<T> content;
+
+  @Schema(description = "Number of items requested per slice", example = "10")
+  private int size;
+
+  @Schema(description = "Flag indicating whether more items follow this slice", example = "true")
+  private boolean hasNext;
+
+  @Schema(description = "Opaque cursor to pass back to fetch the next slice", example = "MjAyMy0wMy0xNlQwOTowMHw0Mg", nullable = true)
+  private String nextCursor;
+
+  @Schema(description = "Total number of matching items (only present when requested)", example = "1234", nullable = true)
+  private Long totalElements;
+
+  /**
+   * Convert the content of this slice, keeping the paging information
+   */
+  public <R> CursorPageResponse<R> map(Function<? super T, ? extends R> converter) {
+    return CursorPageResponse.<R>builder()
+        .content(content.stream().map(converter).collect(Collectors.toList()))
+        .size(size)
+        .hasNext(hasNext)
+        .nextCursor(nextCursor)
+        .totalElements(totalElements)
+        .build();
+  }
+}
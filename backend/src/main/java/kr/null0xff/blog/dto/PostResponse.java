@@ -1,10 +1,13 @@
 package kr.null0xff.blog.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import kr.null0xff.blog.entity.Post;
+import kr.null0xff.blog.markdown.PostHeading;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,7 +17,7 @@ import lombok.NoArgsConstructor;
  * DTO for Post responses
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(name = "PostResponse", description = "Response model for blog post data")
@@ -35,6 +38,10 @@ public class PostResponse {
   @Schema(description = "Full content of the blog post in Markdown format", example = "# Introduction\n\nSpring Boot is a framework...")
   private String content;
 
+  @Schema(description = "Content rendered to sanitized HTML, only present when requested", example = "<h1>Introduction</h1>\n<p>Spring Boot is a framework...</p>")
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String contentHtml;
+
   @Schema(description = "URL to the featured image for the post", example = "https://example.com/images/spring-boot.jpg")
   private String imageUrl;
 
@@ -50,6 +57,18 @@ public class PostResponse {
   @Schema(description = "Date and time when the post was published", example = "2023-03-16T09:00:00")
   private LocalDateTime publishedAt;
 
+  @Schema(description = "Number of words in the content", example = "1250")
+  private int wordCount;
+
+  @Schema(description = "Estimated reading time in minutes", example = "7")
+  private int readingMinutes;
+
+  @Schema(description = "Plain-text excerpt from the beginning of the content", example = "Spring Boot makes it easy to create stand-alone applications…")
+  private String excerpt;
+
+  @Schema(description = "Headings of the content down to level 3, with the anchors of the rendered HTML")
+  private List<PostHeading> outline;
+
   @Schema(description = "Summary information about the post's author")
   private UserSummaryResponse author;
 
@@ -78,6 +97,10 @@ public class PostResponse {
         .createdAt(post.getCreatedAt())
         .updatedAt(post.getUpdatedAt())
         .publishedAt(post.getPublishedAt())
+        .wordCount(post.getWordCount())
+        .readingMinutes(post.getReadingMinutes())
+        .excerpt(post.getExcerpt())
+        .outline(post.getOutline() != null ? post.getOutline() : List.of())
         .author(UserSummaryResponse.fromEntity(post.getAuthor()))
         .category(CategorySummaryResponse.fromEntity(post.getCategory()))
         .tags(post.getTags().stream()
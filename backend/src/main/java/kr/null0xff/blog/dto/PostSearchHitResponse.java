@@ -0,0 +1,67 @@
+package kr.null0xff.blog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import kr.null0xff.blog.entity.Post;
+import kr.null0xff.blog.search.PostSearchHit;
+import kr.null0xff.blog.search.SearchHighlighter;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for full-text search hits
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "PostSearchHitResponse", description = "Response model for a post matched by a full-text search")
+public class PostSearchHitResponse {
+
+  // Length of the content fragment shown with each hit
+  private static final int CONTENT_FRAGMENT_LENGTH = 200;
+
+  @Schema(description = "The matching post")
+  private PostSummaryResponse post;
+
+  @Schema(description = "Relevance score of the match (higher is better)", example = "7.42")
+  private double score;
+
+  @Schema(description = "HTML-escaped fragments with matched terms wrapped in <mark> tags, keyed by field (title, description, content)",
+      example = "{\"title\": \"Introduction to <mark>Spring</mark> Boot\"}")
+  private Map<String, String> highlights;
+
+  /**
+   * Convert a search hit to a PostSearchHitResponse DTO
+   */
+  public static PostSearchHitResponse fromHit(PostSearchHit hit) {
+    if (hit == null) {
+      return null;
+    }
+
+    Post post = hit.getPost();
+    Map<String, String> highlights = new LinkedHashMap<>();
+    putIfPresent(highlights, "title",
+        SearchHighlighter.highlight(post.getTitle(), hit.getMatchedTerms()));
+    putIfPresent(highlights, "description",
+        SearchHighlighter.highlight(post.getDescription(), hit.getMatchedTerms()));
+    putIfPresent(highlights, "content",
+        SearchHighlighter.fragment(post.getContent(), hit.getMatchedTerms(),
+            CONTENT_FRAGMENT_LENGTH));
+
+    return PostSearchHitResponse.builder()
+        .post(PostSummaryResponse.fromEntity(post))
+        .score(hit.getScore())
+        .highlights(highlights)
+        .build();
+  }
+
+  private static void putIfPresent(Map<String, String> highlights, String field, String value) {
+    if (value != null) {
+      highlights.put(field, value);
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package kr.null0xff.blog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import kr.null0xff.blog.entity.Post;
+import kr.null0xff.blog.markdown.PostHeading;
+import kr.null0xff.blog.repository.PostSummaryView;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for Post listings. Same as {@link PostResponse} without the content.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "PostSummaryResponse", description = "Response model for blog post listings (without content)")
+public class PostSummaryResponse {
+
+  @Schema(description = "Unique identifier of the post", example = "1")
+  private Long id;
+
+  @Schema(description = "Title of the blog post", example = "Introduction to Spring Boot")
+  private String title;
+
+  @Schema(description = "URL-friendly slug for the post", example = "introduction-to-spring-boot")
+  private String slug;
+
+  @Schema(description = "Brief description or excerpt of the post", example = "Learn the basics of Spring Boot and how to create your first application")
+  private String description;
+
+  @Schema(description = "URL to the featured image for the post", example = "https://example.com/images/spring-boot.jpg")
+  private String imageUrl;
+
+  @Schema(description = "Flag indicating whether the post is published", example = "true")
+  private boolean published;
+
+  @Schema(description = "Date and time when the post was created", example = "2023-03-15T10:15:30")
+  private LocalDateTime createdAt;
+
+  @Schema(description = "Date and time when the post was last updated", example = "2023-03-20T14:25:10")
+  private LocalDateTime updatedAt;
+
+  @Schema(description = "Date and time when the post was published", example = "2023-03-16T09:00:00")
+  private LocalDateTime publishedAt;
+
+  @Schema(description = "Number of words in the content", example = "1250")
+  private int wordCount;
+
+  @Schema(description = "Estimated reading time in minutes", example = "7")
+  private int readingMinutes;
+
+  @Schema(description = "Plain-text excerpt from the beginning of the content", example = "Spring Boot makes it easy to create stand-alone applications…")
+  private String excerpt;
+
+  @Schema(description = "Headings of the content down to level 3, with the anchors of the rendered HTML")
+  private List<PostHeading> outline;
+
+  @Schema(description = "Summary information about the post's author")
+  private UserSummaryResponse author;
+
+  @Schema(description = "Information about the category this post belongs to")
+  private CategorySummaryResponse category;
+
+  @Schema(description = "Set of tags associated with this post")
+  private Set<TagSummaryResponse> tags;
+
+  /**
+   * Convert a post summary projection to a PostSummaryResponse DTO
+   */
+  public static PostSummaryResponse fromView(PostSummaryView view) {
+    if (view == null) {
+      return null;
+    }
+
+    return PostSummaryResponse.builder()
+        .id(view.getId())
+        .title(view.getTitle())
+        .slug(view.getSlug())
+        .description(view.getDescription())
+        .imageUrl(view.getImageUrl())
+        .published(view.isPublished())
+        .createdAt(view.getCreatedAt())
+        .updatedAt(view.getUpdatedAt())
+        .publishedAt(view.getPublishedAt())
+        .wordCount(view.getWordCount())
+        .readingMinutes(view.getReadingMinutes())
+        .excerpt(view.getExcerpt())
+        .outline(view.getOutline())
+        .author(UserSummaryResponse.builder()
+            .id(view.getAuthorId())
+            .username(view.getAuthorUsername())
+            .avatarUrl(view.getAuthorAvatarUrl())
+            .build())
+        .category(view.getCategoryId() == null ? null : CategorySummaryResponse.builder()
+            .id(view.getCategoryId())
+            .name(view.getCategoryName())
+            .slug(view.getCategorySlug())
+            .color(view.getCategoryColor())
+            .build())
+        .tags(view.getTags().stream()
+            .map(tag -> TagSummaryResponse.builder()
+                .id(tag.getId())
+                .name(tag.getName())
+                .slug(tag.getSlug())
+                .build())
+            .collect(Collectors.toCollection(LinkedHashSet::new)))
+        .build();
+  }
+
+  /**
+   * Convert a Post entity to a PostSummaryResponse DTO
+   */
+  public static PostSummaryResponse fromEntity(Post post) {
+    if (post == null) {
+      return null;
+    }
+
+    return PostSummaryResponse.builder()
+        .id(post.getId())
+        .title(post.getTitle())
+        .slug(post.getSlug())
+        .description(post.getDescription())
+        .imageUrl(post.getImageUrl())
+        .published(post.isPublished())
+        .createdAt(post.getCreatedAt())
+        .updatedAt(post.getUpdatedAt())
+        .publishedAt(post.getPublishedAt())
+        .wordCount(post.getWordCount())
+        .readingMinutes(post.getReadingMinutes())
+        .excerpt(post.getExcerpt())
+        .outline(post.getOutline() != null ? post.getOutline() : List.of())
+        .author(UserSummaryResponse.fromEntity(post.getAuthor()))
+        .category(CategorySummaryResponse.fromEntity(post.getCategory()))
+        .tags(post.getTags().stream()
+            .map(TagSummaryResponse::fromEntity)
+            .collect(Collectors.toSet()))
+        .build();
+  }
+}
@@ -0,0 +1,24 @@
+package kr.null0xff.blog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a post in the most viewed ranking
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "PostViewsResponse", description = "Response model for a post with its number of views")
+public class PostViewsResponse {
+
+  @Schema(description = "The viewed post")
+  private PostSummaryResponse post;
+
+  @Schema(description = "Number of times the post was viewed", example = "1532")
+  private long views;
+}
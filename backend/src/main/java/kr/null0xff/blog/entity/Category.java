@@ -6,7 +6,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -16,12 +18,15 @@ import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes = @Index(name = "idx_categories_post_count", columnList = "post_count"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -29,7 +34,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 public class Category {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categories_seq")
+  @SequenceGenerator(name = "categories_seq", sequenceName = "categories_seq", allocationSize = 50)
   private Long id;
 
   @NotBlank
@@ -47,6 +53,13 @@ public class Category {
   @Size(min = 7, max = 7)
   private String color;
 
+  // Number of published posts in this category, maintained by PostCounterService. Only changed by
+  // bulk updates, so saving the entity never overwrites it with a stale value.
+  @Builder.Default
+  @ColumnDefault("0")
+  @Column(name = "post_count", nullable = false, insertable = false, updatable = false)
+  private long postCount = 0;
+
   @CreationTimestamp
   @Column(name = "created_at", nullable = false, updatable = false)
   private LocalDateTime createdAt;
@@ -56,6 +69,8 @@ public class Category {
   private LocalDateTime updatedAt;
 
   // Relationships
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
   @OneToMany(mappedBy = "category", cascade = CascadeType.ALL)
   private List<Post> posts = new ArrayList<>();
 }
\ No newline at end of file
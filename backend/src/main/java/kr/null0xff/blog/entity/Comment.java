@@ -11,6 +11,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
@@ -19,7 +20,9 @@ import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -31,8 +34,16 @@ import org.hibernate.annotations.UpdateTimestamp;
 @AllArgsConstructor
 public class Comment {
 
+  // Replies can be nested this deep, which keeps the path within its indexable column length
+  public static final int MAX_DEPTH = 80;
+
+  // Fixed-width base-36 ID plus separator, so paths sort like the ID sequences of their ancestors
+  private static final int SEGMENT_DIGITS = 8;
+  private static final int SEGMENT_LENGTH = SEGMENT_DIGITS + 1;
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+  @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
   private Long id;
 
   @NotBlank
@@ -43,6 +54,13 @@ public class Comment {
   @Builder.Default
   private boolean approved = false;
 
+  // Materialized path: the IDs of all ancestors, root first ("0000002s/0000003k/"), empty for
+  // top-level comments. All replies below a comment share a path prefix, so a whole thread is one
+  // index range.
+  @Builder.Default
+  @Column(nullable = false, length = MAX_DEPTH * SEGMENT_LENGTH)
+  private String path = "";
+
   @CreationTimestamp
   @Column(name = "created_at", nullable = false, updatable = false)
   private LocalDateTime createdAt;
@@ -52,19 +70,27 @@ public class Comment {
   private LocalDateTime updatedAt;
 
   // Relationships
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "author_id", nullable = false)
   private User author;
 
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "post_id", nullable = false)
   private Post post;
 
   // Self-referencing for nested comments (replies)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "parent_id")
   private Comment parent;
 
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
   @OneToMany(mappedBy = "parent", cascade = CascadeType.ALL, orphanRemoval = true)
   private List<Comment> replies = new ArrayList<>();
 
@@ -78,4 +104,35 @@ public class Comment {
     replies.remove(reply);
     reply.setParent(null);
   }
+
+  /**
+   * The nesting level, 0 for top-level comments
+   */
+  public int getDepth() {
+    return path.length() / SEGMENT_LENGTH;
+  }
+
+  /**
+   * The path prefix of all replies below this comment, which is also the path of its direct
+   * replies
+   */
+  public String getSubtreePath() {
+    return path + segment(id);
+  }
+
+  /**
+   * The path segment of a comment ID
+   */
+  public static String segment(long id) {
+    String digits = Long.toString(id, Character.MAX_RADIX);
+    return "0".repeat(SEGMENT_DIGITS - digits.length()) + digits + "/";
+  }
+
+  /**
+   * The lowest path after all paths starting with a subtree path, for range queries
+   */
+  public static String subtreePathEnd(String subtreePath) {
+    // '0' directly follows the '/' separator
+    return subtreePath.substring(0, subtreePath.length() - 1) + "0";
+  }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package kr.null0xff.blog.entity;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -13,6 +14,7 @@ import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -21,10 +23,15 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import kr.null0xff.blog.markdown.PostDigest;
+import kr.null0xff.blog.markdown.PostHeading;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.Hibernate;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -37,7 +44,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 public class Post {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "posts_seq")
+  @SequenceGenerator(name = "posts_seq", sequenceName = "posts_seq", allocationSize = 50)
   private Long id;
 
   @NotBlank
@@ -61,6 +69,26 @@ public class Post {
   @Size(max = 255)
   private String imageUrl;
 
+  // Derived from the content whenever the post is saved, so listings never read the content.
+  // A null excerpt marks a row written before these columns existed.
+  @Column(name = "word_count", nullable = false)
+  private int wordCount;
+
+  @Column(name = "reading_minutes", nullable = false)
+  private int readingMinutes;
+
+  @Size(max = 300)
+  private String excerpt;
+
+  @Lob
+  @Column(columnDefinition = "TEXT")
+  @Convert(converter = PostOutlineConverter.class)
+  private List<PostHeading> outline;
+
+  // Only ever incremented in bulk by PostViews, so saving a post never overwrites counted views
+  @Column(name = "view_count", nullable = false, insertable = false, updatable = false)
+  private long viewCount;
+
   @Builder.Default
   private boolean published = false;
 
@@ -76,21 +104,30 @@ public class Post {
   private LocalDateTime publishedAt;
 
   // Relationships
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "author_id", nullable = false)
   private User author;
 
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
   @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
   private List<Comment> comments = new ArrayList<>();
 
-  @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+  // Tags are saved by TagService before they are linked, so nothing is cascaded to them
+  @ManyToMany
   @JoinTable(
       name = "post_tags",
       joinColumns = @JoinColumn(name = "post_id"),
       inverseJoinColumns = @JoinColumn(name = "tag_id")
   )
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
   private Set<Tag> tags = new HashSet<>();
 
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "category_id")
   private Category category;
@@ -106,14 +143,27 @@ public class Post {
     comment.setPost(null);
   }
 
+  // The post side owns the association; the posts of a tag are only kept in sync when they are
+  // already loaded, initializing them would load every post with the tag
   public void addTag(Tag tag) {
     tags.add(tag);
-    tag.getPosts().add(this);
+    if (Hibernate.isInitialized(tag.getPosts())) {
+      tag.getPosts().add(this);
+    }
   }
 
   public void removeTag(Tag tag) {
     tags.remove(tag);
-    tag.getPosts().remove(this);
+    if (Hibernate.isInitialized(tag.getPosts())) {
+      tag.getPosts().remove(this);
+    }
+  }
+
+  public void applyDigest(PostDigest digest) {
+    this.wordCount = digest.wordCount();
+    this.readingMinutes = digest.readingMinutes();
+    this.outline = digest.outline();
+    this.excerpt = digest.excerpt();
   }
 
   // Method to set publishing status
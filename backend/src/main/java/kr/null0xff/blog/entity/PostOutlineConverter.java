@@ -0,0 +1,44 @@
+package kr.null0xff.blog.entity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.util.List;
+import kr.null0xff.blog.markdown.PostHeading;
+
+/**
+ * Stores the outline of a post as a JSON array in a single column
+ */
+@Converter
+public class PostOutlineConverter implements AttributeConverter<List<PostHeading>, String> {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final TypeReference<List<PostHeading>> OUTLINE_TYPE = new TypeReference<>() {
+  };
+
+  @Override
+  public String convertToDatabaseColumn(List<PostHeading> outline) {
+    if (outline == null) {
+      return null;
+    }
+    try {
+      return OBJECT_MAPPER.writeValueAsString(outline);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Cannot serialize post outline", e);
+    }
+  }
+
+  @Override
+  public List<PostHeading> convertToEntityAttribute(String json) {
+    if (json == null || json.isEmpty()) {
+      return List.of();
+    }
+    try {
+      return OBJECT_MAPPER.readValue(json, OUTLINE_TYPE);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Cannot deserialize post outline", e);
+    }
+  }
+}
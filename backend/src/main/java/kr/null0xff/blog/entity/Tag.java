@@ -5,7 +5,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -15,12 +17,15 @@ import java.util.Set;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
-@Table(name = "tags")
+@Table(name = "tags", indexes = @Index(name = "idx_tags_post_count", columnList = "post_count"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -28,7 +33,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 public class Tag {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tags_seq")
+  @SequenceGenerator(name = "tags_seq", sequenceName = "tags_seq", allocationSize = 50)
   private Long id;
 
   @NotBlank
@@ -42,6 +48,13 @@ public class Tag {
   @Column(unique = true)
   private String slug;
 
+  // Number of published posts with this tag, maintained by PostCounterService. Only changed by
+  // bulk updates, so saving the entity never overwrites it with a stale value.
+  @Builder.Default
+  @ColumnDefault("0")
+  @Column(name = "post_count", nullable = false, insertable = false, updatable = false)
+  private long postCount = 0;
+
   @CreationTimestamp
   @Column(name = "created_at", nullable = false, updatable = false)
   private LocalDateTime createdAt;
@@ -51,6 +64,8 @@ public class Tag {
   private LocalDateTime updatedAt;
 
   // Relationships
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
   @ManyToMany(mappedBy = "tags")
   private Set<Post> posts = new HashSet<>();
 }
\ No newline at end of file
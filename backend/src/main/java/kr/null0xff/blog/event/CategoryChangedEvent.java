@@ -0,0 +1,20 @@
+package kr.null0xff.blog.event;
+
+import lombok.Value;
+
+/**
+ * Published by {@link kr.null0xff.blog.service.CategoryService} whenever a category is created,
+ * updated or deleted
+ */
+@Value
+public class CategoryChangedEvent {
+
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+
+  Type type;
+  Long categoryId;
+}
@@ -0,0 +1,22 @@
+package kr.null0xff.blog.event;
+
+import lombok.Value;
+
+/**
+ * Published by {@link kr.null0xff.blog.service.CommentService} whenever a comment is created,
+ * updated, approved or deleted
+ */
+@Value
+public class CommentChangedEvent {
+
+  public enum Type {
+    CREATED,
+    UPDATED,
+    APPROVED,
+    DELETED
+  }
+
+  Type type;
+  Long commentId;
+  Long postId;
+}
@@ -0,0 +1,45 @@
+package kr.null0xff.blog.event;
+
+import lombok.Value;
+
+/**
+ * Published by {@link kr.null0xff.blog.service.PostService} whenever a post is created, updated,
+ * published or deleted. Listeners should use {@code @TransactionalEventListener} so they only see
+ * committed changes.
+ */
+@Value
+public class PostChangedEvent {
+
+  public enum Type {
+    CREATED,
+    UPDATED,
+    PUBLISHED,
+    DELETED
+  }
+
+  Type type;
+
+  // State before the change (null for newly created posts)
+  PostSnapshot before;
+
+  // State after the change (null for deleted posts)
+  PostSnapshot after;
+
+  public Long getPostId() {
+    return after != null ? after.getId() : before.getId();
+  }
+
+  /**
+   * Whether the post was publicly visible before the change
+   */
+  public boolean wasPublished() {
+    return before != null && before.isPublished();
+  }
+
+  /**
+   * Whether the post is publicly visible after the change
+   */
+  public boolean isPublished() {
+    return after != null && after.isPublished();
+  }
+}
@@ -0,0 +1,52 @@
+package kr.null0xff.blog.event;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.stream.Collectors;
+import kr.null0xff.blog.entity.Post;
+import kr.null0xff.blog.entity.Tag;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable copy of the state of a post, taken inside the transaction that changed it so that
+ * listeners running after commit never touch lazy associations of a detached entity
+ */
+@Value
+@Builder
+public class PostSnapshot {
+
+  Long id;
+  String slug;
+  String title;
+  String description;
+  String content;
+  boolean published;
+  LocalDateTime publishedAt;
+  Long authorId;
+  Long categoryId;
+  String categoryName;
+
+  // Tag names keyed by tag ID
+  Map<Long, String> tags;
+
+  /**
+   * Capture the current state of a post (must be called while the post is still attached)
+   */
+  public static PostSnapshot of(Post post) {
+    return PostSnapshot.builder()
+        .id(post.getId())
+        .slug(post.getSlug())
+        .title(post.getTitle())
+        .description(post.getDescription())
+        .content(post.getContent())
+        .published(post.isPublished())
+        .publishedAt(post.getPublishedAt())
+        .authorId(post.getAuthor() != null ? post.getAuthor().getId() : null)
+        .categoryId(post.getCategory() != null ? post.getCategory().getId() : null)
+        .categoryName(post.getCategory() != null ? post.getCategory().getName() : null)
+        .tags(post.getTags().stream()
+            .collect(Collectors.toUnmodifiableMap(Tag::getId, Tag::getName)))
+        .build();
+  }
+}
@@ -0,0 +1,15 @@
+package kr.null0xff.blog.event;
+
+import kr.null0xff.blog.util.LongLongHashMap;
+import lombok.Value;
+
+/**
+ * Published by {@link kr.null0xff.blog.views.PostViews} after the views counted in memory were
+ * added to the posts table
+ */
+@Value
+public class PostViewsFlushedEvent {
+
+  // post ID -> views since the previous flush; listeners must not modify it
+  LongLongHashMap views;
+}
@@ -0,0 +1,20 @@
+package kr.null0xff.blog.event;
+
+import lombok.Value;
+
+/**
+ * Published by {@link kr.null0xff.blog.service.TagService} whenever a tag is created, updated or
+ * deleted
+ */
+@Value
+public class TagChangedEvent {
+
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+
+  Type type;
+  Long tagId;
+}
@@ -0,0 +1,18 @@
+package kr.null0xff.blog.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * Thrown when the comment ingestion queue has no room left; the client should retry later
+ */
+@Getter
+public class CommentQueueFullException extends RuntimeException {
+
+  private final Duration retryAfter;
+
+  public CommentQueueFullException(Duration retryAfter) {
+    super("Too many comments are waiting to be saved, please retry later");
+    this.retryAfter = retryAfter;
+  }
+}
@@ -6,8 +6,11 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -117,6 +120,70 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
   }
 
+  /**
+   * Handle unique constraint violations, e.g. two requests creating the same slug at once
+   */
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(
+      DataIntegrityViolationException ex, WebRequest request) {
+
+    log.error("Data integrity violation: {}", ex.getMostSpecificCause().getMessage());
+
+    ErrorResponse errorResponse = ErrorResponse.builder()
+        .timestamp(LocalDateTime.now())
+        .status(HttpStatus.CONFLICT.value())
+        .error("Conflict")
+        .message("The request conflicts with existing data, please retry")
+        .path(request.getDescription(false).replace("uri=", ""))
+        .build();
+
+    return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+  }
+
+  /**
+   * Handle a full comment ingestion queue
+   */
+  @ExceptionHandler(CommentQueueFullException.class)
+  public ResponseEntity<ErrorResponse> handleCommentQueueFull(
+      CommentQueueFullException ex, WebRequest request) {
+
+    log.warn("Comment queue full: {}", ex.getMessage());
+
+    ErrorResponse errorResponse = ErrorResponse.builder()
+        .timestamp(LocalDateTime.now())
+        .status(HttpStatus.TOO_MANY_REQUESTS.value())
+        .error("Too Many Requests")
+        .message(ex.getMessage())
+        .path(request.getDescription(false).replace("uri=", ""))
+        .build();
+
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+        .body(errorResponse);
+  }
+
+  /**
+   * Handle a transaction that could not get a database connection, e.g. because every pooled
+   * connection stayed busy for the whole connection timeout. Answering 503 quickly sheds the load
+   * instead of letting requests queue up for the pool.
+   */
+  @ExceptionHandler(CannotCreateTransactionException.class)
+  public ResponseEntity<ErrorResponse> handleCannotCreateTransaction(
+      CannotCreateTransactionException ex, WebRequest request) {
+
+    log.warn("No database connection available: {}", ex.getMessage());
+
+    ErrorResponse errorResponse = ErrorResponse.builder()
+        .timestamp(LocalDateTime.now())
+        .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+        .error("Service Unavailable")
+        .message("The database is busy, please retry later")
+        .path(request.getDescription(false).replace("uri=", ""))
+        .build();
+
+    return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
   /**
    * Handle all other exceptions
    */
@@ -0,0 +1,42 @@
+package kr.null0xff.blog.feed;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Holds one lazily rendered document. Invalidating the slot drops the document; the next read
+ * renders it again. A rendering that was overtaken by an invalidation is returned to its caller
+ * but not kept, so a change that commits during a rendering is never hidden.
+ * <p>
+ * Rendering happens outside of any lock, concurrent readers of an empty slot may render the same
+ * document twice.
+ */
+class DocumentSlot {
+
+  private record State(long generation, XmlDocument document) {
+
+  }
+
+  private final AtomicReference<State> state = new AtomicReference<>(new State(0, null));
+
+  /**
+   * The current document, rendered by the given supplier if there is none. The supplier may
+   * return null for a document that does not exist, which is not kept.
+   */
+  XmlDocument get(Supplier<XmlDocument> renderer) {
+    State current = state.get();
+    if (current.document() != null) {
+      return current.document();
+    }
+
+    XmlDocument document = renderer.get();
+    if (document != null) {
+      state.compareAndSet(current, new State(current.generation(), document));
+    }
+    return document;
+  }
+
+  void invalidate() {
+    state.getAndUpdate(current -> new State(current.generation() + 1, null));
+  }
+}
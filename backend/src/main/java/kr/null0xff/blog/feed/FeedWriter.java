@@ -0,0 +1,249 @@
+package kr.null0xff.blog.feed;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.List;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import kr.null0xff.blog.config.FeedProperties;
+import kr.null0xff.blog.repository.PostSitemapEntry;
+import kr.null0xff.blog.repository.PostSummaryView;
+import kr.null0xff.blog.repository.PostTagView;
+
+/**
+ * Writes feeds and sitemaps with a streaming XML writer, element by element, so a sitemap of
+ * tens of thousands of posts never exists as a DOM
+ */
+final class FeedWriter {
+
+  private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+  private static final String ATOM_NS = "http://www.w3.org/2005/Atom";
+  private static final String SITEMAP_NS = "http://www.sitemaps.org/schemas/sitemap/0.9";
+
+  private final FeedProperties properties;
+
+  FeedWriter(FeedProperties properties) {
+    this.properties = properties;
+  }
+
+  /**
+   * RSS 2.0 feed of the given posts, newest first
+   */
+  byte[] rss(List<PostSummaryView> posts) {
+    return write(xml -> {
+      xml.writeStartElement("rss");
+      xml.writeAttribute("version", "2.0");
+      xml.writeNamespace("atom", ATOM_NS);
+      xml.writeStartElement("channel");
+
+      element(xml, "title", properties.getTitle());
+      element(xml, "link", properties.getSiteUrl() + "/");
+      element(xml, "description", properties.getDescription());
+      xml.writeEmptyElement("atom", "link", ATOM_NS);
+      xml.writeAttribute("href", properties.getSiteUrl() + "/feed.xml");
+      xml.writeAttribute("rel", "self");
+      xml.writeAttribute("type", "application/rss+xml");
+      if (!posts.isEmpty()) {
+        element(xml, "lastBuildDate", rfc1123(lastUpdate(posts)));
+      }
+
+      for (PostSummaryView post : posts) {
+        xml.writeStartElement("item");
+        element(xml, "title", post.getTitle());
+        element(xml, "link", postUrl(post.getSlug()));
+        xml.writeStartElement("guid");
+        xml.writeAttribute("isPermaLink", "true");
+        xml.writeCharacters(postUrl(post.getSlug()));
+        xml.writeEndElement();
+        element(xml, "pubDate", rfc1123(post.getPublishedAt()));
+        element(xml, "description", post.getDescription());
+        if (post.getCategoryName() != null) {
+          element(xml, "category", post.getCategoryName());
+        }
+        for (PostTagView tag : post.getTags()) {
+          element(xml, "category", tag.getName());
+        }
+        xml.writeEndElement();
+      }
+
+      xml.writeEndElement();
+      xml.writeEndElement();
+    });
+  }
+
+  /**
+   * Atom 1.0 feed of the given posts, newest first
+   */
+  byte[] atom(List<PostSummaryView> posts) {
+    return write(xml -> {
+      xml.setDefaultNamespace(ATOM_NS);
+      xml.writeStartElement(ATOM_NS, "feed");
+      xml.writeDefaultNamespace(ATOM_NS);
+
+      element(xml, "id", properties.getSiteUrl() + "/");
+      element(xml, "title", properties.getTitle());
+      element(xml, "subtitle", properties.getDescription());
+      link(xml, properties.getSiteUrl() + "/", "alternate");
+      link(xml, properties.getSiteUrl() + "/atom.xml", "self");
+      // Required even for an empty feed
+      element(xml, "updated", posts.isEmpty() ? w3c(LocalDateTime.now()) : w3c(lastUpdate(posts)));
+
+      for (PostSummaryView post : posts) {
+        xml.writeStartElement("entry");
+        element(xml, "id", postUrl(post.getSlug()));
+        element(xml, "title", post.getTitle());
+        link(xml, postUrl(post.getSlug()), "alternate");
+        element(xml, "published", w3c(post.getPublishedAt()));
+        element(xml, "updated", w3c(updatedAt(post)));
+        xml.writeStartElement("author");
+        element(xml, "name", post.getAuthorUsername());
+        xml.writeEndElement();
+        element(xml, "summary", post.getDescription());
+        if (post.getCategoryName() != null) {
+          xml.writeEmptyElement("category");
+          xml.writeAttribute("term", post.getCategoryName());
+        }
+        for (PostTagView tag : post.getTags()) {
+          xml.writeEmptyElement("category");
+          xml.writeAttribute("term", tag.getName());
+        }
+        xml.writeEndElement();
+      }
+
+      xml.writeEndElement();
+    });
+  }
+
+  /**
+   * Sitemap of the given posts, and of the site's own pages if requested
+   *
+   * @return the sitemap, or null if it would list no URL at all
+   */
+  byte[] urlset(Iterator<PostSitemapEntry> posts, boolean withPages) {
+    if (!withPages && !posts.hasNext()) {
+      return null;
+    }
+
+    return write(xml -> {
+      xml.setDefaultNamespace(SITEMAP_NS);
+      xml.writeStartElement(SITEMAP_NS, "urlset");
+      xml.writeDefaultNamespace(SITEMAP_NS);
+
+      if (withPages) {
+        url(xml, properties.getSiteUrl() + "/", null);
+        url(xml, properties.getSiteUrl() + "/blog", null);
+      }
+      while (posts.hasNext()) {
+        PostSitemapEntry post = posts.next();
+        url(xml, postUrl(post.getSlug()), post.getUpdatedAt());
+      }
+
+      xml.writeEndElement();
+    });
+  }
+
+  /**
+   * Sitemap index listing the sitemaps of the given chunks
+   */
+  byte[] sitemapIndex(List<SitemapChunk> chunks) {
+    return write(xml -> {
+      xml.setDefaultNamespace(SITEMAP_NS);
+      xml.writeStartElement(SITEMAP_NS, "sitemapindex");
+      xml.writeDefaultNamespace(SITEMAP_NS);
+
+      for (SitemapChunk chunk : chunks) {
+        xml.writeStartElement("sitemap");
+        element(xml, "loc", properties.getSiteUrl() + chunk.path());
+        if (chunk.lastModified() != null) {
+          element(xml, "lastmod", w3c(chunk.lastModified()));
+        }
+        xml.writeEndElement();
+      }
+
+      xml.writeEndElement();
+    });
+  }
+
+  private String postUrl(String slug) {
+    return properties.getSiteUrl() + "/blog/" + slug;
+  }
+
+  private static void url(XMLStreamWriter xml, String loc, LocalDateTime lastModified)
+      throws XMLStreamException {
+    xml.writeStartElement("url");
+    element(xml, "loc", loc);
+    if (lastModified != null) {
+      element(xml, "lastmod", w3c(lastModified));
+    }
+    xml.writeEndElement();
+  }
+
+  private static void link(XMLStreamWriter xml, String href, String rel)
+      throws XMLStreamException {
+    xml.writeEmptyElement("link");
+    xml.writeAttribute("href", href);
+    xml.writeAttribute("rel", rel);
+  }
+
+  private static void element(XMLStreamWriter xml, String name, String text)
+      throws XMLStreamException {
+    xml.writeStartElement(name);
+    xml.writeCharacters(text != null ? text : "");
+    xml.writeEndElement();
+  }
+
+  private static LocalDateTime updatedAt(PostSummaryView post) {
+    return post.getUpdatedAt() != null ? post.getUpdatedAt() : post.getPublishedAt();
+  }
+
+  private static LocalDateTime lastUpdate(List<PostSummaryView> posts) {
+    return posts.stream()
+        .map(FeedWriter::updatedAt)
+        .max(LocalDateTime::compareTo)
+        .orElseThrow();
+  }
+
+  private static String rfc1123(LocalDateTime time) {
+    return DateTimeFormatter.RFC_1123_DATE_TIME.format(time.atZone(ZoneId.systemDefault()));
+  }
+
+  private static String w3c(LocalDateTime time) {
+    return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(time.atZone(ZoneId.systemDefault()));
+  }
+
+  private static byte[] write(XmlBody body) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+    try {
+      XMLStreamWriter xml = OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+      xml.writeStartDocument("UTF-8", "1.0");
+      body.write(xml);
+      xml.writeEndDocument();
+      xml.close();
+    } catch (XMLStreamException e) {
+      throw new IllegalStateException("Failed to write XML", e);
+    }
+    return out.toByteArray();
+  }
+
+  @FunctionalInterface
+  private interface XmlBody {
+
+    void write(XMLStreamWriter xml) throws XMLStreamException;
+  }
+
+  /**
+   * A sitemap listed in the sitemap index
+   *
+   * @param number       the chunk number, posts with IDs from number * chunk size on
+   * @param path         the path of the sitemap
+   * @param lastModified the last update of its posts
+   */
+  record SitemapChunk(long number, String path, LocalDateTime lastModified) {
+
+  }
+}
@@ -0,0 +1,240 @@
+package kr.null0xff.blog.feed;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import kr.null0xff.blog.config.FeedProperties;
+import kr.null0xff.blog.event.CategoryChangedEvent;
+import kr.null0xff.blog.event.PostChangedEvent;
+import kr.null0xff.blog.event.PostSnapshot;
+import kr.null0xff.blog.event.TagChangedEvent;
+import kr.null0xff.blog.event.UserChangedEvent;
+import kr.null0xff.blog.feed.FeedWriter.SitemapChunk;
+import kr.null0xff.blog.repository.PostRepository;
+import kr.null0xff.blog.repository.PostSitemapEntry;
+import kr.null0xff.blog.repository.PostSpecifications;
+import kr.null0xff.blog.repository.PostSummaryView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The RSS and Atom feeds and the sitemaps, rendered on first request and kept in memory until a
+ * committed change touches one of their entries.
+ * <p>
+ * Sitemaps are split by post ID range into chunks of {@code blog.feeds.sitemap-chunk-size} posts,
+ * so a change only renders the chunk of its post again. While all published posts fall into the
+ * first chunk, {@code /sitemap.xml} is that chunk; beyond it, it is an index of the chunks. The
+ * feeds list the newest posts and are only rendered again when a change enters, leaves or
+ * modifies that window.
+ */
+@Component
+@Slf4j
+public class SiteFeeds {
+
+  private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "publishedAt", "id");
+
+  private final PostRepository postRepository;
+  private final FeedProperties properties;
+  private final FeedWriter writer;
+  private final TransactionTemplate transactionTemplate;
+
+  private final DocumentSlot rss = new DocumentSlot();
+  private final DocumentSlot atom = new DocumentSlot();
+  private final DocumentSlot sitemap = new DocumentSlot();
+
+  // chunk number -> sitemap of the posts in its ID range
+  private final Map<Long, DocumentSlot> sitemapChunks = new ConcurrentHashMap<>();
+
+  // The posts listed by the last rendered feed, null until one is rendered
+  private volatile FeedWindow feedWindow;
+
+  public SiteFeeds(PostRepository postRepository, FeedProperties properties,
+      PlatformTransactionManager transactionManager) {
+    this.postRepository = postRepository;
+    this.properties = properties;
+    this.writer = new FeedWriter(properties);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+  }
+
+  public XmlDocument getRss() {
+    return rss.get(() -> XmlDocument.of(writer.rss(newestPosts())));
+  }
+
+  public XmlDocument getAtom() {
+    return atom.get(() -> XmlDocument.of(writer.atom(newestPosts())));
+  }
+
+  /**
+   * The sitemap of the whole site: the first chunk while there is only one, an index otherwise
+   */
+  public XmlDocument getSitemap() {
+    return sitemap.get(() -> {
+      List<SitemapChunk> chunks = findChunks();
+      if (chunks.size() == 1) {
+        return XmlDocument.of(renderChunk(0));
+      }
+      return XmlDocument.of(writer.sitemapIndex(chunks));
+    });
+  }
+
+  /**
+   * The sitemap of one chunk of posts
+   *
+   * @return the sitemap, or null if a chunk other than the first has no published posts
+   */
+  public XmlDocument getSitemapChunk(long number) {
+    if (number < 0) {
+      return null;
+    }
+    DocumentSlot slot = sitemapChunks.computeIfAbsent(number, n -> new DocumentSlot());
+    XmlDocument document = slot.get(() -> {
+      byte[] content = renderChunk(number);
+      return content != null ? XmlDocument.of(content) : null;
+    });
+    if (document == null) {
+      // Keep no slots for chunks that do not exist
+      sitemapChunks.remove(number, slot);
+    }
+    return document;
+  }
+
+  /**
+   * Render again whatever lists the changed post. Drafts appear nowhere.
+   */
+  @TransactionalEventListener
+  public void onPostChanged(PostChangedEvent event) {
+    if (!event.wasPublished() && !event.isPublished()) {
+      return;
+    }
+
+    if (touchesFeeds(event)) {
+      log.debug("Post {} changed the feeds", event.getPostId());
+      invalidateFeeds();
+    }
+
+    DocumentSlot chunk = sitemapChunks.get(chunkOf(event.getPostId()));
+    if (chunk != null) {
+      chunk.invalidate();
+    }
+    // The index lists the last update of every chunk
+    sitemap.invalidate();
+  }
+
+  /**
+   * Tag, category and author names appear in the feed entries
+   */
+  @TransactionalEventListener
+  public void onTagChanged(TagChangedEvent event) {
+    if (event.getType() != TagChangedEvent.Type.CREATED) {
+      invalidateFeeds();
+    }
+  }
+
+  @TransactionalEventListener
+  public void onCategoryChanged(CategoryChangedEvent event) {
+    if (event.getType() != CategoryChangedEvent.Type.CREATED) {
+      invalidateFeeds();
+    }
+  }
+
+  @TransactionalEventListener
+  public void onUserChanged(UserChangedEvent event) {
+    if (event.getType() != UserChangedEvent.Type.CREATED) {
+      invalidateFeeds();
+    }
+  }
+
+  private void invalidateFeeds() {
+    rss.invalidate();
+    atom.invalidate();
+  }
+
+  /**
+   * Whether the post is listed by the feeds, or is now published recently enough to be
+   */
+  private boolean touchesFeeds(PostChangedEvent event) {
+    FeedWindow window = feedWindow;
+    if (window == null || window.postIds().contains(event.getPostId())) {
+      return true;
+    }
+
+    PostSnapshot after = event.getAfter();
+    if (!event.isPublished() || after.getPublishedAt() == null) {
+      return false;
+    }
+    return window.postIds().size() < properties.getSize()
+        || !after.getPublishedAt().isBefore(window.oldestPublishedAt());
+  }
+
+  private List<PostSummaryView> newestPosts() {
+    List<PostSummaryView> posts = transactionTemplate.execute(status ->
+        postRepository.findSummaries(PostSpecifications.isPublished(), NEWEST_FIRST,
+            properties.getSize()));
+
+    feedWindow = new FeedWindow(
+        posts.stream().map(PostSummaryView::getId).collect(Collectors.toUnmodifiableSet()),
+        posts.isEmpty() ? LocalDateTime.MIN : posts.get(posts.size() - 1).getPublishedAt());
+    return posts;
+  }
+
+  private long chunkOf(long postId) {
+    return postId / properties.getSitemapChunkSize();
+  }
+
+  /**
+   * Stream the published posts of a chunk into its sitemap. The first chunk also lists the
+   * site's own pages, so it always exists.
+   */
+  private byte[] renderChunk(long number) {
+    long size = properties.getSitemapChunkSize();
+    return transactionTemplate.execute(status -> {
+      try (Stream<PostSitemapEntry> posts =
+          postRepository.streamSitemapEntries(number * size, (number + 1) * size)) {
+        return writer.urlset(posts.iterator(), number == 0);
+      }
+    });
+  }
+
+  /**
+   * Find the first chunk, which lists the site's own pages, and the chunks with published posts
+   * after it by seeking from one to the next, two indexed queries per chunk
+   */
+  private List<SitemapChunk> findChunks() {
+    long size = properties.getSitemapChunkSize();
+    return transactionTemplate.execute(status -> {
+      List<SitemapChunk> chunks = new ArrayList<>();
+      chunks.add(chunk(0));
+      Long next = postRepository.findFirstPublishedIdFrom(size);
+      while (next != null) {
+        long number = chunkOf(next);
+        chunks.add(chunk(number));
+        next = postRepository.findFirstPublishedIdFrom((number + 1) * size);
+      }
+      return chunks;
+    });
+  }
+
+  private SitemapChunk chunk(long number) {
+    long size = properties.getSitemapChunkSize();
+    return new SitemapChunk(number, "/sitemaps/posts-" + number + ".xml",
+        postRepository.findLastPublishedUpdateBetween(number * size, (number + 1) * size));
+  }
+
+  /**
+   * @param postIds           the posts listed by the feeds
+   * @param oldestPublishedAt when the oldest of them was published
+   */
+  private record FeedWindow(Set<Long> postIds, LocalDateTime oldestPublishedAt) {
+
+  }
+}
@@ -0,0 +1,19 @@
+package kr.null0xff.blog.feed;
+
+import java.time.Instant;
+import org.springframework.util.DigestUtils;
+
+/**
+ * A rendered feed or sitemap with its validators
+ *
+ * @param content      the UTF-8 encoded XML
+ * @param etag         a strong ETag derived from the content
+ * @param lastModified when the document was rendered
+ */
+public record XmlDocument(byte[] content, String etag, Instant lastModified) {
+
+  static XmlDocument of(byte[] content) {
+    return new XmlDocument(content, "\"" + DigestUtils.md5DigestAsHex(content) + "\"",
+        Instant.now());
+  }
+}
@@ -0,0 +1,334 @@
+package kr.null0xff.blog.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import kr.null0xff.blog.config.CommentIngestionProperties;
+import kr.null0xff.blog.dto.CommentCreateRequest;
+import kr.null0xff.blog.exception.CommentQueueFullException;
+import kr.null0xff.blog.service.CommentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Write-behind ingestion of new comments for traffic spikes. When enabled, accepted comments go
+ * into a bounded queue, and optionally a local journal, and a background writer saves them in
+ * batches, so a request only reads whether the comment's references exist instead of writing to
+ * the database. Once the queue is full further comments are turned away until the writer catches
+ * up.
+ * <p>
+ * Publishes the {@code blog.comments.ingestion.queue.depth} gauge, the
+ * {@code blog.comments.ingestion.flush} timer and the {@code accepted}, {@code rejected} and
+ * {@code dropped} counters under the same prefix.
+ */
+@Component
+@Slf4j
+public class CommentIngestion implements SmartLifecycle {
+
+  // Start before and stop after the web server, so the queue is drained once requests stop
+  private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+  private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+  private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+  private final CommentIngestionProperties properties;
+  private final CommentService commentService;
+  private final ObjectMapper objectMapper;
+  private final BlockingQueue<PendingComment> queue;
+
+  private final Timer flushTimer;
+  private final Counter accepted;
+  private final Counter rejected;
+  private final Counter dropped;
+
+  // Guards the sequence numbers, so the journal and the queue see comments in the same order.
+  // Not a monitor: the journal write under it would pin the carrier of a virtual thread
+  private final ReentrantLock submitLock = new ReentrantLock();
+  private long lastSequence;
+
+  private CommentJournal journal;
+  private Thread writer;
+  private volatile boolean running;
+
+  public CommentIngestion(CommentIngestionProperties properties, CommentService commentService,
+      ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.commentService = commentService;
+    this.objectMapper = objectMapper;
+    this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+    Gauge.builder("blog.comments.ingestion.queue.depth", queue, Collection::size)
+        .description("Comments waiting to be saved")
+        .register(meterRegistry);
+    this.flushTimer = Timer.builder("blog.comments.ingestion.flush")
+        .description("Time to save one batch of queued comments")
+        .register(meterRegistry);
+    this.accepted = Counter.builder("blog.comments.ingestion.accepted")
+        .description("Comments accepted into the queue")
+        .register(meterRegistry);
+    this.rejected = Counter.builder("blog.comments.ingestion.rejected")
+        .description("Comments turned away because the queue was full")
+        .register(meterRegistry);
+    this.dropped = Counter.builder("blog.comments.ingestion.dropped")
+        .description("Queued comments that could not be saved")
+        .register(meterRegistry);
+  }
+
+  public boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  /**
+   * Queue a validated comment to be saved in the background
+   *
+   * @throws CommentQueueFullException if the queue has no room left
+   */
+  public void submit(CommentCreateRequest request) {
+    if (!running) {
+      throw new IllegalStateException("Comment ingestion is not running");
+    }
+
+    submitLock.lock();
+    try {
+      if (queue.remainingCapacity() == 0) {
+        rejected.increment();
+        throw new CommentQueueFullException(properties.getRetryAfter());
+      }
+
+      PendingComment comment = new PendingComment(++lastSequence, request);
+      if (journal != null) {
+        try {
+          journal.append(comment);
+        } catch (IOException e) {
+          throw new UncheckedIOException("Failed to journal comment", e);
+        }
+      }
+      // Only the writer takes from the queue, so the room checked above is still there
+      queue.add(comment);
+    } finally {
+      submitLock.unlock();
+    }
+    accepted.increment();
+  }
+
+  @Override
+  public void start() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+
+    running = true;
+    List<PendingComment> recovered = properties.getJournal() != null ? openJournal() : List.of();
+
+    // Recovered comments are saved by the writer, so a database that is down does not hold up
+    // the start of the application
+    writer = new Thread(() -> {
+      saveRecovered(recovered);
+      drain();
+    }, "comment-writer");
+    writer.start();
+    log.info("Comment ingestion started with a queue of {} comments",
+        properties.getQueueCapacity());
+  }
+
+  @Override
+  public void stop() {
+    if (!running) {
+      return;
+    }
+
+    running = false;
+    try {
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    if (journal != null) {
+      try {
+        journal.close();
+      } catch (IOException e) {
+        log.warn("Failed to close the comment journal", e);
+      }
+    }
+    log.info("Comment ingestion stopped");
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public int getPhase() {
+    return PHASE;
+  }
+
+  /**
+   * Open the journal and read the comments left in it by a crash
+   */
+  private List<PendingComment> openJournal() {
+    List<PendingComment> recovered;
+    try {
+      journal = new CommentJournal(properties.getJournal(), objectMapper);
+      recovered = journal.recover();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read the comment journal", e);
+    }
+    lastSequence = journal.getLastAppended();
+    return recovered;
+  }
+
+  /**
+   * Save the comments recovered from the journal, before any comment queued since the start
+   */
+  private void saveRecovered(List<PendingComment> recovered) {
+    if (!recovered.isEmpty()) {
+      log.info("Saving {} comments recovered from the journal", recovered.size());
+    }
+    for (int from = 0; from < recovered.size(); from += properties.getBatchSize()) {
+      try {
+        save(recovered.subList(from,
+            Math.min(from + properties.getBatchSize(), recovered.size())));
+      } catch (RuntimeException e) {
+        int count = Math.min(properties.getBatchSize(), recovered.size() - from);
+        log.error("Failed to save {} recovered comments", count, e);
+        dropped.increment(count);
+      }
+    }
+  }
+
+  /**
+   * Writer loop: save whatever is queued, up to a batch at a time, until stopped and drained
+   */
+  private void drain() {
+    List<PendingComment> batch = new ArrayList<>(properties.getBatchSize());
+    while (running || !queue.isEmpty()) {
+      try {
+        PendingComment first = queue.poll(POLL_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, properties.getBatchSize() - 1);
+        save(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        log.error("Failed to save {} queued comments", batch.size(), e);
+        dropped.increment(batch.size());
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  /**
+   * Save a batch, waiting for the database while it is unavailable, and mark it in the journal
+   */
+  private void save(List<PendingComment> batch) {
+    List<CommentCreateRequest> requests = batch.stream()
+        .map(PendingComment::getRequest)
+        .collect(Collectors.toList());
+
+    while (true) {
+      Timer.Sample sample = Timer.start();
+      try {
+        int saved = saveAll(requests);
+        dropped.increment(requests.size() - saved);
+        break;
+      } catch (RuntimeException e) {
+        if (!isDatabaseUnavailable(e)) {
+          throw e;
+        }
+        log.warn("Database unavailable, retrying {} queued comments in {}", requests.size(),
+            RETRY_DELAY);
+        if (!running || !sleep(RETRY_DELAY)) {
+          // Left uncommitted in the journal (if any) and saved again on the next start
+          log.error("Stopped while the database was unavailable, {} queued comments were not "
+              + "saved", requests.size(), e);
+          return;
+        }
+      } finally {
+        sample.stop(flushTimer);
+      }
+    }
+
+    if (journal != null) {
+      try {
+        journal.commit(batch.get(batch.size() - 1).getSequence());
+      } catch (IOException e) {
+        log.warn("Failed to mark saved comments in the journal", e);
+      }
+    }
+  }
+
+  /**
+   * Save the comments in one transaction. If that fails, save them one by one, so one bad
+   * comment does not take the whole batch down.
+   *
+   * @return the number of comments saved
+   */
+  private int saveAll(List<CommentCreateRequest> requests) {
+    try {
+      return commentService.createComments(requests).size();
+    } catch (RuntimeException e) {
+      if (isDatabaseUnavailable(e)) {
+        throw e;
+      }
+      log.warn("Failed to save a batch of {} comments, saving them one by one", requests.size(),
+          e);
+    }
+
+    int saved = 0;
+    for (CommentCreateRequest request : requests) {
+      try {
+        saved += commentService.createComments(List.of(request)).size();
+      } catch (RuntimeException e) {
+        if (isDatabaseUnavailable(e)) {
+          throw e;
+        }
+        log.error("Dropping comment on post {} by user {}", request.getPostId(),
+            request.getAuthorId(), e);
+      }
+    }
+    return saved;
+  }
+
+  private static boolean isDatabaseUnavailable(RuntimeException e) {
+    return e instanceof TransientDataAccessException
+        || e instanceof DataAccessResourceFailureException
+        || e instanceof CannotCreateTransactionException;
+  }
+
+  /**
+   * @return false if the thread was interrupted
+   */
+  private static boolean sleep(Duration duration) {
+    try {
+      Thread.sleep(duration.toMillis());
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -0,0 +1,173 @@
+package kr.null0xff.blog.ingest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import kr.null0xff.blog.dto.CommentCreateRequest;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local append-only journal of the comments in the ingestion queue, one JSON line each. Every
+ * comment is appended before it is queued and every saved batch is marked as committed, so the
+ * comments that were accepted but not saved can be recovered after a crash. The file is truncated
+ * whenever everything in it is saved.
+ * <p>
+ * Lines are handed to the operating system without fsync: the journal survives a crash of the
+ * application, not of the machine. A crash between saving a batch and marking it saves that
+ * batch twice.
+ * <p>
+ * Callers may be virtual threads, so writes are guarded by a lock rather than a monitor.
+ */
+@Slf4j
+class CommentJournal implements Closeable {
+
+  private final Path file;
+  private final ObjectMapper objectMapper;
+  private final FileChannel channel;
+  private final ReentrantLock lock = new ReentrantLock();
+
+  // Sequence number of the last comment in the journal
+  private long lastAppended;
+
+  CommentJournal(Path file, ObjectMapper objectMapper) throws IOException {
+    this.file = file;
+    this.objectMapper = objectMapper;
+    if (file.getParent() != null) {
+      Files.createDirectories(file.getParent());
+    }
+    this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+  }
+
+  /**
+   * Read the comments that were appended but never committed, in the order they were accepted,
+   * and compact the journal down to them
+   */
+  List<PendingComment> recover() throws IOException {
+    lock.lock();
+    try {
+      return compact();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private List<PendingComment> compact() throws IOException {
+    List<PendingComment> appended = new ArrayList<>();
+    long committed = 0;
+
+    for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+      if (line.isBlank()) {
+        continue;
+      }
+
+      Entry entry;
+      try {
+        entry = objectMapper.readValue(line, Entry.class);
+      } catch (JsonProcessingException e) {
+        // A line torn by the crash; it was never acknowledged as accepted
+        log.warn("Skipping unreadable comment journal entry: {}", line);
+        continue;
+      }
+
+      if (entry.getCommitted() != null) {
+        committed = Math.max(committed, entry.getCommitted());
+      } else {
+        appended.add(new PendingComment(entry.getSequence(), entry.getComment()));
+        lastAppended = Math.max(lastAppended, entry.getSequence());
+      }
+    }
+
+    long lastCommitted = committed;
+    appended.removeIf(comment -> comment.getSequence() <= lastCommitted);
+
+    // Rewrite the journal with only the pending comments, dropping any torn line at its end
+    channel.truncate(0);
+    channel.position(0);
+    for (PendingComment comment : appended) {
+      write(new Entry(comment.getSequence(), comment.getRequest(), null));
+    }
+    return appended;
+  }
+
+  long getLastAppended() {
+    lock.lock();
+    try {
+      return lastAppended;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  void append(PendingComment comment) throws IOException {
+    lock.lock();
+    try {
+      write(new Entry(comment.getSequence(), comment.getRequest(), null));
+      lastAppended = comment.getSequence();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Mark all comments up to a sequence number as saved
+   */
+  void commit(long sequence) throws IOException {
+    lock.lock();
+    try {
+      if (sequence == lastAppended) {
+        channel.truncate(0);
+      } else {
+        write(new Entry(null, null, sequence));
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    lock.lock();
+    try {
+      channel.close();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void write(Entry entry) throws IOException {
+    byte[] line = (objectMapper.writeValueAsString(entry) + "\n")
+        .getBytes(StandardCharsets.UTF_8);
+    ByteBuffer buffer = ByteBuffer.wrap(line);
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  /**
+   * A journal line: either an accepted comment or a commit marker
+   */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  static class Entry {
+
+    private Long sequence;
+    private CommentCreateRequest comment;
+    private Long committed;
+  }
+}
@@ -0,0 +1,14 @@
+package kr.null0xff.blog.ingest;
+
+import kr.null0xff.blog.dto.CommentCreateRequest;
+import lombok.Value;
+
+/**
+ * A comment accepted into the ingestion queue, numbered in the order it was accepted
+ */
+@Value
+class PendingComment {
+
+  long sequence;
+  CommentCreateRequest request;
+}
@@ -0,0 +1,16 @@
+package kr.null0xff.blog.markdown;
+
+import java.util.List;
+
+/**
+ * What listings show about the content of a post, computed once when the post is saved
+ *
+ * @param wordCount      the number of words, code included
+ * @param readingMinutes the estimated reading time, at least one minute
+ * @param outline        the headings down to level 3, in document order
+ * @param excerpt        the plain text of the first paragraphs, cut at a word boundary
+ */
+public record PostDigest(int wordCount, int readingMinutes, List<PostHeading> outline,
+                         String excerpt) {
+
+}
@@ -0,0 +1,164 @@
+package kr.null0xff.blog.markdown;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.commonmark.ext.heading.anchor.IdGenerator;
+import org.commonmark.node.AbstractVisitor;
+import org.commonmark.node.Code;
+import org.commonmark.node.FencedCodeBlock;
+import org.commonmark.node.HardLineBreak;
+import org.commonmark.node.Heading;
+import org.commonmark.node.IndentedCodeBlock;
+import org.commonmark.node.Node;
+import org.commonmark.node.Paragraph;
+import org.commonmark.node.SoftLineBreak;
+import org.commonmark.node.Text;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes the {@link PostDigest} of post content in a single pass over its Markdown syntax tree.
+ * Heading anchors are generated the same way as the {@code id}s of {@link MarkdownRenderer}, so
+ * the outline links into the rendered HTML.
+ */
+@Component
+public class PostDigester {
+
+  static final int WORDS_PER_MINUTE = 200;
+
+  // Deeper headings are left out of the outline, and very long posts only list the first ones
+  static final int OUTLINE_MAX_LEVEL = 3;
+  static final int OUTLINE_MAX_HEADINGS = 50;
+
+  // Fits the excerpt column with room for the ellipsis
+  static final int EXCERPT_LENGTH = 280;
+
+  private final MarkdownRenderer renderer;
+
+  public PostDigester(MarkdownRenderer renderer) {
+    this.renderer = renderer;
+  }
+
+  public PostDigest digest(String markdown) {
+    DigestVisitor visitor = new DigestVisitor();
+    renderer.parse(markdown).accept(visitor);
+
+    int minutes = Math.max(1, (visitor.words + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE);
+    return new PostDigest(visitor.words, minutes, List.copyOf(visitor.outline),
+        excerpt(visitor.excerpt));
+  }
+
+  private static String excerpt(StringBuilder text) {
+    if (text.length() <= EXCERPT_LENGTH) {
+      return text.toString();
+    }
+
+    int end = EXCERPT_LENGTH;
+    while (end > 0 && !Character.isWhitespace(text.charAt(end))) {
+      end--;
+    }
+    // A single word longer than the excerpt is cut where it is
+    return text.substring(0, end > 0 ? end : EXCERPT_LENGTH).strip() + "…";
+  }
+
+  static int countWords(String text) {
+    int words = 0;
+    boolean inWord = false;
+    for (int i = 0; i < text.length(); ) {
+      int codePoint = text.codePointAt(i);
+      boolean wordChar = Character.isLetterOrDigit(codePoint);
+      if (wordChar && !inWord) {
+        words++;
+      }
+      inWord = wordChar || (inWord && !Character.isWhitespace(codePoint));
+      i += Character.charCount(codePoint);
+    }
+    return words;
+  }
+
+  private static final class DigestVisitor extends AbstractVisitor {
+
+    // Generates the same IDs as the heading anchor extension, as long as it sees every heading
+    private final IdGenerator ids = IdGenerator.builder().build();
+    private final List<PostHeading> outline = new ArrayList<>();
+    private final StringBuilder excerpt = new StringBuilder();
+    private int words;
+
+    @Override
+    public void visit(Heading heading) {
+      String text = plainText(heading, false).strip();
+      // Normalized as the extension does before generating the ID
+      String anchor = ids.generateId(text.toLowerCase());
+      if (heading.getLevel() <= OUTLINE_MAX_LEVEL && outline.size() < OUTLINE_MAX_HEADINGS) {
+        outline.add(new PostHeading(heading.getLevel(), text, anchor));
+      }
+      visitChildren(heading);
+    }
+
+    @Override
+    public void visit(Paragraph paragraph) {
+      if (excerpt.length() <= EXCERPT_LENGTH) {
+        String text = plainText(paragraph, true).strip();
+        if (!text.isEmpty()) {
+          if (!excerpt.isEmpty()) {
+            excerpt.append(' ');
+          }
+          excerpt.append(text);
+        }
+      }
+      visitChildren(paragraph);
+    }
+
+    @Override
+    public void visit(Text text) {
+      words += countWords(text.getLiteral());
+    }
+
+    @Override
+    public void visit(Code code) {
+      words += countWords(code.getLiteral());
+    }
+
+    @Override
+    public void visit(FencedCodeBlock codeBlock) {
+      words += countWords(codeBlock.getLiteral());
+    }
+
+    @Override
+    public void visit(IndentedCodeBlock codeBlock) {
+      words += countWords(codeBlock.getLiteral());
+    }
+  }
+
+  /**
+   * The text and inline code below a node, like the heading anchor extension collects it
+   */
+  private static String plainText(Node node, boolean lineBreaks) {
+    StringBuilder text = new StringBuilder();
+    node.accept(new AbstractVisitor() {
+      @Override
+      public void visit(Text literal) {
+        text.append(literal.getLiteral());
+      }
+
+      @Override
+      public void visit(Code code) {
+        text.append(code.getLiteral());
+      }
+
+      @Override
+      public void visit(SoftLineBreak lineBreak) {
+        if (lineBreaks) {
+          text.append(' ');
+        }
+      }
+
+      @Override
+      public void visit(HardLineBreak lineBreak) {
+        if (lineBreaks) {
+          text.append(' ');
+        }
+      }
+    });
+    return text.toString();
+  }
+}
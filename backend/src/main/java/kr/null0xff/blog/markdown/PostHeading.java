@@ -0,0 +1,12 @@
+package kr.null0xff.blog.markdown;
+
+/**
+ * A heading of a post, as listed in its table of contents
+ *
+ * @param level  the heading level, 1 to 3
+ * @param text   the plain text of the heading
+ * @param anchor the {@code id} of the heading in the rendered HTML
+ */
+public record PostHeading(int level, String text, String anchor) {
+
+}
@@ -0,0 +1,83 @@
+package kr.null0xff.blog.markdown;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import kr.null0xff.blog.config.RenderedHtmlCacheProperties;
+import kr.null0xff.blog.event.PostChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Content-addressed store of post content rendered to HTML, keyed by the SHA-256 of the Markdown.
+ * A given Markdown text is rendered once no matter how often it is viewed, and entries never go
+ * stale: changed content has a different hash, and the old entry is evicted once it falls out of
+ * use. Posts that share content, such as a copy of a draft, share one entry.
+ * <p>
+ * Created and updated posts are rendered in the background as soon as the change commits, so the
+ * first view finds them ready. Hit, miss and eviction counts are published as {@code cache.*}
+ * metrics with {@code cache=posts.html}.
+ */
+@Component
+@Slf4j
+public class RenderedHtmlStore {
+
+  public static final String NAME = "posts.html";
+
+  private final MarkdownRenderer renderer;
+  private final Cache<String, String> cache;
+
+  public RenderedHtmlStore(MarkdownRenderer renderer, RenderedHtmlCacheProperties properties,
+      MeterRegistry meterRegistry) {
+    this.renderer = renderer;
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(properties.getMaximumSize().toBytes())
+        // Strings are at most two bytes per char
+        .weigher((String hash, String html) -> hash.length() * 2 + html.length() * 2)
+        .recordStats()
+        .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+  }
+
+  /**
+   * The content hash that keys the rendered HTML, usable as a strong ETag of it
+   */
+  public static String hash(String markdown) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(
+          digest.digest((markdown != null ? markdown : "").getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * The HTML of the given Markdown, rendered now if it is not in the store
+   */
+  public String html(String markdown) {
+    return cache.get(hash(markdown), hash -> renderer.render(markdown));
+  }
+
+  /**
+   * Render the content of created and updated posts once their transaction commits
+   */
+  @Async
+  @TransactionalEventListener
+  public void onPostChanged(PostChangedEvent event) {
+    if (event.getType() != PostChangedEvent.Type.CREATED
+        && event.getType() != PostChangedEvent.Type.UPDATED) {
+      return;
+    }
+    html(event.getAfter().getContent());
+    log.debug("Rendered the content of post {}", event.getPostId());
+  }
+}
@@ -0,0 +1,48 @@
+package kr.null0xff.blog.metrics;
+
+/**
+ * Running totals of the JDBC statements prepared and executed by the current thread, fed by
+ * {@link DatabaseActivityListener}. The totals only ever grow; callers take a {@link Snapshot}
+ * before a unit of work and subtract it afterwards, so nested measurements need no bookkeeping.
+ */
+public final class DatabaseActivity {
+
+  private static final ThreadLocal<DatabaseActivity> CURRENT =
+      ThreadLocal.withInitial(DatabaseActivity::new);
+
+  private long statements;
+  private long nanos;
+
+  private DatabaseActivity() {
+  }
+
+  /**
+   * The totals of the current thread so far
+   */
+  public static Snapshot snapshot() {
+    DatabaseActivity activity = CURRENT.get();
+    return new Snapshot(activity.statements, activity.nanos);
+  }
+
+  static void statementPrepared() {
+    CURRENT.get().statements++;
+  }
+
+  static void executed(long nanos) {
+    CURRENT.get().nanos += nanos;
+  }
+
+  /**
+   * @param statements the number of statements prepared
+   * @param nanos      the time spent executing statements and batches
+   */
+  public record Snapshot(long statements, long nanos) {
+
+    /**
+     * The activity between an earlier snapshot and this one
+     */
+    public Snapshot since(Snapshot earlier) {
+      return new Snapshot(statements - earlier.statements, nanos - earlier.nanos);
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package kr.null0xff.blog.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Counts the statements of a Hibernate session and times their execution, from the same session
+ * events Hibernate derives its own statistics from. The global {@link org.hibernate.stat.Statistics}
+ * cannot tell requests apart, so the counts go to the {@link DatabaseActivity} of the thread
+ * using the session instead.
+ * <p>
+ * Hibernate creates one instance per session, and a session is only used by one thread at a
+ * time.
+ */
+public class DatabaseActivityListener implements SessionEventListener {
+
+  private long executeStart;
+
+  @Override
+  public void jdbcPrepareStatementEnd() {
+    DatabaseActivity.statementPrepared();
+  }
+
+  @Override
+  public void jdbcExecuteStatementStart() {
+    executeStart = System.nanoTime();
+  }
+
+  @Override
+  public void jdbcExecuteStatementEnd() {
+    DatabaseActivity.executed(System.nanoTime() - executeStart);
+  }
+
+  @Override
+  public void jdbcExecuteBatchStart() {
+    executeStart = System.nanoTime();
+  }
+
+  @Override
+  public void jdbcExecuteBatchEnd() {
+    DatabaseActivity.executed(System.nanoTime() - executeStart);
+  }
+}
@@ -0,0 +1,56 @@
+package kr.null0xff.blog.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Measures the statements and database time of each request, from the handler being chosen until
+ * the response is written. Publishes the statements per request as {@code blog.http.statements},
+ * tagged with {@code method} and {@code uri} like {@code http.server.requests}, and adds every
+ * request to the {@link HotPaths}.
+ */
+@Component
+@RequiredArgsConstructor
+public class HotPathInterceptor implements HandlerInterceptor {
+
+  private static final String START = HotPathInterceptor.class.getName() + ".start";
+  private static final String ACTIVITY = HotPathInterceptor.class.getName() + ".activity";
+
+  private final HotPaths hotPaths;
+  private final MeterRegistry meterRegistry;
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+      Object handler) {
+    request.setAttribute(START, System.nanoTime());
+    request.setAttribute(ACTIVITY, DatabaseActivity.snapshot());
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+      Object handler, Exception ex) {
+    if (!(request.getAttribute(START) instanceof Long start)
+        || !(request.getAttribute(ACTIVITY) instanceof DatabaseActivity.Snapshot before)) {
+      return;
+    }
+    long elapsed = System.nanoTime() - start;
+    DatabaseActivity.Snapshot activity = DatabaseActivity.snapshot().since(before);
+
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+    DistributionSummary.builder("blog.http.statements")
+        .description("Statements prepared per request")
+        .tags("method", request.getMethod(), "uri", uri)
+        .register(meterRegistry)
+        .record(activity.statements());
+    hotPaths.record(request.getMethod() + " " + uri, elapsed, activity);
+  }
+}
@@ -0,0 +1,79 @@
+package kr.null0xff.blog.metrics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import kr.null0xff.blog.util.TopK;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cumulative request and database time per endpoint since startup or the last reset, for finding
+ * the endpoints that cost the database the most in total
+ */
+@Component
+public class HotPaths {
+
+  private static final Comparator<HotPath> BY_DB_TIME =
+      Comparator.comparingDouble(HotPath::getDbMillis).reversed();
+
+  // "GET /api/posts/{id}" -> totals
+  private final Map<String, Totals> totals = new ConcurrentHashMap<>();
+
+  /**
+   * Add one completed request
+   *
+   * @param endpoint the HTTP method and the matched path pattern
+   * @param nanos    the time taken by the request
+   * @param activity the statements the request ran
+   */
+  public void record(String endpoint, long nanos, DatabaseActivity.Snapshot activity) {
+    Totals endpointTotals = totals.computeIfAbsent(endpoint, key -> new Totals());
+    endpointTotals.requests.increment();
+    endpointTotals.nanos.add(nanos);
+    endpointTotals.statements.add(activity.statements());
+    endpointTotals.dbNanos.add(activity.nanos());
+  }
+
+  /**
+   * The endpoints with the most cumulative database time, most first
+   */
+  public List<HotPath> top(int limit) {
+    TopK<HotPath> top = new TopK<>(limit, BY_DB_TIME);
+    totals.forEach((endpoint, endpointTotals) -> top.offer(endpointTotals.toHotPath(endpoint)));
+    return top.toList();
+  }
+
+  public void reset() {
+    totals.clear();
+  }
+
+  private static class Totals {
+
+    final LongAdder requests = new LongAdder();
+    final LongAdder nanos = new LongAdder();
+    final LongAdder statements = new LongAdder();
+    final LongAdder dbNanos = new LongAdder();
+
+    HotPath toHotPath(String endpoint) {
+      long count = requests.sum();
+      long statementCount = statements.sum();
+      return new HotPath(endpoint, count, statementCount,
+          count > 0 ? (double) statementCount / count : 0,
+          dbNanos.sum() / 1e6, nanos.sum() / 1e6);
+    }
+  }
+
+  @Value
+  public static class HotPath {
+
+    String endpoint;
+    long requests;
+    long statements;
+    double statementsPerRequest;
+    double dbMillis;
+    double requestMillis;
+  }
+}
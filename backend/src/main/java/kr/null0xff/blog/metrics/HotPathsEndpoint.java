@@ -0,0 +1,33 @@
+package kr.null0xff.blog.metrics;
+
+import java.util.List;
+import kr.null0xff.blog.config.MetricsProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint ranking the endpoints by cumulative database time, mapped to
+ * {@code /actuator/blog-hotpaths}. A DELETE starts a new measurement.
+ */
+@Component
+@Endpoint(id = "blogHotpaths")
+@RequiredArgsConstructor
+public class HotPathsEndpoint {
+
+  private final HotPaths hotPaths;
+  private final MetricsProperties properties;
+
+  @ReadOperation
+  public List<HotPaths.HotPath> hotPaths(@Nullable Integer limit) {
+    return hotPaths.top(limit != null ? limit : properties.getHotPathsLimit());
+  }
+
+  @DeleteOperation
+  public void reset() {
+    hotPaths.reset();
+  }
+}
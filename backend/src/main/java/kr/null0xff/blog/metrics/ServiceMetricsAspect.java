@@ -0,0 +1,84 @@
+package kr.null0xff.blog.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the services and counts the statements it runs, including the
+ * commit of its transaction. Publishes, tagged with {@code class} and {@code method}:
+ * <ul>
+ *   <li>{@code blog.service.method}: call durations, with a percentile histogram</li>
+ *   <li>{@code blog.service.db.time}: time spent executing statements per call</li>
+ *   <li>{@code blog.service.statements}: statements prepared per call</li>
+ * </ul>
+ * Calls from one service method to another of the same service bypass the proxy and are only
+ * counted as part of the outer call.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+  private final MeterRegistry meterRegistry;
+
+  // Meters of each service method, registered on its first call
+  private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+  @Around("within(kr.null0xff.blog.service..*) "
+      + "&& @within(org.springframework.stereotype.Service) "
+      + "&& execution(public * *(..))")
+  public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+    Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    DatabaseActivity.Snapshot before = DatabaseActivity.snapshot();
+    long start = System.nanoTime();
+    try {
+      return joinPoint.proceed();
+    } finally {
+      long elapsed = System.nanoTime() - start;
+      DatabaseActivity.Snapshot activity = DatabaseActivity.snapshot().since(before);
+
+      Meters methodMeters = meters.computeIfAbsent(method, this::register);
+      methodMeters.duration.record(elapsed, TimeUnit.NANOSECONDS);
+      methodMeters.dbTime.record(activity.nanos(), TimeUnit.NANOSECONDS);
+      methodMeters.statements.record(activity.statements());
+    }
+  }
+
+  private Meters register(Method method) {
+    String className = method.getDeclaringClass().getSimpleName();
+    String methodName = method.getName();
+
+    return new Meters(
+        Timer.builder("blog.service.method")
+            .description("Duration of service method calls")
+            .tags("class", className, "method", methodName)
+            .publishPercentileHistogram()
+            .register(meterRegistry),
+        Timer.builder("blog.service.db.time")
+            .description("Time service method calls spend executing statements")
+            .tags("class", className, "method", methodName)
+            .register(meterRegistry),
+        DistributionSummary.builder("blog.service.statements")
+            .description("Statements prepared per service method call")
+            .tags("class", className, "method", methodName)
+            .register(meterRegistry));
+  }
+
+  private record Meters(Timer duration, Timer dbTime, DistributionSummary statements) {
+
+  }
+}
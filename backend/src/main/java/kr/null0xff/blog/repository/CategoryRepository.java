@@ -1,11 +1,14 @@
 package kr.null0xff.blog.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import kr.null0xff.blog.entity.Category;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -43,12 +46,23 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
    */
   boolean existsBySlug(String slug);
 
+  /**
+   * Find the slugs equal to a base slug or derived from it with a suffix, such as "base-2", in
+   * one prefix query
+   *
+   * @param base the base slug
+   * @return the matching slugs
+   */
+  @Query("SELECT c.slug FROM Category c "
+      + "WHERE c.slug = :base OR c.slug LIKE CONCAT(:base, '-%')")
+  List<String> findSlugsByBase(@Param("base") String base);
+
   /**
    * Get all categories with their post counts Useful for category sidebars and navigation
    *
    * @return a list of categories with post counts
    */
-  @Query("SELECT c, COUNT(p) FROM Category c LEFT JOIN c.posts p WHERE p.published = true GROUP BY c")
+  @Query("SELECT c, c.postCount FROM Category c WHERE c.postCount > 0")
   List<Object[]> findAllWithPostCount(Sort sort);
 
   /**
@@ -56,6 +70,27 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
    *
    * @return a list of non-empty categories
    */
-  @Query("SELECT DISTINCT c FROM Category c JOIN c.posts p WHERE p.published = true")
+  @Query("SELECT c FROM Category c WHERE c.postCount > 0")
   List<Category> findNonEmptyCategories(Sort sort);
+
+  /**
+   * Add a delta to the published-post counters of the given categories
+   *
+   * @param ids   the IDs of the categories
+   * @param delta the amount to add (negative to subtract)
+   * @return the number of categories updated
+   */
+  @Modifying
+  @Query("UPDATE Category c SET c.postCount = c.postCount + :delta WHERE c.id IN :ids")
+  int addToPostCount(@Param("ids") Collection<Long> ids, @Param("delta") long delta);
+
+  /**
+   * Recompute the published-post counters of all categories from the posts
+   *
+   * @return the number of categories updated
+   */
+  @Modifying
+  @Query("UPDATE Category c SET c.postCount = "
+      + "(SELECT COUNT(p) FROM Post p WHERE p.category = c AND p.published = true)")
+  int recountPosts();
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package kr.null0xff.blog.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * The post of an approved comment and when the comment last changed, which is when it was
+ * approved unless it was edited afterwards
+ */
+public interface CommentApproval {
+
+  Long getPostId();
+
+  LocalDateTime getUpdatedAt();
+}
@@ -1,20 +1,33 @@
 package kr.null0xff.blog.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import kr.null0xff.blog.entity.Comment;
 import kr.null0xff.blog.entity.Post;
 import kr.null0xff.blog.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long>,
     JpaSpecificationExecutor<Comment> {
 
+  /**
+   * Find the last update time and the number of all comments (approved or not) of a post
+   *
+   * @param postId the ID of the post
+   * @return the aggregate, with a null update time if the post has no comments
+   */
+  @Query("SELECT MAX(c.updatedAt) AS lastUpdatedAt, COUNT(c) AS count FROM Comment c "
+      + "WHERE c.post.id = ?1")
+  CommentsVersion findVersionByPostId(Long postId);
+
   /**
    * Find all approved comments for a specific post
    *
@@ -31,6 +44,7 @@ public interface CommentRepository extends JpaRepository<Comment, Long>,
    * @param pageable pagination information
    * @return a Page of top-level comments
    */
+  @EntityGraph(attributePaths = "author")
   Page<Comment> findByPostAndParentIsNullAndApprovedTrue(Post post, Pageable pageable);
 
   /**
@@ -108,4 +122,29 @@ public interface CommentRepository extends JpaRepository<Comment, Long>,
    */
   @Query("SELECT c FROM Comment c WHERE c.parent.id IN ?1 AND c.approved = true")
   List<Comment> findApprovedRepliesByParentIds(List<Long> parentIds);
-}
\ No newline at end of file
+
+  /**
+   * Find the approved replies of a post whose paths fall in a range, e.g. all replies below a
+   * page of top-level comments
+   *
+   * @param postId the ID of the post
+   * @param from   the lowest path, inclusive
+   * @param to     the highest path, exclusive
+   * @return the replies in the order they were written
+   */
+  @EntityGraph(attributePaths = "author")
+  @Query("SELECT c FROM Comment c WHERE c.post.id = :postId AND c.path >= :from "
+      + "AND c.path < :to AND c.approved = true ORDER BY c.createdAt, c.id")
+  List<Comment> findApprovedRepliesInPathRange(@Param("postId") Long postId,
+      @Param("from") String from, @Param("to") String to);
+
+  /**
+   * Find the approved comments that changed since a point in time
+   *
+   * @param since the earliest update time
+   * @return the post and update time of each comment
+   */
+  @Query("SELECT c.post.id AS postId, c.updatedAt AS updatedAt FROM Comment c "
+      + "WHERE c.approved = true AND c.updatedAt >= :since")
+  List<CommentApproval> findApprovalsSince(@Param("since") LocalDateTime since);
+}
@@ -0,0 +1,14 @@
+package kr.null0xff.blog.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate over the comments of a post that changes whenever one of them is added, edited,
+ * approved or removed
+ */
+public interface CommentsVersion {
+
+  LocalDateTime getLastUpdatedAt();
+
+  long getCount();
+}
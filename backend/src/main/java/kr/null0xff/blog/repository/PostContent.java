@@ -0,0 +1,11 @@
+package kr.null0xff.blog.repository;
+
+/**
+ * The content of a post, without the other columns
+ */
+public interface PostContent {
+
+  Long getId();
+
+  String getContent();
+}
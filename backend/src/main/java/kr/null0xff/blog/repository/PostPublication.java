@@ -0,0 +1,13 @@
+package kr.null0xff.blog.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * When a post was published
+ */
+public interface PostPublication {
+
+  Long getId();
+
+  LocalDateTime getPublishedAt();
+}
@@ -1,94 +1,122 @@
 package kr.null0xff.blog.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import kr.null0xff.blog.entity.Category;
 import kr.null0xff.blog.entity.Post;
-import kr.null0xff.blog.entity.Tag;
 import kr.null0xff.blog.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface PostRepository extends JpaRepository<Post, Long> {
+public interface PostRepository extends JpaRepository<Post, Long>,
+    JpaSpecificationExecutor<Post>, PostSummaryRepository {
 
   /**
-   * Find a post by its slug
+   * Find a post by its ID together with its author, category and tags
    *
-   * @param slug the slug to search for
+   * @param id the ID of the post
    * @return an Optional containing the post if found
    */
-  Optional<Post> findBySlug(String slug);
+  @EntityGraph(attributePaths = {"author", "category", "tags"})
+  Optional<Post> findDetailedById(Long id);
 
   /**
-   * Find all published posts
+   * Find posts by their IDs together with their authors and categories
    *
-   * @param pageable pagination information
-   * @return a Page of published posts
+   * @param ids the IDs of the posts
+   * @return the posts found, in no particular order
    */
-  Page<Post> findByPublishedTrue(Pageable pageable);
+  @EntityGraph(attributePaths = {"author", "category"})
+  List<Post> findByIdIn(Collection<Long> ids);
 
   /**
-   * Find all published posts by a specific author
+   * Find all posts (including drafts) together with their authors and categories
    *
-   * @param author   the author of the posts
    * @param pageable pagination information
-   * @return a Page of published posts by the author
+   * @return a Page of posts
    */
-  Page<Post> findByAuthorAndPublishedTrue(User author, Pageable pageable);
+  @Override
+  @EntityGraph(attributePaths = {"author", "category"})
+  Page<Post> findAll(Pageable pageable);
 
   /**
-   * Find all published posts in a specific category
+   * Initialize the tags of the given posts in a single query. The posts must be attached to the
+   * current persistence context; their tag collections are populated in place.
    *
-   * @param category the category to filter by
-   * @param pageable pagination information
-   * @return a Page of published posts in the category
+   * @param posts the posts to load tags for
+   * @return the same posts
    */
-  Page<Post> findByCategoryAndPublishedTrue(Category category, Pageable pageable);
+  @Query("SELECT DISTINCT p FROM Post p LEFT JOIN FETCH p.tags WHERE p IN :posts")
+  List<Post> fetchTags(@Param("posts") Collection<Post> posts);
 
   /**
-   * Find all published posts with a specific tag
+   * Find a post by its slug
    *
-   * @param tag      the tag to filter by
-   * @param pageable pagination information
-   * @return a Page of published posts with the tag
+   * @param slug the slug to search for
+   * @return an Optional containing the post with its author, category and tags if found
    */
-  Page<Post> findByTagsContainingAndPublishedTrue(Tag tag, Pageable pageable);
+  @EntityGraph(attributePaths = {"author", "category", "tags"})
+  Optional<Post> findBySlug(String slug);
 
   /**
-   * Search for published posts by title or content
+   * Find the version columns of a published post by its slug
    *
-   * @param query    the search query
-   * @param pageable pagination information
-   * @return a Page of matching published posts
+   * @param slug the slug to search for
+   * @return an Optional containing the ID and last update time of the post if found
    */
-  @Query("SELECT p FROM Post p WHERE p.published = true AND " +
-      "(LOWER(p.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-      "p.content LIKE CONCAT('%', :query, '%'))")
-  Page<Post> searchPublishedPosts(@Param("query") String query, Pageable pageable);
+  Optional<PostVersion> findVersionBySlugAndPublishedTrue(String slug);
 
   /**
-   * Find all published posts created after a specific date
+   * Find all published posts
    *
-   * @param date     the date to filter by
    * @param pageable pagination information
-   * @return a Page of published posts created after the date
+   * @return a Page of published posts
    */
-  Page<Post> findByPublishedTrueAndCreatedAtAfter(LocalDateTime date, Pageable pageable);
+  @EntityGraph(attributePaths = {"author", "category"})
+  Page<Post> findByPublishedTrue(Pageable pageable);
 
   /**
-   * Find recently published posts
+   * Stream the sitemap columns of the published posts in an ID range, in ID order. Must be called
+   * in a transaction and the stream closed after use.
    *
-   * @param pageable pagination information
-   * @return a List of the most recently published posts
+   * @param from the lowest ID, inclusive
+   * @param to   the highest ID, exclusive
+   * @return the published posts in the range
+   */
+  @Query("SELECT p.id AS id, p.slug AS slug, p.updatedAt AS updatedAt FROM Post p "
+      + "WHERE p.published = true AND p.id >= :from AND p.id < :to ORDER BY p.id")
+  Stream<PostSitemapEntry> streamSitemapEntries(@Param("from") Long from, @Param("to") Long to);
+
+  /**
+   * Find the lowest ID of a published post at or above an ID, to skip empty ID ranges
+   *
+   * @param from the lowest ID to consider
+   * @return the ID, or null if there is no published post from there on
+   */
+  @Query("SELECT MIN(p.id) FROM Post p WHERE p.published = true AND p.id >= :from")
+  Long findFirstPublishedIdFrom(@Param("from") Long from);
+
+  /**
+   * Find the last update of the published posts in an ID range
+   *
+   * @param from the lowest ID, inclusive
+   * @param to   the highest ID, exclusive
+   * @return the latest update time, or null if there is no published post in the range
    */
-  @Query("SELECT p FROM Post p WHERE p.published = true ORDER BY p.publishedAt DESC")
-  List<Post> findRecentPublishedPosts(Pageable pageable);
+  @Query("SELECT MAX(p.updatedAt) FROM Post p "
+      + "WHERE p.published = true AND p.id >= :from AND p.id < :to")
+  LocalDateTime findLastPublishedUpdateBetween(@Param("from") Long from, @Param("to") Long to);
 
   /**
    * Check if a slug is already used
@@ -98,6 +126,17 @@ public interface PostRepository extends JpaRepository<Post, Long> {
    */
   boolean existsBySlug(String slug);
 
+  /**
+   * Find the slugs equal to a base slug or derived from it with a suffix, such as "base-2", in
+   * one prefix query
+   *
+   * @param base the base slug
+   * @return the matching slugs
+   */
+  @Query("SELECT p.slug FROM Post p "
+      + "WHERE p.slug = :base OR p.slug LIKE CONCAT(:base, '-%')")
+  List<String> findSlugsByBase(@Param("base") String base);
+
   /**
    * Count the number of published posts by a specific author
    *
@@ -113,4 +152,57 @@ public interface PostRepository extends JpaRepository<Post, Long> {
    * @return the number of published posts in the category
    */
   long countByCategoryAndPublishedTrue(Category category);
-}
\ No newline at end of file
+
+  /**
+   * Find the content of posts whose digest columns were never filled in, in ID order
+   *
+   * @param pageable the number of posts to return
+   * @return the posts without a digest
+   */
+  @Query("SELECT p.id AS id, p.content AS content FROM Post p WHERE p.excerpt IS NULL "
+      + "ORDER BY p.id")
+  List<PostContent> findContentWithoutDigest(Pageable pageable);
+
+  /**
+   * Fill in the digest columns of a post. A native update, so the update timestamp and with it
+   * the validators of the post stay as they were.
+   *
+   * @param id             the ID of the post
+   * @param wordCount      the number of words of the content
+   * @param readingMinutes the estimated reading time
+   * @param excerpt        the plain-text excerpt
+   * @param outline        the heading outline as JSON
+   * @return the number of posts updated
+   */
+  @Modifying
+  @Query(value = "UPDATE posts SET word_count = :wordCount, reading_minutes = :readingMinutes, "
+      + "excerpt = :excerpt, outline = :outline WHERE id = :id", nativeQuery = true)
+  int updateDigest(@Param("id") Long id, @Param("wordCount") int wordCount,
+      @Param("readingMinutes") int readingMinutes, @Param("excerpt") String excerpt,
+      @Param("outline") String outline);
+
+  /**
+   * Find the stored view counts of all published posts
+   *
+   * @return the ID and view count of every published post
+   */
+  @Query("SELECT p.id AS id, p.viewCount AS viewCount FROM Post p WHERE p.published = true")
+  List<PostViewTotal> findPublishedViewTotals();
+
+  /**
+   * Find the stored view count of a post
+   *
+   * @param id the ID of the post
+   * @return the view count, or empty if there is no such post
+   */
+  @Query("SELECT p.viewCount FROM Post p WHERE p.id = :id")
+  Optional<Long> findViewCountById(@Param("id") Long id);
+
+  /**
+   * Find when each published post was published
+   *
+   * @return the ID and publish date of every published post
+   */
+  @Query("SELECT p.id AS id, p.publishedAt AS publishedAt FROM Post p WHERE p.published = true")
+  List<PostPublication> findPublications();
+}
@@ -0,0 +1,15 @@
+package kr.null0xff.blog.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a post listed in the sitemap
+ */
+public interface PostSitemapEntry {
+
+  Long getId();
+
+  String getSlug();
+
+  LocalDateTime getUpdatedAt();
+}
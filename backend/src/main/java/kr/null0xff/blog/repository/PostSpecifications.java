@@ -0,0 +1,68 @@
+package kr.null0xff.blog.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import kr.null0xff.blog.entity.Category;
+import kr.null0xff.blog.entity.Post;
+import kr.null0xff.blog.entity.Tag;
+import kr.null0xff.blog.entity.User;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Reusable query predicates for {@link Post} entities, combined with
+ * {@link PostRepository#findBy(Specification, java.util.function.Function)} for cursor-based
+ * listings and with {@link PostSummaryRepository} for summary listings
+ */
+public final class PostSpecifications {
+
+  private PostSpecifications() {
+  }
+
+  /**
+   * Only published posts
+   */
+  public static Specification<Post> isPublished() {
+    return (root, query, cb) -> cb.isTrue(root.get("published"));
+  }
+
+  /**
+   * Posts with one of the given IDs
+   */
+  public static Specification<Post> idIn(Collection<Long> ids) {
+    return (root, query, cb) -> root.get("id").in(ids);
+  }
+
+  /**
+   * Posts in the given category
+   */
+  public static Specification<Post> inCategory(Category category) {
+    return (root, query, cb) -> cb.equal(root.get("category"), category);
+  }
+
+  /**
+   * Posts tagged with the given tag
+   */
+  public static Specification<Post> hasTag(Tag tag) {
+    return (root, query, cb) -> cb.equal(root.join("tags"), tag);
+  }
+
+  /**
+   * Posts written by the given author
+   */
+  public static Specification<Post> byAuthor(User author) {
+    return (root, query, cb) -> cb.equal(root.get("author"), author);
+  }
+
+  /**
+   * Posts that come strictly after the given position in {@code publishedAt DESC, id DESC} order.
+   * This is the seek predicate used instead of an OFFSET, so every page costs the same as the
+   * first one.
+   */
+  public static Specification<Post> publishedBefore(LocalDateTime publishedAt, Long id) {
+    return (root, query, cb) -> cb.or(
+        cb.lessThan(root.get("publishedAt"), publishedAt),
+        cb.and(
+            cb.equal(root.get("publishedAt"), publishedAt),
+            cb.lessThan(root.get("id"), id)));
+  }
+}
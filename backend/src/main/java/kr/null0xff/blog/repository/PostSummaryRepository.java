@@ -0,0 +1,35 @@
+package kr.null0xff.blog.repository;
+
+import java.util.List;
+import kr.null0xff.blog.entity.Post;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Listing queries that select post summaries instead of entities. Each call costs a constant
+ * number of statements: the page itself, one query for the tags of the page and, for
+ * {@link Page} results, a count when it cannot be derived from the page.
+ */
+public interface PostSummaryRepository {
+
+  /**
+   * Find a page of post summaries matching the specification
+   *
+   * @param spec     the filter to apply, or null for all posts
+   * @param pageable pagination and sorting information
+   * @return a Page of post summaries with their tags
+   */
+  Page<PostSummaryView> findSummaries(Specification<Post> spec, Pageable pageable);
+
+  /**
+   * Find the first post summaries matching the specification
+   *
+   * @param spec  the filter to apply, or null for all posts
+   * @param sort  the order of the results
+   * @param limit the maximum number of results
+   * @return a List of post summaries with their tags
+   */
+  List<PostSummaryView> findSummaries(Specification<Post> spec, Sort sort, int limit);
+}
@@ -0,0 +1,119 @@
+package kr.null0xff.blog.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import kr.null0xff.blog.entity.Category;
+import kr.null0xff.blog.entity.Post;
+import kr.null0xff.blog.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * Criteria implementation of {@link PostSummaryRepository}, picked up by Spring Data as a
+ * fragment of {@link PostRepository}
+ */
+class PostSummaryRepositoryImpl implements PostSummaryRepository {
+
+  private static final String TAGS_QUERY =
+      "SELECT new kr.null0xff.blog.repository.PostTagView(p.id, t.id, t.name, t.slug) "
+          + "FROM Post p JOIN p.tags t WHERE p.id IN :postIds ORDER BY t.name";
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public Page<PostSummaryView> findSummaries(Specification<Post> spec, Pageable pageable) {
+    TypedQuery<PostSummaryView> query = summaryQuery(spec, pageable.getSort());
+    if (pageable.isPaged()) {
+      query.setFirstResult((int) pageable.getOffset());
+      query.setMaxResults(pageable.getPageSize());
+    }
+
+    return PageableExecutionUtils.getPage(withTags(query.getResultList()), pageable,
+        () -> count(spec));
+  }
+
+  @Override
+  public List<PostSummaryView> findSummaries(Specification<Post> spec, Sort sort, int limit) {
+    return withTags(summaryQuery(spec, sort).setMaxResults(limit).getResultList());
+  }
+
+  private TypedQuery<PostSummaryView> summaryQuery(Specification<Post> spec, Sort sort) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<PostSummaryView> query = cb.createQuery(PostSummaryView.class);
+    Root<Post> post = query.from(Post.class);
+    Join<Post, User> author = post.join("author");
+    Join<Post, Category> category = post.join("category", JoinType.LEFT);
+
+    query.select(cb.construct(PostSummaryView.class,
+        post.get("id"), post.get("title"), post.get("slug"), post.get("description"),
+        post.get("imageUrl"), post.get("published"), post.get("createdAt"),
+        post.get("updatedAt"), post.get("publishedAt"),
+        post.get("wordCount"), post.get("readingMinutes"), post.get("excerpt"),
+        post.get("outline"),
+        author.get("id"), author.get("username"), author.get("avatarUrl"),
+        category.get("id"), category.get("name"), category.get("slug"), category.get("color")));
+    applySpecification(spec, post, query, cb);
+    query.orderBy(QueryUtils.toOrders(sort, post, cb));
+
+    return entityManager.createQuery(query);
+  }
+
+  private long count(Specification<Post> spec) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Long> query = cb.createQuery(Long.class);
+    Root<Post> post = query.from(Post.class);
+
+    query.select(cb.count(post));
+    applySpecification(spec, post, query, cb);
+
+    return entityManager.createQuery(query).getSingleResult();
+  }
+
+  private static void applySpecification(Specification<Post> spec, Root<Post> post,
+      CriteriaQuery<?> query, CriteriaBuilder cb) {
+    if (spec == null) {
+      return;
+    }
+    Predicate predicate = spec.toPredicate(post, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+  }
+
+  /**
+   * Attach the tags of all summaries with a single query
+   */
+  private List<PostSummaryView> withTags(List<PostSummaryView> summaries) {
+    if (summaries.isEmpty()) {
+      return summaries;
+    }
+
+    List<Long> postIds = summaries.stream()
+        .map(PostSummaryView::getId)
+        .collect(Collectors.toList());
+    Map<Long, List<PostTagView>> tagsByPostId = entityManager
+        .createQuery(TAGS_QUERY, PostTagView.class)
+        .setParameter("postIds", postIds)
+        .getResultStream()
+        .collect(Collectors.groupingBy(PostTagView::getPostId));
+
+    summaries.forEach(summary ->
+        summary.setTags(tagsByPostId.getOrDefault(summary.getId(), List.of())));
+    return summaries;
+  }
+}
@@ -0,0 +1,73 @@
+package kr.null0xff.blog.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import kr.null0xff.blog.markdown.PostHeading;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Read-only projection of a post for listings. It holds every column shown on a post card but
+ * not the content, so listing queries never read the TEXT column.
+ */
+@Getter
+public class PostSummaryView {
+
+  private final Long id;
+  private final String title;
+  private final String slug;
+  private final String description;
+  private final String imageUrl;
+  private final boolean published;
+  private final LocalDateTime createdAt;
+  private final LocalDateTime updatedAt;
+  private final LocalDateTime publishedAt;
+
+  private final int wordCount;
+  private final int readingMinutes;
+  private final String excerpt;
+  private final List<PostHeading> outline;
+
+  private final Long authorId;
+  private final String authorUsername;
+  private final String authorAvatarUrl;
+
+  private final Long categoryId;
+  private final String categoryName;
+  private final String categorySlug;
+  private final String categoryColor;
+
+  @Setter
+  private List<PostTagView> tags = new ArrayList<>();
+
+  /**
+   * Constructor used by the summary queries; the argument order matches their select clause
+   */
+  public PostSummaryView(Long id, String title, String slug, String description, String imageUrl,
+      boolean published, LocalDateTime createdAt, LocalDateTime updatedAt,
+      LocalDateTime publishedAt, int wordCount, int readingMinutes, String excerpt,
+      List<PostHeading> outline, Long authorId, String authorUsername, String authorAvatarUrl,
+      Long categoryId, String categoryName, String categorySlug, String categoryColor) {
+    this.id = id;
+    this.title = title;
+    this.slug = slug;
+    this.description = description;
+    this.imageUrl = imageUrl;
+    this.published = published;
+    this.createdAt = createdAt;
+    this.updatedAt = updatedAt;
+    this.publishedAt = publishedAt;
+    this.wordCount = wordCount;
+    this.readingMinutes = readingMinutes;
+    this.excerpt = excerpt;
+    this.outline = outline != null ? outline : List.of();
+    this.authorId = authorId;
+    this.authorUsername = authorUsername;
+    this.authorAvatarUrl = authorAvatarUrl;
+    this.categoryId = categoryId;
+    this.categoryName = categoryName;
+    this.categorySlug = categorySlug;
+    this.categoryColor = categoryColor;
+  }
+}
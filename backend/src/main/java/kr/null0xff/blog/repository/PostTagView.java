@@ -0,0 +1,15 @@
+package kr.null0xff.blog.repository;
+
+import lombok.Value;
+
+/**
+ * A tag of a post, loaded for a whole page of {@link PostSummaryView}s in one query
+ */
+@Value
+public class PostTagView {
+
+  Long postId;
+  Long id;
+  String name;
+  String slug;
+}
@@ -0,0 +1,13 @@
+package kr.null0xff.blog.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns needed to tell whether a post has changed, without loading the post
+ */
+public interface PostVersion {
+
+  Long getId();
+
+  LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,11 @@
+package kr.null0xff.blog.repository;
+
+/**
+ * The stored view count of a post
+ */
+public interface PostViewTotal {
+
+  Long getId();
+
+  long getViewCount();
+}
@@ -1,11 +1,17 @@
 package kr.null0xff.blog.repository;
 
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import kr.null0xff.blog.entity.Tag;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -19,6 +25,25 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
    */
   Optional<Tag> findByName(String name);
 
+  /**
+   * Find the tags with any of the given names
+   *
+   * @param names the names to search for
+   * @return the tags found, in no particular order
+   */
+  List<Tag> findByNameIn(Collection<String> names);
+
+  /**
+   * Find the tags with any of the given names with a locking read, which also sees tags committed
+   * by other transactions after this one took its snapshot
+   *
+   * @param names the names to search for
+   * @return the tags found, in no particular order
+   */
+  @Lock(LockModeType.PESSIMISTIC_READ)
+  @Query("SELECT t FROM Tag t WHERE t.name IN :names")
+  List<Tag> lockByNameIn(@Param("names") Collection<String> names);
+
   /**
    * Find a tag by its slug
    *
@@ -43,6 +68,26 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
    */
   boolean existsBySlug(String slug);
 
+  /**
+   * Find the slugs equal to a base slug or derived from it with a suffix, such as "base-2", in
+   * one prefix query
+   *
+   * @param base the base slug
+   * @return the matching slugs
+   */
+  @Query("SELECT t.slug FROM Tag t "
+      + "WHERE t.slug = :base OR t.slug LIKE CONCAT(:base, '-%')")
+  List<String> findSlugsByBase(@Param("base") String base);
+
+  /**
+   * Find which of the given slugs are already in use
+   *
+   * @param slugs the slugs to check
+   * @return the slugs in use
+   */
+  @Query("SELECT t.slug FROM Tag t WHERE t.slug IN :slugs")
+  List<String> findSlugsIn(@Param("slugs") Collection<String> slugs);
+
   /**
    * Find tags that contain a specific string in their name Useful for tag autocompletion
    *
@@ -56,23 +101,45 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
    *
    * @return a list of tags with post counts
    */
-  @Query("SELECT t, COUNT(p) FROM Tag t JOIN t.posts p WHERE p.published = true GROUP BY t")
+  @Query("SELECT t, t.postCount FROM Tag t WHERE t.postCount > 0")
   List<Object[]> findAllWithPostCount(Sort sort);
 
   /**
    * Find popular tags (tags with many posts)
    *
-   * @param limit the maximum number of tags to return
-   * @return a list of popular tags with post counts
+   * @param pageable the number of tags to return (the sort is fixed by the query)
+   * @return a list of popular tags with post counts, most used first
    */
-  @Query("SELECT t, COUNT(p) FROM Tag t JOIN t.posts p WHERE p.published = true GROUP BY t ORDER BY COUNT(p) DESC")
-  List<Object[]> findPopularTags(int limit);
+  @Query("SELECT t, t.postCount FROM Tag t WHERE t.postCount > 0 "
+      + "ORDER BY t.postCount DESC, t.name ASC")
+  List<Object[]> findPopularTags(Pageable pageable);
 
   /**
    * Find tags that have at least one published post
    *
    * @return a list of non-empty tags
    */
-  @Query("SELECT DISTINCT t FROM Tag t JOIN t.posts p WHERE p.published = true")
+  @Query("SELECT t FROM Tag t WHERE t.postCount > 0")
   List<Tag> findNonEmptyTags(Sort sort);
+
+  /**
+   * Add a delta to the published-post counters of the given tags
+   *
+   * @param ids   the IDs of the tags
+   * @param delta the amount to add (negative to subtract)
+   * @return the number of tags updated
+   */
+  @Modifying
+  @Query("UPDATE Tag t SET t.postCount = t.postCount + :delta WHERE t.id IN :ids")
+  int addToPostCount(@Param("ids") Collection<Long> ids, @Param("delta") long delta);
+
+  /**
+   * Recompute the published-post counters of all tags from the posts
+   *
+   * @return the number of tags updated
+   */
+  @Modifying
+  @Query("UPDATE Tag t SET t.postCount = "
+      + "(SELECT COUNT(p) FROM Post p JOIN p.tags pt WHERE pt = t AND p.published = true)")
+  int recountPosts();
 }
\ No newline at end of file
@@ -0,0 +1,164 @@
+package kr.null0xff.blog.schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import kr.null0xff.blog.config.QueryPlanProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs {@code EXPLAIN} on the hot repository queries at startup and fails if one of them has to
+ * scan a whole table, e.g. because a migration dropped or never created its index.
+ * <p>
+ * The optimizer is free to prefer a scan over a usable index on small tables, so only queries for
+ * which no index applies at all count as full scans. A scan chosen despite a usable index is
+ * logged as a warning.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class QueryPlanVerifier {
+
+  // PostSummaryRepositoryImpl.summaryQuery: every post listing joins the author and the category
+  private static final String SUMMARIES =
+      "SELECT p.id, p.title, p.slug, p.published_at, a.username, c.name FROM posts p "
+          + "JOIN users a ON a.id = p.author_id "
+          + "LEFT JOIN categories c ON c.id = p.category_id ";
+
+  // The cursor listings order newest first and continue after the last post of the slice
+  private static final String NEWEST_FIRST = " ORDER BY p.published_at DESC, p.id DESC LIMIT 21";
+  private static final String AFTER_CURSOR = " AND (p.published_at < '2025-01-01 00:00:00' "
+      + "OR (p.published_at = '2025-01-01 00:00:00' AND p.id < 100))";
+
+  // Native equivalents of the SQL Hibernate generates for the hot repository queries
+  static final List<HotQuery> HOT_QUERIES = List.of(
+      new HotQuery("PostSummaryRepository.findSummaries (published, newest first)",
+          SUMMARIES + "WHERE p.published = TRUE" + NEWEST_FIRST),
+      new HotQuery("PostSummaryRepository.findSummaries (published, after cursor)",
+          SUMMARIES + "WHERE p.published = TRUE" + AFTER_CURSOR + NEWEST_FIRST),
+      new HotQuery("PostSummaryRepository.findSummaries (by author, after cursor)",
+          SUMMARIES + "WHERE p.published = TRUE AND p.author_id = 1" + AFTER_CURSOR
+              + NEWEST_FIRST),
+      new HotQuery("PostSummaryRepository.findSummaries (by category, after cursor)",
+          SUMMARIES + "WHERE p.published = TRUE AND p.category_id = 1" + AFTER_CURSOR
+              + NEWEST_FIRST),
+      new HotQuery("PostSummaryRepository.findSummaries (by tag, after cursor)",
+          SUMMARIES + "JOIN post_tags pt ON pt.post_id = p.id "
+              + "WHERE p.published = TRUE AND pt.tag_id = 1" + AFTER_CURSOR + NEWEST_FIRST),
+      new HotQuery("PostRepository.findBySlug",
+          "SELECT * FROM posts WHERE slug = 'slug'"),
+      new HotQuery("CommentRepository.findByPostAndApprovedTrue",
+          "SELECT * FROM comments WHERE post_id = 1 AND approved = TRUE "
+              + "ORDER BY created_at LIMIT 20"),
+      new HotQuery("CommentRepository.findByPostAndParentIsNullAndApprovedTrue",
+          "SELECT * FROM comments WHERE post_id = 1 AND parent_id IS NULL AND approved = TRUE "
+              + "ORDER BY created_at LIMIT 20"),
+      new HotQuery("CommentRepository.findApprovedRepliesInPathRange",
+          "SELECT * FROM comments WHERE post_id = 1 AND path >= '00000001/' "
+              + "AND path < '00000020' AND approved = TRUE ORDER BY created_at, id"),
+      new HotQuery("CommentRepository.findApprovedRepliesByParentIds",
+          "SELECT * FROM comments WHERE parent_id IN (1, 2) AND approved = TRUE"),
+      new HotQuery("CommentRepository.findByApprovedFalse",
+          "SELECT * FROM comments WHERE approved = FALSE ORDER BY created_at DESC LIMIT 20"),
+      new HotQuery("CommentRepository.findByAuthor",
+          "SELECT * FROM comments WHERE author_id = 1 ORDER BY created_at DESC LIMIT 20"),
+      new HotQuery("TagRepository.findBySlug",
+          "SELECT * FROM tags WHERE slug = 'slug'"),
+      new HotQuery("CategoryRepository.findBySlug",
+          "SELECT * FROM categories WHERE slug = 'slug'"));
+
+  // Table access in an H2 plan, e.g. /* PUBLIC.IDX_POSTS_SLUG: SLUG = 'slug' */ or
+  // /* PUBLIC.POSTS.tableScan */. An index without a condition is read from end to end.
+  private static final Pattern H2_TABLE_ACCESS =
+      Pattern.compile("/\\* (PUBLIC\\.[A-Za-z0-9_.]+)(: [^*]+)? \\*/");
+
+  private final JdbcTemplate jdbcTemplate;
+  private final QueryPlanProperties properties;
+
+  /**
+   * Check the plans of the hot queries before the application reports itself ready
+   *
+   * @throws IllegalStateException if a hot query scans a whole table and failing is enabled
+   */
+  @EventListener(ApplicationStartedEvent.class)
+  public void verify() {
+    if (!properties.isVerify()) {
+      return;
+    }
+
+    String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+        connection.getMetaData().getDatabaseProductName());
+
+    List<String> fullScans = new ArrayList<>();
+    for (HotQuery query : HOT_QUERIES) {
+      String scan = switch (database) {
+        case "H2" -> findH2FullScan(query.getSql());
+        case "MariaDB", "MySQL" -> findMariaDbFullScan(query);
+        default -> null;
+      };
+      if (scan != null) {
+        fullScans.add(query.getName() + " scans " + scan);
+      }
+    }
+
+    if (fullScans.isEmpty()) {
+      log.info("Verified the plans of {} hot queries on {}", HOT_QUERIES.size(), database);
+    } else if (properties.isFailOnFullScan()) {
+      throw new IllegalStateException("Hot queries without a usable index: " + fullScans);
+    } else {
+      fullScans.forEach(scan -> log.warn("Hot query without a usable index: {}", scan));
+    }
+  }
+
+  /**
+   * @return the table or index read from end to end, or null if every access uses an index
+   * condition
+   */
+  private String findH2FullScan(String sql) {
+    String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    Matcher access = H2_TABLE_ACCESS.matcher(plan);
+    while (access.find()) {
+      if (access.group(2) == null) {
+        return access.group(1);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return the table scanned without any applicable index, or null if there is none
+   */
+  private String findMariaDbFullScan(HotQuery query) {
+    for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + query.getSql())) {
+      Object type = row.get("type");
+      if (!"ALL".equals(type) && !"index".equals(type)) {
+        continue;
+      }
+
+      Object table = row.get("table");
+      if (row.get("possible_keys") == null) {
+        return String.valueOf(table);
+      }
+      // Small tables are cheaper to scan; the index is there once they grow
+      log.warn("{} scans {} although {} could be used", query.getName(), table,
+          row.get("possible_keys"));
+    }
+    return null;
+  }
+
+  @Value
+  static class HotQuery {
+
+    String name;
+    String sql;
+  }
+}
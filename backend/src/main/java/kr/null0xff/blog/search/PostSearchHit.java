@@ -0,0 +1,16 @@
+package kr.null0xff.blog.search;
+
+import java.util.Set;
+import kr.null0xff.blog.entity.Post;
+import lombok.Value;
+
+/**
+ * A post returned by a full-text search, with its relevance score and the terms it matched
+ */
+@Value
+public class PostSearchHit {
+
+  Post post;
+  double score;
+  Set<String> matchedTerms;
+}
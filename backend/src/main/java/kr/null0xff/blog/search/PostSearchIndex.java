@@ -0,0 +1,333 @@
+package kr.null0xff.blog.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import kr.null0xff.blog.entity.Post;
+import kr.null0xff.blog.event.PostChangedEvent;
+import kr.null0xff.blog.event.PostSnapshot;
+import kr.null0xff.blog.repository.PostRepository;
+import kr.null0xff.blog.util.TopK;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-process inverted index over published posts. Posts are ranked with BM25 over the title,
+ * tags, category, description and content, and the last query term also matches as a prefix so
+ * the index can serve search-as-you-type requests.
+ * <p>
+ * The index is built once at startup and then kept up to date from {@link PostChangedEvent}s
+ * after each transaction commits. Query cost depends on the number of posts that match, not on
+ * the size of the corpus.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PostSearchIndex {
+
+  private static final SearchField[] FIELDS = SearchField.values();
+
+  // BM25 parameters
+  private static final double K1 = 1.2;
+  private static final double B = 0.75;
+
+  // Prefix expansions score a little lower than exact matches
+  private static final double PREFIX_WEIGHT = 0.8;
+  private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+  private static final int REBUILD_BATCH_SIZE = 500;
+
+  private final PostRepository postRepository;
+  private final PlatformTransactionManager transactionManager;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // term -> (post ID -> term frequency per field)
+  private final NavigableMap<String, Map<Long, int[]>> postings = new TreeMap<>();
+
+  // post ID -> number of terms per field
+  private final Map<Long, int[]> fieldLengths = new HashMap<>();
+
+  // post ID -> distinct terms of the post, needed to remove it again
+  private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+
+  private final long[] totalFieldLengths = new long[FIELDS.length];
+
+  /**
+   * Load every published post into the index once the application has started
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    log.info("Building post search index");
+
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setReadOnly(true);
+
+    int indexed = transactionTemplate.execute(status -> {
+      int count = 0;
+      Page<Post> page = postRepository.findByPublishedTrue(
+          PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")));
+      while (true) {
+        postRepository.fetchTags(page.getContent());
+        for (Post post : page) {
+          index(PostSnapshot.of(post));
+          count++;
+        }
+        if (!page.hasNext()) {
+          return count;
+        }
+        page = postRepository.findByPublishedTrue(page.nextPageable());
+      }
+    });
+
+    log.info("Post search index built with {} posts", indexed);
+  }
+
+  /**
+   * Keep the index in sync with committed post changes
+   */
+  @TransactionalEventListener
+  public void onPostChanged(PostChangedEvent event) {
+    if (event.isPublished()) {
+      index(event.getAfter());
+    } else {
+      remove(event.getPostId());
+    }
+  }
+
+  /**
+   * Add or replace a post in the index. Unpublished posts are removed instead.
+   */
+  public void index(PostSnapshot post) {
+    if (!post.isPublished()) {
+      remove(post.getId());
+      return;
+    }
+
+    Map<SearchField, List<String>> fieldTerms = new EnumMap<>(SearchField.class);
+    fieldTerms.put(SearchField.TITLE, TextAnalyzer.terms(post.getTitle()));
+    fieldTerms.put(SearchField.TAGS, TextAnalyzer.terms(String.join(" ", post.getTags().values())));
+    fieldTerms.put(SearchField.CATEGORY, TextAnalyzer.terms(post.getCategoryName()));
+    fieldTerms.put(SearchField.DESCRIPTION, TextAnalyzer.terms(post.getDescription()));
+    fieldTerms.put(SearchField.CONTENT, TextAnalyzer.terms(post.getContent()));
+
+    Map<String, int[]> frequencies = new HashMap<>();
+    int[] lengths = new int[FIELDS.length];
+    fieldTerms.forEach((field, terms) -> {
+      lengths[field.ordinal()] = terms.size();
+      for (String term : terms) {
+        frequencies.computeIfAbsent(term, t -> new int[FIELDS.length])[field.ordinal()]++;
+      }
+    });
+
+    lock.writeLock().lock();
+    try {
+      removeUnderLock(post.getId());
+
+      frequencies.forEach((term, tf) ->
+          postings.computeIfAbsent(term, t -> new HashMap<>()).put(post.getId(), tf));
+      fieldLengths.put(post.getId(), lengths);
+      documentTerms.put(post.getId(), new HashSet<>(frequencies.keySet()));
+      for (int i = 0; i < lengths.length; i++) {
+        totalFieldLengths[i] += lengths[i];
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Remove a post from the index (no-op if it is not indexed)
+   */
+  public void remove(Long postId) {
+    lock.writeLock().lock();
+    try {
+      removeUnderLock(postId);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Number of posts currently in the index
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return fieldLengths.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Find posts matching all terms of the query, best matches first
+   *
+   * @param query  free-text query; the last term is also matched as a prefix
+   * @param offset number of hits to skip
+   * @param limit  maximum number of hits to return
+   */
+  public SearchResult search(String query, long offset, int limit) {
+    List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.terms(query)));
+    if (queryTerms.isEmpty()) {
+      return SearchResult.empty();
+    }
+
+    lock.readLock().lock();
+    try {
+      int documentCount = fieldLengths.size();
+      if (documentCount == 0) {
+        return SearchResult.empty();
+      }
+
+      double[] averageLengths = new double[FIELDS.length];
+      for (int i = 0; i < FIELDS.length; i++) {
+        averageLengths[i] = Math.max(1.0, (double) totalFieldLengths[i] / documentCount);
+      }
+
+      List<Map<String, Double>> expansionsPerTerm = new ArrayList<>();
+      Map<Long, Double> scores = null;
+
+      for (int i = 0; i < queryTerms.size(); i++) {
+        Map<String, Double> expansions = expand(queryTerms.get(i), i == queryTerms.size() - 1);
+        expansionsPerTerm.add(expansions);
+
+        // A post scores the best of its expansions for each query term
+        Map<Long, Double> termScores = new HashMap<>();
+        expansions.forEach((term, weight) -> {
+          Map<Long, int[]> termPostings = postings.get(term);
+          double idf = idf(documentCount, termPostings.size());
+          termPostings.forEach((postId, tf) -> {
+            double score = weight * idf * bm25(tf, fieldLengths.get(postId), averageLengths);
+            termScores.merge(postId, score, Math::max);
+          });
+        });
+
+        if (scores == null) {
+          scores = termScores;
+        } else {
+          // Every query term must match
+          scores.keySet().retainAll(termScores.keySet());
+          scores.replaceAll((postId, score) -> score + termScores.get(postId));
+        }
+
+        if (scores.isEmpty()) {
+          return SearchResult.empty();
+        }
+      }
+
+      if (offset >= scores.size()) {
+        return new SearchResult(List.of(), scores.size());
+      }
+
+      // Only the hits up to the requested page need to be ranked
+      TopK<Map.Entry<Long, Double>> ranker = new TopK<>(
+          (int) Math.min(offset + limit, scores.size()),
+          Map.Entry.<Long, Double>comparingByValue().reversed()
+              .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+      scores.entrySet().forEach(ranker::offer);
+      List<Map.Entry<Long, Double>> ranked = ranker.toList();
+
+      List<SearchHit> hits = new ArrayList<>();
+      for (int i = (int) offset; i < ranked.size(); i++) {
+        Map.Entry<Long, Double> entry = ranked.get(i);
+        hits.add(new SearchHit(entry.getKey(), entry.getValue(),
+            matchedTerms(entry.getKey(), expansionsPerTerm)));
+      }
+
+      return new SearchResult(hits, scores.size());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void removeUnderLock(Long postId) {
+    Set<String> terms = documentTerms.remove(postId);
+    if (terms == null) {
+      return;
+    }
+
+    for (String term : terms) {
+      Map<Long, int[]> termPostings = postings.get(term);
+      termPostings.remove(postId);
+      if (termPostings.isEmpty()) {
+        postings.remove(term);
+      }
+    }
+
+    int[] lengths = fieldLengths.remove(postId);
+    for (int i = 0; i < lengths.length; i++) {
+      totalFieldLengths[i] -= lengths[i];
+    }
+  }
+
+  /**
+   * Map a query term to the index terms it matches, with the weight of each match
+   */
+  private Map<String, Double> expand(String term, boolean prefix) {
+    Map<String, Double> expansions = new LinkedHashMap<>();
+    if (postings.containsKey(term)) {
+      expansions.put(term, 1.0);
+    }
+
+    if (prefix) {
+      for (String candidate : postings.subMap(term, false, term + Character.MAX_VALUE, false)
+          .keySet()) {
+        if (expansions.size() >= MAX_PREFIX_EXPANSIONS) {
+          break;
+        }
+        expansions.put(candidate, PREFIX_WEIGHT);
+      }
+    }
+    return expansions;
+  }
+
+  private Set<String> matchedTerms(Long postId, List<Map<String, Double>> expansionsPerTerm) {
+    Set<String> matched = new HashSet<>();
+    for (Map<String, Double> expansions : expansionsPerTerm) {
+      for (String term : expansions.keySet()) {
+        if (postings.get(term).containsKey(postId)) {
+          matched.add(term);
+        }
+      }
+    }
+    return matched;
+  }
+
+  private static double idf(int documentCount, int documentFrequency) {
+    return Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+  }
+
+  private static double bm25(int[] tf, int[] lengths, double[] averageLengths) {
+    double score = 0;
+    for (SearchField field : FIELDS) {
+      int i = field.ordinal();
+      if (tf[i] == 0) {
+        continue;
+      }
+      double norm = K1 * (1 - B + B * lengths[i] / averageLengths[i]);
+      score += field.getBoost() * tf[i] * (K1 + 1) / (tf[i] + norm);
+    }
+    return score;
+  }
+}
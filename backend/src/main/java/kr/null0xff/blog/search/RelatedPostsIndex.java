@@ -0,0 +1,475 @@
+package kr.null0xff.blog.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import kr.null0xff.blog.entity.Post;
+import kr.null0xff.blog.event.CategoryChangedEvent;
+import kr.null0xff.blog.event.PostChangedEvent;
+import kr.null0xff.blog.event.PostSnapshot;
+import kr.null0xff.blog.event.TagChangedEvent;
+import kr.null0xff.blog.repository.PostRepository;
+import kr.null0xff.blog.util.TopK;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Precomputed related posts of every published post. Two posts are scored by the Jaccard overlap
+ * of their tags, whether they share a category and the cosine similarity of the TF-IDF vectors of
+ * their text, and each post keeps its best {@link #NEIGHBORS} neighbors as primitive arrays.
+ * <p>
+ * Lookups read one immutable entry and take no lock. When a post is published, changed or
+ * retagged only its own row is scored against the other posts, and the rows of other posts it
+ * enters or leaves are patched; the whole index is rebuilt at startup, when a tag or category is
+ * deleted, and on a schedule so the IDF weights of older posts catch up with the corpus.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RelatedPostsIndex {
+
+  /**
+   * Number of neighbors kept per post, the most a lookup can return
+   */
+  public static final int NEIGHBORS = 10;
+
+  private static final double TAG_WEIGHT = 0.5;
+  private static final double CATEGORY_WEIGHT = 0.15;
+  private static final double CONTENT_WEIGHT = 0.35;
+
+  // Posts that only share a rare word or two are not related
+  private static final float MIN_SCORE = 0.05f;
+
+  // Only the strongest terms of a post make up its content vector
+  private static final int MAX_TERMS = 64;
+
+  private static final int REBUILD_BATCH_SIZE = 500;
+
+  private static final Comparator<Neighbor> RANKING = Comparator
+      .comparingDouble(Neighbor::score).reversed()
+      .thenComparing(Comparator.comparingLong(Neighbor::postId).reversed());
+
+  private final PostRepository postRepository;
+  private final PlatformTransactionManager transactionManager;
+
+  // Serializes all writers; readers only look at the neighbor lists
+  private final ReentrantLock updateLock = new ReentrantLock();
+
+  // Guarded by updateLock: post ID -> scoring features, term -> number of posts with it, and
+  // term -> the number standing for it in content vectors
+  private final Map<Long, Features> features = new HashMap<>();
+  private final Map<String, Integer> documentFrequencies = new HashMap<>();
+  private final Map<String, Integer> termIds = new HashMap<>();
+
+  // post ID -> its neighbors, with an empty entry for published posts without any
+  private final Map<Long, Neighbors> neighbors = new ConcurrentHashMap<>();
+
+  /**
+   * Whether the post is published and indexed
+   */
+  public boolean contains(Long postId) {
+    return neighbors.containsKey(postId);
+  }
+
+  /**
+   * The IDs of the posts most related to a post, best first
+   *
+   * @param postId the post to find related posts for
+   * @param limit  the maximum number of IDs, at most {@link #NEIGHBORS}
+   */
+  public List<Long> related(Long postId, int limit) {
+    Neighbors entry = neighbors.getOrDefault(postId, Neighbors.EMPTY);
+    int count = Math.min(limit, entry.postIds().length);
+
+    List<Long> ids = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      ids.add(entry.postIds()[i]);
+    }
+    return ids;
+  }
+
+  /**
+   * Load every published post and score all pairs
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${blog.related.rebuild-cron}")
+  public void rebuild() {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setReadOnly(true);
+
+    updateLock.lock();
+    try {
+      List<PostSnapshot> posts = transactionTemplate.execute(status -> {
+        List<PostSnapshot> snapshots = new ArrayList<>();
+        Page<Post> page = postRepository.findByPublishedTrue(
+            PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")));
+        while (true) {
+          postRepository.fetchTags(page.getContent());
+          page.forEach(post -> snapshots.add(PostSnapshot.of(post)));
+          if (!page.hasNext()) {
+            return snapshots;
+          }
+          page = postRepository.findByPublishedTrue(page.nextPageable());
+        }
+      });
+
+      // Document frequencies first, so every vector is weighted against the whole corpus
+      features.clear();
+      documentFrequencies.clear();
+      termIds.clear();
+      Map<Long, Set<String>> termsByPost = new HashMap<>();
+      for (PostSnapshot post : posts) {
+        Set<String> terms = new HashSet<>(TextAnalyzer.terms(text(post)));
+        terms.forEach(term -> documentFrequencies.merge(term, 1, Integer::sum));
+        termsByPost.put(post.getId(), terms);
+      }
+      for (PostSnapshot post : posts) {
+        features.put(post.getId(),
+            features(post, termsByPost.get(post.getId()), posts.size()));
+      }
+
+      Long[] ids = features.keySet().toArray(Long[]::new);
+      Features[] vectors = new Features[ids.length];
+      List<TopK<Neighbor>> rankers = new ArrayList<>(ids.length);
+      for (int i = 0; i < ids.length; i++) {
+        vectors[i] = features.get(ids[i]);
+        rankers.add(new TopK<>(NEIGHBORS, RANKING));
+      }
+
+      // Similarity is symmetric, so each pair is scored once
+      for (int i = 0; i < ids.length; i++) {
+        for (int j = i + 1; j < ids.length; j++) {
+          float score = similarity(vectors[i], vectors[j]);
+          if (score >= MIN_SCORE) {
+            rankers.get(i).offer(new Neighbor(ids[j], score));
+            rankers.get(j).offer(new Neighbor(ids[i], score));
+          }
+        }
+      }
+
+      Map<Long, Neighbors> rebuilt = new HashMap<>();
+      for (int i = 0; i < ids.length; i++) {
+        rebuilt.put(ids[i], Neighbors.of(rankers.get(i).toList()));
+      }
+      neighbors.putAll(rebuilt);
+      neighbors.keySet().retainAll(rebuilt.keySet());
+    } finally {
+      updateLock.unlock();
+    }
+
+    log.info("Related posts index built with {} posts", neighbors.size());
+  }
+
+  /**
+   * Rescore a post whenever a committed change can affect what it is related to
+   */
+  @TransactionalEventListener
+  public void onPostChanged(PostChangedEvent event) {
+    if (!event.isPublished()) {
+      remove(event.getPostId());
+    } else if (!event.wasPublished() || !sameFeatures(event.getBefore(), event.getAfter())) {
+      index(event.getAfter());
+    }
+  }
+
+  /**
+   * Deleting a tag or category changes many posts without a post event of their own
+   */
+  @Async
+  @TransactionalEventListener
+  public void onTagChanged(TagChangedEvent event) {
+    if (event.getType() == TagChangedEvent.Type.DELETED) {
+      rebuild();
+    }
+  }
+
+  @Async
+  @TransactionalEventListener
+  public void onCategoryChanged(CategoryChangedEvent event) {
+    if (event.getType() == CategoryChangedEvent.Type.DELETED) {
+      rebuild();
+    }
+  }
+
+  /**
+   * Add or rescore a published post
+   */
+  public void index(PostSnapshot post) {
+    Set<String> terms = new HashSet<>(TextAnalyzer.terms(text(post)));
+
+    updateLock.lock();
+    try {
+      removeFeatures(post.getId());
+      terms.forEach(term -> documentFrequencies.merge(term, 1, Integer::sum));
+      Features added = features(post, terms, features.size() + 1);
+      features.put(post.getId(), added);
+
+      TopK<Neighbor> ranker = new TopK<>(NEIGHBORS, RANKING);
+      List<Long> stale = new ArrayList<>();
+      features.forEach((otherId, other) -> {
+        if (otherId.equals(post.getId())) {
+          return;
+        }
+        float score = similarity(added, other);
+        if (score >= MIN_SCORE) {
+          ranker.offer(new Neighbor(otherId, score));
+        }
+
+        // Patch the other post's row in place, unless the post fell out of it and some third
+        // post may take its place
+        Neighbors theirs = neighbors.getOrDefault(otherId, Neighbors.EMPTY);
+        boolean listed = theirs.indexOf(post.getId()) >= 0;
+        boolean qualifies = score >= MIN_SCORE
+            && (theirs.size() < NEIGHBORS || score > theirs.worstScore()
+            || (listed && score >= theirs.worstScore()));
+        if (qualifies) {
+          neighbors.put(otherId, theirs.with(new Neighbor(post.getId(), score)));
+        } else if (listed) {
+          stale.add(otherId);
+        }
+      });
+
+      neighbors.put(post.getId(), Neighbors.of(ranker.toList()));
+      stale.forEach(this::rescore);
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  /**
+   * Remove a post from the index and from the rows of other posts (no-op if it is not indexed)
+   */
+  public void remove(Long postId) {
+    updateLock.lock();
+    try {
+      if (!removeFeatures(postId)) {
+        return;
+      }
+      neighbors.remove(postId);
+
+      List<Long> stale = new ArrayList<>();
+      neighbors.forEach((otherId, theirs) -> {
+        if (theirs.indexOf(postId) >= 0) {
+          stale.add(otherId);
+        }
+      });
+      stale.forEach(this::rescore);
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  /**
+   * Recompute the row of one post against all others; caller holds the update lock
+   */
+  private void rescore(Long postId) {
+    Features own = features.get(postId);
+    TopK<Neighbor> ranker = new TopK<>(NEIGHBORS, RANKING);
+    features.forEach((otherId, other) -> {
+      if (!otherId.equals(postId)) {
+        float score = similarity(own, other);
+        if (score >= MIN_SCORE) {
+          ranker.offer(new Neighbor(otherId, score));
+        }
+      }
+    });
+    neighbors.put(postId, Neighbors.of(ranker.toList()));
+  }
+
+  private boolean removeFeatures(Long postId) {
+    Features removed = features.remove(postId);
+    if (removed == null) {
+      return false;
+    }
+    for (String term : removed.terms()) {
+      documentFrequencies.computeIfPresent(term, (t, count) -> count > 1 ? count - 1 : null);
+    }
+    return true;
+  }
+
+  /**
+   * Build the features of a post whose terms are already counted in the document frequencies
+   */
+  private Features features(PostSnapshot post, Set<String> distinctTerms, int documentCount) {
+    Map<String, Integer> frequencies = new HashMap<>();
+    TextAnalyzer.terms(text(post)).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+
+    // Log-scaled term frequency times smoothed IDF; terms found in every post weigh nothing
+    TopK<Map.Entry<String, Double>> strongest = new TopK<>(MAX_TERMS,
+        Map.Entry.<String, Double>comparingByValue().reversed()
+            .thenComparing(Map.Entry.comparingByKey()));
+    frequencies.forEach((term, tf) -> {
+      double idf = Math.log((1.0 + documentCount) / (1.0 + documentFrequencies.get(term)));
+      double weight = (1 + Math.log(tf)) * idf;
+      if (weight > 0) {
+        strongest.offer(Map.entry(term, weight));
+      }
+    });
+
+    // Sorted by term ID, so two vectors are compared with a single merge
+    List<Map.Entry<Integer, Double>> vector = new ArrayList<>();
+    for (Map.Entry<String, Double> entry : strongest.toList()) {
+      Integer termId = termIds.computeIfAbsent(entry.getKey(), term -> termIds.size());
+      vector.add(Map.entry(termId, entry.getValue()));
+    }
+    vector.sort(Map.Entry.comparingByKey());
+
+    double norm = 0;
+    for (Map.Entry<Integer, Double> entry : vector) {
+      norm += entry.getValue() * entry.getValue();
+    }
+    norm = Math.sqrt(norm);
+
+    int[] vectorTermIds = new int[vector.size()];
+    float[] weights = new float[vector.size()];
+    for (int i = 0; i < vectorTermIds.length; i++) {
+      vectorTermIds[i] = vector.get(i).getKey();
+      weights[i] = (float) (vector.get(i).getValue() / norm);
+    }
+
+    long[] tagIds = post.getTags().keySet().stream()
+        .mapToLong(Long::longValue)
+        .sorted()
+        .toArray();
+    return new Features(tagIds, post.getCategoryId(), distinctTerms.toArray(String[]::new),
+        vectorTermIds, weights);
+  }
+
+  private static float similarity(Features a, Features b) {
+    double category = a.categoryId() != null && a.categoryId().equals(b.categoryId()) ? 1 : 0;
+    return (float) (TAG_WEIGHT * jaccard(a.tagIds(), b.tagIds())
+        + CATEGORY_WEIGHT * category
+        + CONTENT_WEIGHT * cosine(a, b));
+  }
+
+  private static double jaccard(long[] a, long[] b) {
+    if (a.length == 0 || b.length == 0) {
+      return 0;
+    }
+    int shared = 0;
+    for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+      if (a[i] == b[j]) {
+        shared++;
+        i++;
+        j++;
+      } else if (a[i] < b[j]) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return (double) shared / (a.length + b.length - shared);
+  }
+
+  private static double cosine(Features a, Features b) {
+    double dot = 0;
+    int[] termsA = a.vectorTermIds();
+    int[] termsB = b.vectorTermIds();
+    for (int i = 0, j = 0; i < termsA.length && j < termsB.length; ) {
+      if (termsA[i] == termsB[j]) {
+        dot += a.weights()[i++] * b.weights()[j++];
+      } else if (termsA[i] < termsB[j]) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return dot;
+  }
+
+  private static String text(PostSnapshot post) {
+    return String.join(" ", Objects.toString(post.getTitle(), ""),
+        Objects.toString(post.getDescription(), ""), Objects.toString(post.getContent(), ""));
+  }
+
+  private static boolean sameFeatures(PostSnapshot before, PostSnapshot after) {
+    return before.getTags().keySet().equals(after.getTags().keySet())
+        && Objects.equals(before.getCategoryId(), after.getCategoryId())
+        && Objects.equals(before.getTitle(), after.getTitle())
+        && Objects.equals(before.getDescription(), after.getDescription())
+        && Objects.equals(before.getContent(), after.getContent());
+  }
+
+  /**
+   * What a post is scored by: its sorted tag IDs, its category, its distinct terms (to update the
+   * document frequencies on removal) and its content vector as sorted term IDs with
+   * L2-normalized weights
+   */
+  private record Features(long[] tagIds, Long categoryId, String[] terms, int[] vectorTermIds,
+                          float[] weights) {
+
+  }
+
+  private record Neighbor(long postId, float score) {
+
+  }
+
+  /**
+   * The neighbors of a post, best first, as parallel primitive arrays. Never modified once
+   * published, so readers need no lock.
+   */
+  private record Neighbors(long[] postIds, float[] scores) {
+
+    static final Neighbors EMPTY = new Neighbors(new long[0], new float[0]);
+
+    static Neighbors of(List<Neighbor> ranked) {
+      long[] postIds = new long[ranked.size()];
+      float[] scores = new float[ranked.size()];
+      for (int i = 0; i < postIds.length; i++) {
+        postIds[i] = ranked.get(i).postId();
+        scores[i] = ranked.get(i).score();
+      }
+      return new Neighbors(postIds, scores);
+    }
+
+    int size() {
+      return postIds.length;
+    }
+
+    float worstScore() {
+      return scores.length == 0 ? 0 : scores[scores.length - 1];
+    }
+
+    int indexOf(long postId) {
+      for (int i = 0; i < postIds.length; i++) {
+        if (postIds[i] == postId) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * A copy with the neighbor added or its score replaced, keeping the best {@link #NEIGHBORS}
+     */
+    Neighbors with(Neighbor neighbor) {
+      List<Neighbor> ranked = new ArrayList<>(postIds.length + 1);
+      for (int i = 0; i < postIds.length; i++) {
+        if (postIds[i] != neighbor.postId()) {
+          ranked.add(new Neighbor(postIds[i], scores[i]));
+        }
+      }
+      ranked.add(neighbor);
+      ranked.sort(RANKING);
+      return of(ranked.subList(0, Math.min(NEIGHBORS, ranked.size())));
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package kr.null0xff.blog.search;
+
+/**
+ * Fields of a post that are indexed for full-text search, with the boost applied to matches in
+ * each of them
+ */
+public enum SearchField {
+  TITLE(3.0),
+  TAGS(2.5),
+  CATEGORY(1.5),
+  DESCRIPTION(1.5),
+  CONTENT(1.0);
+
+  private final double boost;
+
+  SearchField(double boost) {
+    this.boost = boost;
+  }
+
+  public double getBoost() {
+    return boost;
+  }
+}
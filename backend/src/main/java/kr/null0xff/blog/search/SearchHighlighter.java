@@ -0,0 +1,91 @@
+package kr.null0xff.blog.search;
+
+import java.util.List;
+import java.util.Set;
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * Marks matched terms in text with {@code <mark>} tags. Everything else is HTML-escaped, so the
+ * output can be inserted into a page as-is.
+ */
+public final class SearchHighlighter {
+
+  private static final String OPEN = "<mark>";
+  private static final String CLOSE = "</mark>";
+
+  private SearchHighlighter() {
+  }
+
+  /**
+   * Highlight every occurrence of the given terms in the whole text
+   *
+   * @return the highlighted text, or null if none of the terms occur in it
+   */
+  public static String highlight(String text, Set<String> terms) {
+    return fragment(text, terms, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Highlight the terms within a fragment of at most {@code maxLength} characters, centered on the
+   * first match
+   *
+   * @return the highlighted fragment, or null if none of the terms occur in the text
+   */
+  public static String fragment(String text, Set<String> terms, int maxLength) {
+    if (text == null || terms.isEmpty()) {
+      return null;
+    }
+
+    List<TextAnalyzer.Token> matches = TextAnalyzer.tokens(text).stream()
+        .filter(token -> terms.contains(token.getTerm()))
+        .toList();
+    if (matches.isEmpty()) {
+      return null;
+    }
+
+    int start = 0;
+    int end = text.length();
+    if (end > maxLength) {
+      // Put the first match roughly a third into the fragment and snap to whitespace
+      start = Math.max(0, matches.get(0).getStart() - maxLength / 3);
+      end = Math.min(text.length(), start + maxLength);
+      start = snapBackward(text, start);
+    }
+
+    StringBuilder builder = new StringBuilder();
+    if (start > 0) {
+      builder.append("&hellip;");
+    }
+
+    int position = start;
+    for (TextAnalyzer.Token match : matches) {
+      if (match.getStart() < position) {
+        continue;
+      }
+      if (match.getEnd() > end) {
+        break;
+      }
+      builder.append(HtmlUtils.htmlEscape(text.substring(position, match.getStart())))
+          .append(OPEN)
+          .append(HtmlUtils.htmlEscape(text.substring(match.getStart(), match.getEnd())))
+          .append(CLOSE);
+      position = match.getEnd();
+    }
+    builder.append(HtmlUtils.htmlEscape(text.substring(position, end)));
+
+    if (end < text.length()) {
+      builder.append("&hellip;");
+    }
+    return builder.toString();
+  }
+
+  private static int snapBackward(String text, int index) {
+    int limit = Math.max(0, index - 20);
+    for (int i = index; i > limit; i--) {
+      if (Character.isWhitespace(text.charAt(i - 1))) {
+        return i;
+      }
+    }
+    return index;
+  }
+}
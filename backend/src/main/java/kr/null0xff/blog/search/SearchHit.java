@@ -0,0 +1,17 @@
+package kr.null0xff.blog.search;
+
+import java.util.Set;
+import lombok.Value;
+
+/**
+ * A single ranked match returned by {@link PostSearchIndex}
+ */
+@Value
+public class SearchHit {
+
+  Long postId;
+  double score;
+
+  // Index terms (after prefix expansion) that this post matched
+  Set<String> matchedTerms;
+}
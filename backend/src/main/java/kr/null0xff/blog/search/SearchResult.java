@@ -0,0 +1,18 @@
+package kr.null0xff.blog.search;
+
+import java.util.List;
+import lombok.Value;
+
+/**
+ * A page of ranked hits together with the total number of matching posts
+ */
+@Value
+public class SearchResult {
+
+  List<SearchHit> hits;
+  long totalHits;
+
+  public static SearchResult empty() {
+    return new SearchResult(List.of(), 0);
+  }
+}
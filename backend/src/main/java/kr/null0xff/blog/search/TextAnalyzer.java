@@ -0,0 +1,66 @@
+package kr.null0xff.blog.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.Value;
+
+/**
+ * Splits text into lowercase terms for indexing and querying. Terms are runs of Unicode letters
+ * and digits, so Hangul and Latin text are handled the same way.
+ */
+public final class TextAnalyzer {
+
+  private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{N}]+");
+
+  private static final Set<String> STOP_WORDS = Set.of(
+      "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on",
+      "or", "that", "the", "this", "to", "was", "with");
+
+  private TextAnalyzer() {
+  }
+
+  /**
+   * A term together with its position in the original text
+   */
+  @Value
+  public static class Token {
+
+    String term;
+    int start;
+    int end;
+  }
+
+  /**
+   * Get the indexable terms of a text, in order of appearance
+   */
+  public static List<String> terms(String text) {
+    List<String> terms = new ArrayList<>();
+    for (Token token : tokens(text)) {
+      terms.add(token.getTerm());
+    }
+    return terms;
+  }
+
+  /**
+   * Get the indexable terms of a text with their character offsets (used for highlighting)
+   */
+  public static List<Token> tokens(String text) {
+    List<Token> tokens = new ArrayList<>();
+    if (text == null || text.isEmpty()) {
+      return tokens;
+    }
+
+    Matcher matcher = TERM.matcher(text);
+    while (matcher.find()) {
+      String term = matcher.group().toLowerCase(Locale.ROOT);
+      if (!STOP_WORDS.contains(term)) {
+        tokens.add(new Token(term, matcher.start(), matcher.end()));
+      }
+    }
+    return tokens;
+  }
+}
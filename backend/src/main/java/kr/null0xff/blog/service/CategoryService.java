@@ -1,14 +1,16 @@
 package kr.null0xff.blog.service;
 
 import jakarta.persistence.EntityNotFoundException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import kr.null0xff.blog.entity.Category;
+import kr.null0xff.blog.event.CategoryChangedEvent;
 import kr.null0xff.blog.repository.CategoryRepository;
-import kr.null0xff.blog.repository.PostRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,7 +21,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class CategoryService {
 
   private final CategoryRepository categoryRepository;
-  private final PostRepository postRepository;
+  private final SlugAllocator slugAllocator;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Get all categories
@@ -43,7 +46,9 @@ public class CategoryService {
     return results.stream()
         .collect(Collectors.toMap(
             row -> (Category) row[0],
-            row -> (Long) row[1]
+            row -> (Long) row[1],
+            (a, b) -> a,
+            LinkedHashMap::new
         ));
   }
 
@@ -96,7 +101,11 @@ public class CategoryService {
       throw new IllegalArgumentException("A category with this slug already exists");
     }
 
-    return categoryRepository.save(category);
+    Category savedCategory = categoryRepository.save(category);
+    eventPublisher.publishEvent(
+        new CategoryChangedEvent(CategoryChangedEvent.Type.CREATED, savedCategory.getId()));
+
+    return savedCategory;
   }
 
   /**
@@ -131,7 +140,11 @@ public class CategoryService {
     existingCategory.setDescription(updatedCategory.getDescription());
     existingCategory.setColor(updatedCategory.getColor());
 
-    return categoryRepository.save(existingCategory);
+    Category savedCategory = categoryRepository.save(existingCategory);
+    eventPublisher.publishEvent(
+        new CategoryChangedEvent(CategoryChangedEvent.Type.UPDATED, savedCategory.getId()));
+
+    return savedCategory;
   }
 
   /**
@@ -150,6 +163,8 @@ public class CategoryService {
 
     // Now we can safely delete the category
     categoryRepository.delete(category);
+    eventPublisher.publishEvent(
+        new CategoryChangedEvent(CategoryChangedEvent.Type.DELETED, categoryId));
   }
 
   /**
@@ -164,25 +179,7 @@ public class CategoryService {
    * Generate a slug from a category name
    */
   private String generateSlugFromName(String name) {
-    // Convert to lowercase and replace spaces with hyphens
-    String baseSlug = name.toLowerCase()
-        .replaceAll("[^a-z0-9\\s]", "") // Remove non-alphanumeric chars
-        .replaceAll("\\s+", "-"); // Replace spaces with hyphens
-
-    // Check if the base slug is already in use
-    if (!isSlugInUse(baseSlug)) {
-      return baseSlug;
-    }
-
-    // If the slug is in use, append a number until we find a unique slug
-    int counter = 1;
-    String newSlug;
-    do {
-      newSlug = baseSlug + "-" + counter;
-      counter++;
-    } while (isSlugInUse(newSlug));
-
-    return newSlug;
+    return slugAllocator.allocate(Category.class, name, categoryRepository::findSlugsByBase);
   }
 
   /**
@@ -196,6 +193,6 @@ public class CategoryService {
         .orElseThrow(
             () -> new EntityNotFoundException("Category not found with ID: " + categoryId));
 
-    return postRepository.countByCategoryAndPublishedTrue(category);
+    return category.getPostCount();
   }
 }
\ No newline at end of file
@@ -1,18 +1,27 @@
 package kr.null0xff.blog.service;
 
 import jakarta.persistence.EntityNotFoundException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import kr.null0xff.blog.dto.CommentCreateRequest;
+import kr.null0xff.blog.dto.CommentResponse;
 import kr.null0xff.blog.entity.Comment;
 import kr.null0xff.blog.entity.Post;
 import kr.null0xff.blog.entity.User;
+import kr.null0xff.blog.event.CommentChangedEvent;
 import kr.null0xff.blog.repository.CommentRepository;
+import kr.null0xff.blog.repository.CommentsVersion;
 import kr.null0xff.blog.repository.PostRepository;
 import kr.null0xff.blog.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +34,7 @@ public class CommentService {
   private final CommentRepository commentRepository;
   private final PostRepository postRepository;
   private final UserRepository userRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Get all approved comments for a post with pagination
@@ -134,12 +144,9 @@ public class CommentService {
           .orElseThrow(() -> new EntityNotFoundException(
               "Parent comment not found with ID: " + parentCommentId));
 
-      // Make sure the parent comment belongs to the same post
-      if (!parentComment.getPost().getId().equals(postId)) {
-        throw new IllegalArgumentException("Parent comment does not belong to the specified post");
-      }
-
+      checkReply(parentComment, postId);
       comment.setParent(parentComment);
+      comment.setPath(parentComment.getSubtreePath());
     }
 
     // By default, comments require approval unless specified otherwise
@@ -147,7 +154,99 @@ public class CommentService {
       comment.setApproved(false);
     }
 
-    return commentRepository.save(comment);
+    Comment savedComment = commentRepository.save(comment);
+    eventPublisher.publishEvent(new CommentChangedEvent(CommentChangedEvent.Type.CREATED,
+        savedComment.getId(), postId));
+
+    return savedComment;
+  }
+
+  /**
+   * Check that the post, author and parent comment of a new comment exist, without loading more
+   * than the parent, so a comment queued to be saved later is not dropped for a reference that
+   * was wrong from the start. Queued comments have no ID yet, so a parent is always saved.
+   *
+   * @throws EntityNotFoundException  if the post, author or parent comment does not exist
+   * @throws IllegalArgumentException if the reply cannot be added below the parent comment
+   */
+  @Transactional(readOnly = true)
+  public void checkReferences(CommentCreateRequest request) {
+    Long postId = request.getPostId();
+    if (!postRepository.existsById(postId)) {
+      throw new EntityNotFoundException("Post not found with ID: " + postId);
+    }
+    if (!userRepository.existsById(request.getAuthorId())) {
+      throw new EntityNotFoundException("User not found with ID: " + request.getAuthorId());
+    }
+
+    Long parentCommentId = request.getParentCommentId();
+    if (parentCommentId != null) {
+      Comment parentComment = commentRepository.findById(parentCommentId)
+          .orElseThrow(() -> new EntityNotFoundException(
+              "Parent comment not found with ID: " + parentCommentId));
+      checkReply(parentComment, postId);
+    }
+  }
+
+  /**
+   * Create a batch of new, unapproved comments in one transaction, e.g. from the ingestion queue.
+   * Posts, authors and parent comments are loaded with one query each, and the comments are
+   * inserted as JDBC batches. Requests that refer to a missing post, author or parent, or to a
+   * parent of another post, are skipped.
+   *
+   * @return the created comments
+   */
+  @Transactional
+  public List<Comment> createComments(List<CommentCreateRequest> requests) {
+    log.debug("Creating a batch of {} comments", requests.size());
+
+    Map<Long, Post> posts = byId(postRepository.findAllById(requests.stream()
+        .map(CommentCreateRequest::getPostId)
+        .collect(Collectors.toSet())), Post::getId);
+    Map<Long, User> authors = byId(userRepository.findAllById(requests.stream()
+        .map(CommentCreateRequest::getAuthorId)
+        .collect(Collectors.toSet())), User::getId);
+    Map<Long, Comment> parents = byId(commentRepository.findAllById(requests.stream()
+        .map(CommentCreateRequest::getParentCommentId)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet())), Comment::getId);
+
+    List<Comment> comments = new ArrayList<>(requests.size());
+    for (CommentCreateRequest request : requests) {
+      Post post = posts.get(request.getPostId());
+      User author = authors.get(request.getAuthorId());
+      Comment parent = request.getParentCommentId() == null ? null
+          : parents.get(request.getParentCommentId());
+
+      if (post == null || author == null || (request.getParentCommentId() != null
+          && (parent == null || !parent.getPost().getId().equals(post.getId())))) {
+        log.warn("Skipping comment on post {} by user {}: post, author or parent not found",
+            request.getPostId(), request.getAuthorId());
+        continue;
+      }
+
+      Comment comment = Comment.builder()
+          .content(request.getContent())
+          .post(post)
+          .author(author)
+          .approved(false)
+          .build();
+      if (parent != null) {
+        comment.setParent(parent);
+        comment.setPath(parent.getSubtreePath());
+        if (comment.getDepth() > Comment.MAX_DEPTH) {
+          log.warn("Skipping reply to comment {}: nested too deep", parent.getId());
+          continue;
+        }
+      }
+      comments.add(comment);
+    }
+
+    List<Comment> savedComments = commentRepository.saveAll(comments);
+    savedComments.forEach(comment -> eventPublisher.publishEvent(new CommentChangedEvent(
+        CommentChangedEvent.Type.CREATED, comment.getId(), comment.getPost().getId())));
+
+    return savedComments;
   }
 
   /**
@@ -162,7 +261,11 @@ public class CommentService {
 
     comment.setContent(newContent);
 
-    return commentRepository.save(comment);
+    Comment savedComment = commentRepository.save(comment);
+    eventPublisher.publishEvent(new CommentChangedEvent(CommentChangedEvent.Type.UPDATED,
+        commentId, savedComment.getPost().getId()));
+
+    return savedComment;
   }
 
   /**
@@ -177,7 +280,11 @@ public class CommentService {
 
     comment.setApproved(true);
 
-    return commentRepository.save(comment);
+    Comment savedComment = commentRepository.save(comment);
+    eventPublisher.publishEvent(new CommentChangedEvent(CommentChangedEvent.Type.APPROVED,
+        commentId, savedComment.getPost().getId()));
+
+    return savedComment;
   }
 
   /**
@@ -187,11 +294,12 @@ public class CommentService {
   public void rejectComment(Long commentId) {
     log.debug("Rejecting comment with ID: {}", commentId);
 
-    if (!commentRepository.existsById(commentId)) {
-      throw new EntityNotFoundException("Comment not found with ID: " + commentId);
-    }
+    Comment comment = commentRepository.findById(commentId)
+        .orElseThrow(() -> new EntityNotFoundException("Comment not found with ID: " + commentId));
 
-    commentRepository.deleteById(commentId);
+    commentRepository.delete(comment);
+    eventPublisher.publishEvent(new CommentChangedEvent(CommentChangedEvent.Type.DELETED,
+        commentId, comment.getPost().getId()));
   }
 
   /**
@@ -201,11 +309,20 @@ public class CommentService {
   public void deleteComment(Long commentId) {
     log.debug("Deleting comment with ID: {}", commentId);
 
-    if (!commentRepository.existsById(commentId)) {
-      throw new EntityNotFoundException("Comment not found with ID: " + commentId);
-    }
+    Comment comment = commentRepository.findById(commentId)
+        .orElseThrow(() -> new EntityNotFoundException("Comment not found with ID: " + commentId));
 
-    commentRepository.deleteById(commentId);
+    commentRepository.delete(comment);
+    eventPublisher.publishEvent(new CommentChangedEvent(CommentChangedEvent.Type.DELETED,
+        commentId, comment.getPost().getId()));
+  }
+
+  /**
+   * Get the version of the comments of a post without loading them, for conditional requests
+   */
+  @Transactional(readOnly = true)
+  public CommentsVersion getCommentsVersion(Long postId) {
+    return commentRepository.findVersionByPostId(postId);
   }
 
   /**
@@ -231,46 +348,50 @@ public class CommentService {
   }
 
   /**
-   * Function to fetch comments with their replies in an efficient manner This uses a two-step
-   * process to reduce database queries
+   * Get a page of top-level comments of a post, each with all its approved replies nested at any
+   * depth. The replies of the whole page are loaded with one range query over the comment paths
+   * and assembled in memory.
    */
   @Transactional(readOnly = true)
-  public List<Comment> getCommentsWithReplies(Long postId, Pageable pageable) {
-    log.debug("Getting comments with replies for post with ID: {}", postId);
+  public Page<CommentResponse> getCommentThreads(Long postId, Pageable pageable) {
+    log.debug("Getting comment threads for post with ID: {}", postId);
 
-    // First, get the top-level comments
     Post post = postRepository.findById(postId)
         .orElseThrow(() -> new EntityNotFoundException("Post not found with ID: " + postId));
 
-    Page<Comment> topLevelComments = commentRepository.findByPostAndParentIsNullAndApprovedTrue(
-        post, pageable);
-    List<Comment> result = topLevelComments.getContent();
-
-    // If there are no comments, return empty list
-    if (result.isEmpty()) {
-      return result;
+    Page<Comment> roots = commentRepository.findByPostAndParentIsNullAndApprovedTrue(post,
+        pageable);
+    if (roots.isEmpty()) {
+      return roots.map(CommentResponse::fromEntity);
     }
 
-    // Now, get all replies for these comments in a single query
-    List<Long> parentIds = result.stream()
-        .map(Comment::getId)
+    // The range spans the subtrees of the page's roots. Threads of other roots whose IDs fall in
+    // between are read as well and dropped when the page is assembled.
+    List<String> subtreePaths = roots.stream()
+        .map(Comment::getSubtreePath)
+        .sorted()
         .collect(Collectors.toList());
+    List<Comment> replies = commentRepository.findApprovedRepliesInPathRange(postId,
+        subtreePaths.get(0), Comment.subtreePathEnd(subtreePaths.get(subtreePaths.size() - 1)));
 
-    // Get all replies for these parent comments using our custom query method
-    List<Comment> allReplies = commentRepository.findApprovedRepliesByParentIds(parentIds);
-
-    // Group replies by parent ID
-    Map<Long, List<Comment>> repliesByParentId = allReplies.stream()
-        .collect(Collectors.groupingBy(c -> c.getParent().getId()));
+    return new PageImpl<>(CommentResponse.threadsOf(roots.getContent(), replies), pageable,
+        roots.getTotalElements());
+  }
 
-    // Attach replies to their parent comments
-    result.forEach(comment -> {
-      List<Comment> replies = repliesByParentId.get(comment.getId());
-      if (replies != null) {
-        comment.setReplies(replies);
-      }
-    });
+  private static <T> Map<Long, T> byId(List<T> entities, Function<T, Long> id) {
+    return entities.stream().collect(Collectors.toMap(id, Function.identity()));
+  }
 
-    return result;
+  /**
+   * Make sure a reply to the parent comment can be added to the post
+   */
+  private static void checkReply(Comment parentComment, Long postId) {
+    if (!parentComment.getPost().getId().equals(postId)) {
+      throw new IllegalArgumentException("Parent comment does not belong to the specified post");
+    }
+    if (parentComment.getDepth() + 1 > Comment.MAX_DEPTH) {
+      throw new IllegalArgumentException(
+          "Replies cannot be nested more than " + Comment.MAX_DEPTH + " levels deep");
+    }
   }
-}
\ No newline at end of file
+}
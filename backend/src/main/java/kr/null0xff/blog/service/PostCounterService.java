@@ -0,0 +1,93 @@
+package kr.null0xff.blog.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import kr.null0xff.blog.event.PostSnapshot;
+import kr.null0xff.blog.repository.CategoryRepository;
+import kr.null0xff.blog.repository.TagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the denormalized published-post counters of tags and categories. Counters are
+ * adjusted in the same transaction as the post change, and rebuilt from the posts at startup and
+ * on a schedule to repair any drift.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PostCounterService {
+
+  private final TagRepository tagRepository;
+  private final CategoryRepository categoryRepository;
+
+  /**
+   * Adjust the counters for a post change. A post counts for its tags and category only while it
+   * is published.
+   *
+   * @param before the state of the post before the change, or null if it was created
+   * @param after  the state of the post after the change, or null if it was deleted
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void applyChange(PostSnapshot before, PostSnapshot after) {
+    Map<Long, Long> tagDeltas = new HashMap<>();
+    Map<Long, Long> categoryDeltas = new HashMap<>();
+
+    collect(before, -1, tagDeltas, categoryDeltas);
+    collect(after, 1, tagDeltas, categoryDeltas);
+
+    apply(tagDeltas, tagRepository::addToPostCount);
+    apply(categoryDeltas, categoryRepository::addToPostCount);
+  }
+
+  /**
+   * Rebuild all counters from the posts
+   */
+  @Transactional
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${blog.counters.reconcile-cron}")
+  public void reconcile() {
+    int tags = tagRepository.recountPosts();
+    int categories = categoryRepository.recountPosts();
+    log.info("Reconciled post counters of {} tags and {} categories", tags, categories);
+  }
+
+  private static void collect(PostSnapshot post, long sign, Map<Long, Long> tagDeltas,
+      Map<Long, Long> categoryDeltas) {
+    if (post == null || !post.isPublished()) {
+      return;
+    }
+
+    post.getTags().keySet().forEach(tagId -> tagDeltas.merge(tagId, sign, Long::sum));
+    if (post.getCategoryId() != null) {
+      categoryDeltas.merge(post.getCategoryId(), sign, Long::sum);
+    }
+  }
+
+  /**
+   * Issue one bulk update per distinct delta (usually +1 and -1)
+   */
+  private static void apply(Map<Long, Long> deltas, CounterUpdate update) {
+    Map<Long, List<Long>> idsByDelta = deltas.entrySet().stream()
+        .filter(entry -> entry.getValue() != 0)
+        .collect(Collectors.groupingBy(Map.Entry::getValue,
+            Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+
+    idsByDelta.forEach((delta, ids) -> update.apply(ids, delta));
+  }
+
+  @FunctionalInterface
+  private interface CounterUpdate {
+
+    int apply(Collection<Long> ids, long delta);
+  }
+}
@@ -0,0 +1,57 @@
+package kr.null0xff.blog.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import kr.null0xff.blog.repository.PostSummaryView;
+import lombok.Value;
+
+/**
+ * Opaque position in a published post listing ordered by {@code publishedAt DESC, id DESC}. Clients
+ * only ever see the encoded form and pass it back to fetch the next page.
+ */
+@Value
+public class PostCursor {
+
+  private static final char SEPARATOR = '|';
+
+  LocalDateTime publishedAt;
+  Long id;
+
+  /**
+   * Create a cursor pointing just after the given post
+   */
+  public static PostCursor of(PostSummaryView post) {
+    return new PostCursor(post.getPublishedAt(), post.getId());
+  }
+
+  /**
+   * Encode this cursor as a URL-safe token
+   */
+  public String encode() {
+    String raw = publishedAt.toString() + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decode a token previously produced by {@link #encode()}
+   *
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  public static PostCursor decode(String token) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = raw.lastIndexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new IllegalArgumentException("Invalid cursor: " + token);
+      }
+      return new PostCursor(
+          LocalDateTime.parse(raw.substring(0, separator)),
+          Long.parseLong(raw.substring(separator + 1)));
+    } catch (DateTimeParseException | NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + token);
+    }
+  }
+}
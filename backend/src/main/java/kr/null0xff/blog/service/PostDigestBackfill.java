@@ -0,0 +1,59 @@
+package kr.null0xff.blog.service;
+
+import java.util.List;
+import kr.null0xff.blog.entity.PostOutlineConverter;
+import kr.null0xff.blog.markdown.PostDigest;
+import kr.null0xff.blog.markdown.PostDigester;
+import kr.null0xff.blog.repository.PostContent;
+import kr.null0xff.blog.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Computes the digest of posts saved before the digest columns existed. New and updated posts get
+ * theirs from {@link PostService}, so after the first start this finds nothing to do.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PostDigestBackfill {
+
+  private static final int BATCH_SIZE = 100;
+
+  private final PostRepository postRepository;
+  private final PostDigester postDigester;
+  private final PlatformTransactionManager transactionManager;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfill() {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    PostOutlineConverter outlineConverter = new PostOutlineConverter();
+
+    int total = 0;
+    int filled;
+    do {
+      // Filled rows drop out of the query, so every batch reads the first page
+      filled = transactionTemplate.execute(status -> {
+        List<PostContent> posts = postRepository.findContentWithoutDigest(
+            PageRequest.of(0, BATCH_SIZE));
+        for (PostContent post : posts) {
+          PostDigest digest = postDigester.digest(post.getContent());
+          postRepository.updateDigest(post.getId(), digest.wordCount(), digest.readingMinutes(),
+              digest.excerpt(), outlineConverter.convertToDatabaseColumn(digest.outline()));
+        }
+        return posts.size();
+      });
+      total += filled;
+    } while (filled == BATCH_SIZE);
+
+    if (total > 0) {
+      log.info("Computed the digest of {} existing posts", total);
+    }
+  }
+}
@@ -1,21 +1,40 @@
 package kr.null0xff.blog.service;
 
 import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import kr.null0xff.blog.dto.CursorPageResponse;
 import kr.null0xff.blog.entity.Category;
 import kr.null0xff.blog.entity.Post;
 import kr.null0xff.blog.entity.Tag;
 import kr.null0xff.blog.entity.User;
+import kr.null0xff.blog.event.PostChangedEvent;
+import kr.null0xff.blog.event.PostSnapshot;
+import kr.null0xff.blog.markdown.PostDigester;
 import kr.null0xff.blog.repository.CategoryRepository;
 import kr.null0xff.blog.repository.PostRepository;
+import kr.null0xff.blog.repository.PostSpecifications;
+import kr.null0xff.blog.repository.PostSummaryView;
+import kr.null0xff.blog.repository.PostVersion;
 import kr.null0xff.blog.repository.TagRepository;
 import kr.null0xff.blog.repository.UserRepository;
+import kr.null0xff.blog.search.PostSearchHit;
+import kr.null0xff.blog.search.PostSearchIndex;
+import kr.null0xff.blog.search.RelatedPostsIndex;
+import kr.null0xff.blog.search.SearchHit;
+import kr.null0xff.blog.search.SearchResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,28 +43,28 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class PostService {
 
-  private final PostRepository postRepository;
-  private final UserRepository userRepository;
-  private final CategoryRepository categoryRepository;
-  private final TagRepository tagRepository;
-
   /**
-   * Get all published posts with pagination
+   * Stable ordering used by cursor-based listings. The ID acts as a tie-breaker so that posts
+   * published at the same instant are never skipped or repeated.
    */
-  @Transactional(readOnly = true)
-  public Page<Post> getAllPublishedPosts(Pageable pageable) {
-    log.debug("Finding all published posts with pagination");
-    return postRepository.findByPublishedTrue(pageable);
-  }
+  private static final Sort CURSOR_SORT = Sort.by(Sort.Direction.DESC, "publishedAt", "id");
 
   /**
-   * Get all posts (including drafts) with pagination This would typically be used in admin areas
+   * Largest number of posts per cursor slice, so a single request cannot read the whole table
    */
-  @Transactional(readOnly = true)
-  public Page<Post> getAllPosts(Pageable pageable) {
-    log.debug("Finding all posts with pagination");
-    return postRepository.findAll(pageable);
-  }
+  private static final int MAX_CURSOR_SIZE = 100;
+
+  private final PostRepository postRepository;
+  private final UserRepository userRepository;
+  private final CategoryRepository categoryRepository;
+  private final TagRepository tagRepository;
+  private final TagService tagService;
+  private final PostSearchIndex postSearchIndex;
+  private final RelatedPostsIndex relatedPostsIndex;
+  private final PostCounterService postCounterService;
+  private final SlugAllocator slugAllocator;
+  private final PostDigester postDigester;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Get a single post by its ID
@@ -53,7 +72,7 @@ public class PostService {
   @Transactional(readOnly = true)
   public Post getPostById(Long id) {
     log.debug("Finding post by ID: {}", id);
-    return postRepository.findById(id)
+    return postRepository.findDetailedById(id)
         .orElseThrow(() -> new EntityNotFoundException("Post not found with ID: " + id));
   }
 
@@ -73,6 +92,15 @@ public class PostService {
     return post;
   }
 
+  /**
+   * Get the version of a published post without loading it, for conditional requests
+   */
+  @Transactional(readOnly = true)
+  public PostVersion getPublishedPostVersion(String slug) {
+    return postRepository.findVersionBySlugAndPublishedTrue(slug)
+        .orElseThrow(() -> new EntityNotFoundException("Post not found with slug: " + slug));
+  }
+
   /**
    * Get a single post by its slug (including drafts) This would typically be used in admin areas
    */
@@ -84,59 +112,249 @@ public class PostService {
   }
 
   /**
-   * Search for published posts containing the given query in title or content
+   * Search for published posts matching the given query, with relevance scores and matched terms
+   * for highlighting. Ranking is done by the in-memory search index, the database is only used to
+   * load the posts of the requested page.
    */
   @Transactional(readOnly = true)
-  public Page<Post> searchPublishedPosts(String query, Pageable pageable) {
+  public Page<PostSearchHit> searchPublishedPostHits(String query, Pageable pageable) {
     log.debug("Searching published posts for: {}", query);
-    return postRepository.searchPublishedPosts(query, pageable);
+
+    SearchResult result = postSearchIndex.search(query, pageable.getOffset(),
+        pageable.getPageSize());
+
+    List<Long> postIds = result.getHits().stream()
+        .map(SearchHit::getPostId)
+        .collect(Collectors.toList());
+    Map<Long, Post> postsById = withTags(postRepository.findByIdIn(postIds)).stream()
+        .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+    // Keep the ranking of the index
+    List<PostSearchHit> hits = result.getHits().stream()
+        .filter(hit -> postsById.containsKey(hit.getPostId()))
+        .map(hit -> new PostSearchHit(postsById.get(hit.getPostId()), hit.getScore(),
+            hit.getMatchedTerms()))
+        .collect(Collectors.toList());
+
+    return new PageImpl<>(hits, pageable, result.getTotalHits());
+  }
+
+  /**
+   * Get summaries of all published posts with pagination. Summaries leave out the content, so
+   * listing pages never read it from the database.
+   */
+  @Transactional(readOnly = true)
+  public Page<PostSummaryView> getPublishedPostSummaries(Pageable pageable) {
+    log.debug("Finding published post summaries with pagination");
+    return postRepository.findSummaries(PostSpecifications.isPublished(), pageable);
+  }
+
+  /**
+   * Get summaries of all posts (including drafts) with pagination
+   */
+  @Transactional(readOnly = true)
+  public Page<PostSummaryView> getAllPostSummaries(Pageable pageable) {
+    log.debug("Finding all post summaries with pagination");
+    return postRepository.findSummaries(null, pageable);
+  }
+
+  /**
+   * Search for published posts matching the given query and return their summaries, best matches
+   * first
+   */
+  @Transactional(readOnly = true)
+  public Page<PostSummaryView> searchPublishedPostSummaries(String query, Pageable pageable) {
+    log.debug("Searching published post summaries for: {}", query);
+
+    SearchResult result = postSearchIndex.search(query, pageable.getOffset(),
+        pageable.getPageSize());
+    if (result.getHits().isEmpty()) {
+      return new PageImpl<>(List.of(), pageable, result.getTotalHits());
+    }
+
+    List<Long> postIds = result.getHits().stream()
+        .map(SearchHit::getPostId)
+        .collect(Collectors.toList());
+
+    // Keep the ranking of the index
+    return new PageImpl<>(summariesInOrder(postIds), pageable, result.getTotalHits());
+  }
+
+  /**
+   * Get the IDs of the published posts most related to a published post, best first. Served from
+   * the precomputed related posts index without touching the database.
+   */
+  public List<Long> getRelatedPostIds(Long postId, int limit) {
+    if (limit < 1 || limit > RelatedPostsIndex.NEIGHBORS) {
+      throw new IllegalArgumentException(
+          "Limit must be between 1 and " + RelatedPostsIndex.NEIGHBORS);
+    }
+    if (!relatedPostsIndex.contains(postId)) {
+      throw new EntityNotFoundException("Post not found with ID: " + postId);
+    }
+    return relatedPostsIndex.related(postId, limit);
   }
 
   /**
-   * Get published posts by category
+   * Get the summaries of published posts in the order of the given IDs, skipping posts that are
+   * gone or no longer published
    */
   @Transactional(readOnly = true)
-  public Page<Post> getPostsByCategory(String categorySlug, Pageable pageable) {
-    log.debug("Finding posts by category slug: {}", categorySlug);
+  public List<PostSummaryView> getPublishedPostSummaries(List<Long> postIds) {
+    if (postIds.isEmpty()) {
+      return List.of();
+    }
+    return summariesInOrder(postIds).stream()
+        .filter(PostSummaryView::isPublished)
+        .collect(Collectors.toList());
+  }
+
+  private List<PostSummaryView> summariesInOrder(List<Long> postIds) {
+    Map<Long, PostSummaryView> summariesById = postRepository
+        .findSummaries(PostSpecifications.idIn(postIds), Sort.unsorted(), postIds.size())
+        .stream()
+        .collect(Collectors.toMap(PostSummaryView::getId, Function.identity()));
+
+    return postIds.stream()
+        .filter(summariesById::containsKey)
+        .map(summariesById::get)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Get summaries of published posts by category
+   */
+  @Transactional(readOnly = true)
+  public Page<PostSummaryView> getPostSummariesByCategory(String categorySlug,
+      Pageable pageable) {
+    log.debug("Finding post summaries by category slug: {}", categorySlug);
     Category category = categoryRepository.findBySlug(categorySlug)
         .orElseThrow(
             () -> new EntityNotFoundException("Category not found with slug: " + categorySlug));
 
-    return postRepository.findByCategoryAndPublishedTrue(category, pageable);
+    return postRepository.findSummaries(
+        PostSpecifications.isPublished().and(PostSpecifications.inCategory(category)), pageable);
   }
 
   /**
-   * Get published posts by tag
+   * Get summaries of published posts by tag
    */
   @Transactional(readOnly = true)
-  public Page<Post> getPostsByTag(String tagSlug, Pageable pageable) {
-    log.debug("Finding posts by tag slug: {}", tagSlug);
+  public Page<PostSummaryView> getPostSummariesByTag(String tagSlug, Pageable pageable) {
+    log.debug("Finding post summaries by tag slug: {}", tagSlug);
     Tag tag = tagRepository.findBySlug(tagSlug)
         .orElseThrow(() -> new EntityNotFoundException("Tag not found with slug: " + tagSlug));
 
-    return postRepository.findByTagsContainingAndPublishedTrue(tag, pageable);
+    return postRepository.findSummaries(
+        PostSpecifications.isPublished().and(PostSpecifications.hasTag(tag)), pageable);
   }
 
   /**
-   * Get published posts by author
+   * Get summaries of published posts by author
    */
   @Transactional(readOnly = true)
-  public Page<Post> getPostsByAuthor(String username, Pageable pageable) {
-    log.debug("Finding posts by author username: {}", username);
+  public Page<PostSummaryView> getPostSummariesByAuthor(String username, Pageable pageable) {
+    log.debug("Finding post summaries by author username: {}", username);
     User author = userRepository.findByUsername(username)
         .orElseThrow(
             () -> new EntityNotFoundException("User not found with username: " + username));
 
-    return postRepository.findByAuthorAndPublishedTrue(author, pageable);
+    return postRepository.findSummaries(
+        PostSpecifications.isPublished().and(PostSpecifications.byAuthor(author)), pageable);
   }
 
   /**
-   * Get recent published posts (for featured sections, sidebars, etc.)
+   * Get summaries of recent published posts (for featured sections, sidebars, etc.)
    */
   @Transactional(readOnly = true)
-  public List<Post> getRecentPublishedPosts(int limit) {
-    log.debug("Finding {} recent published posts", limit);
-    return postRepository.findRecentPublishedPosts(Pageable.ofSize(limit));
+  public List<PostSummaryView> getRecentPublishedPostSummaries(int limit) {
+    log.debug("Finding {} recent published post summaries", limit);
+    return postRepository.findSummaries(PostSpecifications.isPublished(),
+        Sort.by(Sort.Direction.DESC, "publishedAt"), limit);
+  }
+
+  /**
+   * Get published posts using a cursor instead of a page number
+   */
+  @Transactional(readOnly = true)
+  public CursorPageResponse<PostSummaryView> getPublishedPostsByCursor(String cursor,
+      int size, boolean includeTotal) {
+    log.debug("Finding published posts after cursor: {}", cursor);
+    return findPublishedByCursor(Specification.where(null), cursor, size, includeTotal);
+  }
+
+  /**
+   * Get published posts by category using a cursor instead of a page number
+   */
+  @Transactional(readOnly = true)
+  public CursorPageResponse<PostSummaryView> getPostsByCategoryAndCursor(String categorySlug,
+      String cursor, int size, boolean includeTotal) {
+    log.debug("Finding posts by category slug: {} after cursor: {}", categorySlug, cursor);
+    Category category = categoryRepository.findBySlug(categorySlug)
+        .orElseThrow(
+            () -> new EntityNotFoundException("Category not found with slug: " + categorySlug));
+
+    return findPublishedByCursor(PostSpecifications.inCategory(category), cursor, size,
+        includeTotal);
+  }
+
+  /**
+   * Get published posts by tag using a cursor instead of a page number
+   */
+  @Transactional(readOnly = true)
+  public CursorPageResponse<PostSummaryView> getPostsByTagAndCursor(String tagSlug,
+      String cursor, int size, boolean includeTotal) {
+    log.debug("Finding posts by tag slug: {} after cursor: {}", tagSlug, cursor);
+    Tag tag = tagRepository.findBySlug(tagSlug)
+        .orElseThrow(() -> new EntityNotFoundException("Tag not found with slug: " + tagSlug));
+
+    return findPublishedByCursor(PostSpecifications.hasTag(tag), cursor, size, includeTotal);
+  }
+
+  /**
+   * Get published posts by author using a cursor instead of a page number
+   */
+  @Transactional(readOnly = true)
+  public CursorPageResponse<PostSummaryView> getPostsByAuthorAndCursor(String username,
+      String cursor, int size, boolean includeTotal) {
+    log.debug("Finding posts by author username: {} after cursor: {}", username, cursor);
+    User author = userRepository.findByUsername(username)
+        .orElseThrow(
+            () -> new EntityNotFoundException("User not found with username: " + username));
+
+    return findPublishedByCursor(PostSpecifications.byAuthor(author), cursor, size, includeTotal);
+  }
+
+  /**
+   * Seek to the position encoded in the cursor and read one extra row to find out whether another
+   * slice follows. The total is only counted when the caller asks for it.
+   */
+  private CursorPageResponse<PostSummaryView> findPublishedByCursor(Specification<Post> filter,
+      String cursor, int size, boolean includeTotal) {
+    if (size < 1 || size > MAX_CURSOR_SIZE) {
+      throw new IllegalArgumentException("Size must be between 1 and " + MAX_CURSOR_SIZE);
+    }
+
+    Specification<Post> published = PostSpecifications.isPublished().and(filter);
+    Specification<Post> slice = published;
+    if (cursor != null && !cursor.isEmpty()) {
+      PostCursor position = PostCursor.decode(cursor);
+      slice = slice.and(
+          PostSpecifications.publishedBefore(position.getPublishedAt(), position.getId()));
+    }
+
+    List<PostSummaryView> posts = postRepository.findSummaries(slice, CURSOR_SORT, size + 1);
+
+    boolean hasNext = posts.size() > size;
+    List<PostSummaryView> content = hasNext ? posts.subList(0, size) : posts;
+
+    return CursorPageResponse.<PostSummaryView>builder()
+        .content(content)
+        .size(size)
+        .hasNext(hasNext)
+        .nextCursor(hasNext ? PostCursor.of(content.get(size - 1)).encode() : null)
+        .totalElements(includeTotal ? postRepository.count(published) : null)
+        .build();
   }
 
   /**
@@ -151,6 +369,11 @@ public class PostService {
         .orElseThrow(() -> new EntityNotFoundException("User not found with ID: " + authorId));
     post.setAuthor(author);
 
+    // Posts created as published need a publish date, cursor-based listings are keyed on it
+    if (post.isPublished()) {
+      post.publish();
+    }
+
     // Set the category if provided
     if (categoryId != null) {
       Category category = categoryRepository.findById(categoryId)
@@ -161,25 +384,22 @@ public class PostService {
 
     // Process tags
     if (tagNames != null && !tagNames.isEmpty()) {
-      Set<Tag> tags = tagNames.stream()
-          .map(tagName -> {
-            // Find or create tag
-            return tagRepository.findByName(tagName)
-                .orElseGet(() -> {
-                  Tag newTag = new Tag();
-                  newTag.setName(tagName);
-                  // Generate a slug from the tag name
-                  newTag.setSlug(tagName.toLowerCase().replace(' ', '-'));
-                  return tagRepository.save(newTag);
-                });
-          })
-          .collect(Collectors.toSet());
+      // Find or create all tags at once
+      Set<Tag> tags = tagService.resolveTags(tagNames);
 
       // Add all tags to the post
       tags.forEach(post::addTag);
     }
 
-    return postRepository.save(post);
+    // Listings show the digest instead of reading the content
+    post.applyDigest(postDigester.digest(post.getContent()));
+
+    Post savedPost = postRepository.save(post);
+    PostSnapshot after = PostSnapshot.of(savedPost);
+    postCounterService.applyChange(null, after);
+    eventPublisher.publishEvent(new PostChangedEvent(PostChangedEvent.Type.CREATED, null, after));
+
+    return savedPost;
   }
 
   /**
@@ -189,14 +409,16 @@ public class PostService {
   public Post updatePost(Long postId, Post updatedPost, Long categoryId, Set<String> tagNames) {
     log.debug("Updating post with ID: {}", postId);
 
-    Post existingPost = postRepository.findById(postId)
+    Post existingPost = postRepository.findDetailedById(postId)
         .orElseThrow(() -> new EntityNotFoundException("Post not found with ID: " + postId));
+    PostSnapshot before = PostSnapshot.of(existingPost);
 
     // Update basic fields
     existingPost.setTitle(updatedPost.getTitle());
     existingPost.setSlug(updatedPost.getSlug());
     existingPost.setDescription(updatedPost.getDescription());
     existingPost.setContent(updatedPost.getContent());
+    existingPost.applyDigest(postDigester.digest(updatedPost.getContent()));
     existingPost.setImageUrl(updatedPost.getImageUrl());
 
     // Update published status
@@ -222,26 +444,22 @@ public class PostService {
       // Remove all existing tags
       existingPost.getTags().clear();
 
-      // Add new tags
-      Set<Tag> tags = tagNames.stream()
-          .map(tagName -> {
-            // Find or create tag
-            return tagRepository.findByName(tagName)
-                .orElseGet(() -> {
-                  Tag newTag = new Tag();
-                  newTag.setName(tagName);
-                  // Generate a slug from the tag name
-                  newTag.setSlug(tagName.toLowerCase().replace(' ', '-'));
-                  return tagRepository.save(newTag);
-                });
-          })
-          .collect(Collectors.toSet());
+      // Find or create all new tags at once
+      Set<Tag> tags = tagService.resolveTags(tagNames);
 
       // Add all tags to the post
       tags.forEach(existingPost::addTag);
+
+      // Tag changes alone do not update the post row, touch it so its validators change too
+      existingPost.setUpdatedAt(LocalDateTime.now());
     }
 
-    return postRepository.save(existingPost);
+    Post savedPost = postRepository.save(existingPost);
+    PostSnapshot after = PostSnapshot.of(savedPost);
+    postCounterService.applyChange(before, after);
+    eventPublisher.publishEvent(new PostChangedEvent(PostChangedEvent.Type.UPDATED, before, after));
+
+    return savedPost;
   }
 
   /**
@@ -251,11 +469,18 @@ public class PostService {
   public Post publishPost(Long postId) {
     log.debug("Publishing post with ID: {}", postId);
 
-    Post post = postRepository.findById(postId)
+    Post post = postRepository.findDetailedById(postId)
         .orElseThrow(() -> new EntityNotFoundException("Post not found with ID: " + postId));
 
+    PostSnapshot before = PostSnapshot.of(post);
+
     post.publish();
-    return postRepository.save(post);
+    Post savedPost = postRepository.save(post);
+    PostSnapshot after = PostSnapshot.of(savedPost);
+    postCounterService.applyChange(before, after);
+    eventPublisher.publishEvent(new PostChangedEvent(PostChangedEvent.Type.PUBLISHED, before, after));
+
+    return savedPost;
   }
 
   /**
@@ -265,11 +490,14 @@ public class PostService {
   public void deletePost(Long postId) {
     log.debug("Deleting post with ID: {}", postId);
 
-    if (!postRepository.existsById(postId)) {
-      throw new EntityNotFoundException("Post not found with ID: " + postId);
-    }
+    Post post = postRepository.findById(postId)
+        .orElseThrow(() -> new EntityNotFoundException("Post not found with ID: " + postId));
+    PostSnapshot before = PostSnapshot.of(post);
 
-    postRepository.deleteById(postId);
+    postRepository.delete(post);
+    postCounterService.applyChange(before, null);
+    eventPublisher.publishEvent(
+        new PostChangedEvent(PostChangedEvent.Type.DELETED, before, null));
   }
 
   /**
@@ -285,24 +513,18 @@ public class PostService {
    */
   @Transactional(readOnly = true)
   public String generateUniqueSlug(String title) {
-    // Convert title to lowercase and replace spaces with hyphens
-    String baseSlug = title.toLowerCase()
-        .replaceAll("[^a-z0-9\\s]", "") // Remove non-alphanumeric chars
-        .replaceAll("\\s+", "-"); // Replace spaces with hyphens
-
-    // Check if the base slug is already in use
-    if (!isSlugInUse(baseSlug)) {
-      return baseSlug;
-    }
-
-    // If the slug is in use, append a number until we find a unique slug
-    int counter = 1;
-    String newSlug;
-    do {
-      newSlug = baseSlug + "-" + counter;
-      counter++;
-    } while (isSlugInUse(newSlug));
+    return slugAllocator.suggest(title, postRepository::findSlugsByBase);
+  }
 
-    return newSlug;
+  /**
+   * Load the tags of the posts of a search page with one extra query instead of one per post.
+   * Authors and categories are fetched by the entity graph of the query, so the posts can be
+   * mapped to responses after the transaction has closed.
+   */
+  private List<Post> withTags(List<Post> posts) {
+    if (!posts.isEmpty()) {
+      postRepository.fetchTags(posts);
+    }
+    return posts;
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,168 @@
+package kr.null0xff.blog.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Generates unique slugs from names and titles. The slugs already derived from a base are loaded
+ * with one prefix query and the next free suffix is computed in memory, instead of probing
+ * {@code base-1}, {@code base-2}, ... one query at a time.
+ * <p>
+ * Slugs handed out by {@link #allocate} stay reserved until the surrounding transaction
+ * completes, so parallel creates in this instance never pick the same slug. A race with another
+ * instance is still caught by the unique constraint on the slug column and reported as a 409.
+ * <p>
+ * Allocation runs the slug queries while holding the lock, so it uses a {@link ReentrantLock}
+ * rather than {@code synchronized}, which would pin the carrier of a virtual thread for the
+ * duration of the query.
+ */
+@Component
+public class SlugAllocator {
+
+  private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9\\s]");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  // entity type -> slugs allocated by transactions that have not completed yet
+  private final Map<Class<?>, Set<String>> reserved = new HashMap<>();
+  private final ReentrantLock lock = new ReentrantLock();
+
+  /**
+   * Convert a name or title to its base slug
+   */
+  public static String slugify(String text) {
+    // Remove non-alphanumeric chars, then replace spaces with hyphens
+    String slug = NON_ALPHANUMERIC.matcher(text.toLowerCase()).replaceAll("");
+    return WHITESPACE.matcher(slug).replaceAll("-");
+  }
+
+  /**
+   * Find the first free slug for a text without reserving it, for suggestions shown to the user
+   *
+   * @param text          the name or title to derive the slug from
+   * @param existingSlugs looks up the slugs derived from a base slug
+   */
+  public String suggest(String text, Function<String, Collection<String>> existingSlugs) {
+    String base = slugify(text);
+    return nextFree(base, new HashSet<>(existingSlugs.apply(base)));
+  }
+
+  /**
+   * Find the first free slug for a text and reserve it until the current transaction completes
+   *
+   * @param type          the entity the slug is allocated for
+   * @param text          the name or title to derive the slug from
+   * @param existingSlugs looks up the slugs derived from a base slug
+   */
+  public String allocate(Class<?> type, String text,
+      Function<String, Collection<String>> existingSlugs) {
+    String base = slugify(text);
+
+    lock.lock();
+    try {
+      Set<String> taken = new HashSet<>(existingSlugs.apply(base));
+      taken.addAll(pending(type));
+      String slug = nextFree(base, taken);
+
+      reserve(type, List.of(slug));
+      return slug;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Allocate slugs for several texts at once, e.g. for a batch of new tags. One query checks all
+   * base slugs; only bases that are already taken need a prefix query of their own.
+   *
+   * @param type          the entity the slugs are allocated for
+   * @param texts         the names or titles to derive the slugs from
+   * @param existingSlugs looks up the slugs derived from a base slug
+   * @param takenSlugs    looks up which of the given slugs are already in use
+   * @return the allocated slugs, in the order of the texts
+   */
+  public List<String> allocateAll(Class<?> type, List<String> texts,
+      Function<String, Collection<String>> existingSlugs,
+      Function<Collection<String>, Collection<String>> takenSlugs) {
+    List<String> bases = texts.stream()
+        .map(SlugAllocator::slugify)
+        .collect(Collectors.toList());
+
+    lock.lock();
+    try {
+      Set<String> taken = new HashSet<>(takenSlugs.apply(new HashSet<>(bases)));
+      taken.addAll(pending(type));
+
+      List<String> slugs = new ArrayList<>(bases.size());
+      for (String base : bases) {
+        if (taken.contains(base)) {
+          taken.addAll(existingSlugs.apply(base));
+        }
+        String slug = nextFree(base, taken);
+        taken.add(slug);
+        slugs.add(slug);
+      }
+
+      reserve(type, slugs);
+      return slugs;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private Set<String> pending(Class<?> type) {
+    return reserved.computeIfAbsent(type, t -> new HashSet<>());
+  }
+
+  /**
+   * Keep slugs reserved until the current transaction completes (no-op outside a transaction)
+   */
+  private void reserve(Class<?> type, List<String> slugs) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+
+    pending(type).addAll(slugs);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        release(type, slugs);
+      }
+    });
+  }
+
+  private void release(Class<?> type, Collection<String> slugs) {
+    lock.lock();
+    try {
+      reserved.get(type).removeAll(slugs);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * The base itself if it is free, otherwise the base with the lowest free numeric suffix
+   */
+  static String nextFree(String base, Set<String> taken) {
+    if (!taken.contains(base)) {
+      return base;
+    }
+
+    int counter = 1;
+    while (taken.contains(base + "-" + counter)) {
+      counter++;
+    }
+    return base + "-" + counter;
+  }
+}
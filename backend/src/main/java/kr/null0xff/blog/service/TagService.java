@@ -1,13 +1,30 @@
 package kr.null0xff.blog.service;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 import kr.null0xff.blog.entity.Tag;
+import kr.null0xff.blog.event.TagChangedEvent;
 import kr.null0xff.blog.repository.TagRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,7 +34,14 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class TagService {
 
+  private static final int MAX_CREATE_ATTEMPTS = 3;
+
   private final TagRepository tagRepository;
+  private final SlugAllocator slugAllocator;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @PersistenceContext
+  private EntityManager entityManager;
 
   /**
    * Get all tags
@@ -41,7 +65,9 @@ public class TagService {
     return results.stream()
         .collect(Collectors.toMap(
             row -> (Tag) row[0],
-            row -> (Long) row[1]
+            row -> (Long) row[1],
+            (a, b) -> a,
+            LinkedHashMap::new
         ));
   }
 
@@ -52,12 +78,19 @@ public class TagService {
   public Map<Tag, Long> getPopularTags(int limit) {
     log.debug("Finding {} popular tags", limit);
 
-    List<Object[]> results = tagRepository.findPopularTags(limit);
+    if (limit < 1) {
+      throw new IllegalArgumentException("Limit must be at least 1");
+    }
+
+    List<Object[]> results = tagRepository.findPopularTags(PageRequest.ofSize(limit));
 
+    // Keep the ranking of the query
     return results.stream()
         .collect(Collectors.toMap(
             row -> (Tag) row[0],
-            row -> (Long) row[1]
+            row -> (Long) row[1],
+            (a, b) -> a,
+            LinkedHashMap::new
         ));
   }
 
@@ -119,7 +152,11 @@ public class TagService {
       throw new IllegalArgumentException("A tag with this slug already exists");
     }
 
-    return tagRepository.save(tag);
+    Tag savedTag = tagRepository.save(tag);
+    eventPublisher.publishEvent(
+        new TagChangedEvent(TagChangedEvent.Type.CREATED, savedTag.getId()));
+
+    return savedTag;
   }
 
   /**
@@ -152,7 +189,11 @@ public class TagService {
     existingTag.setSlug(newSlug);
     existingTag.setDescription(updatedTag.getDescription());
 
-    return tagRepository.save(existingTag);
+    Tag savedTag = tagRepository.save(existingTag);
+    eventPublisher.publishEvent(
+        new TagChangedEvent(TagChangedEvent.Type.UPDATED, savedTag.getId()));
+
+    return savedTag;
   }
 
   /**
@@ -170,6 +211,7 @@ public class TagService {
 
     // Now we can safely delete the tag
     tagRepository.delete(tag);
+    eventPublisher.publishEvent(new TagChangedEvent(TagChangedEvent.Type.DELETED, tagId));
   }
 
   /**
@@ -184,25 +226,7 @@ public class TagService {
    * Generate a slug from a tag name
    */
   private String generateSlugFromName(String name) {
-    // Convert to lowercase and replace spaces with hyphens
-    String baseSlug = name.toLowerCase()
-        .replaceAll("[^a-z0-9\\s]", "") // Remove non-alphanumeric chars
-        .replaceAll("\\s+", "-"); // Replace spaces with hyphens
-
-    // Check if the base slug is already in use
-    if (!isSlugInUse(baseSlug)) {
-      return baseSlug;
-    }
-
-    // If the slug is in use, append a number until we find a unique slug
-    int counter = 1;
-    String newSlug;
-    do {
-      newSlug = baseSlug + "-" + counter;
-      counter++;
-    } while (isSlugInUse(newSlug));
-
-    return newSlug;
+    return slugAllocator.allocate(Tag.class, name, tagRepository::findSlugsByBase);
   }
 
   /**
@@ -211,13 +235,93 @@ public class TagService {
   @Transactional
   public Tag getOrCreateTag(String tagName) {
     log.debug("Getting or creating tag: {}", tagName);
+    return resolveTags(List.of(tagName)).iterator().next();
+  }
+
+  /**
+   * Find or create the tags with the given names. Existing tags are loaded with one query and the
+   * missing ones are inserted together behind a savepoint, so that a tag created concurrently by
+   * another request only costs a retry instead of failing the caller.
+   * <p>
+   * New tags are inserted in the caller's transaction on its connection and roll back with it.
+   *
+   * @param tagNames the names of the tags, matched ignoring case
+   * @return the tags, one per name ignoring case, in the order of the names
+   */
+  @Transactional
+  public Set<Tag> resolveTags(Collection<String> tagNames) {
+    // Names are matched case-insensitively, like the unique index under MariaDB's collation
+    Set<String> seen = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    List<String> names = tagNames.stream()
+        .filter(seen::add)
+        .collect(Collectors.toList());
+    if (names.isEmpty()) {
+      return new LinkedHashSet<>();
+    }
+
+    Map<String, Tag> tagsByName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    tagRepository.findByNameIn(names).forEach(tag -> tagsByName.put(tag.getName(), tag));
+
+    List<String> missing = missingNames(names, tagsByName);
+    for (int attempt = 1; !missing.isEmpty(); attempt++) {
+      try {
+        insertTags(missing);
+        tagRepository.findByNameIn(missing).forEach(tag -> tagsByName.put(tag.getName(), tag));
+      } catch (ConstraintViolationException ex) {
+        if (attempt == MAX_CREATE_ATTEMPTS) {
+          throw new DataIntegrityViolationException("Could not create tags " + missing, ex);
+        }
+        log.debug("Tags {} were created concurrently, retrying", missing);
+
+        // Committed by another transaction, possibly after this one took its snapshot, which only
+        // a locking read sees
+        tagRepository.lockByNameIn(missing).forEach(tag -> tagsByName.put(tag.getName(), tag));
+      }
+      missing = missingNames(names, tagsByName);
+    }
+
+    return names.stream()
+        .map(tagsByName::get)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  /**
+   * Insert new tags on the connection of the current transaction. The inserts bypass the
+   * persistence context, so a conflict rolled back to the savepoint leaves nothing behind in it.
+   */
+  private void insertTags(List<String> names) {
+    List<String> slugs = slugAllocator.allocateAll(Tag.class, names,
+        tagRepository::findSlugsByBase, tagRepository::findSlugsIn);
+
+    List<Tag> newTags = new ArrayList<>(names.size());
+    for (int i = 0; i < names.size(); i++) {
+      Tag newTag = new Tag();
+      newTag.setName(names.get(i));
+      newTag.setSlug(slugs.get(i));
+      newTags.add(newTag);
+    }
+
+    Session session = entityManager.unwrap(Session.class);
+    session.doWork(connection -> {
+      Savepoint savepoint = connection.setSavepoint();
+      try (StatelessSession inserter = session.getSessionFactory().withStatelessOptions()
+          .connection(connection)
+          .openStatelessSession()) {
+        newTags.forEach(inserter::insert);
+      } catch (RuntimeException ex) {
+        connection.rollback(savepoint);
+        throw ex;
+      }
+      connection.releaseSavepoint(savepoint);
+    });
+
+    newTags.forEach(tag -> eventPublisher.publishEvent(
+        new TagChangedEvent(TagChangedEvent.Type.CREATED, tag.getId())));
+  }
 
-    return tagRepository.findByName(tagName)
-        .orElseGet(() -> {
-          Tag newTag = new Tag();
-          newTag.setName(tagName);
-          newTag.setSlug(generateSlugFromName(tagName));
-          return tagRepository.save(newTag);
-        });
+  private static List<String> missingNames(List<String> names, Map<String, Tag> tagsByName) {
+    return names.stream()
+        .filter(name -> !tagsByName.containsKey(name))
+        .collect(Collectors.toList());
   }
-}
\ No newline at end of file
+}
@@ -4,10 +4,12 @@ import jakarta.persistence.EntityNotFoundException;
 import java.util.List;
 import java.util.Optional;
 import kr.null0xff.blog.entity.User;
+import kr.null0xff.blog.event.UserChangedEvent;
 import kr.null0xff.blog.repository.PostRepository;
 import kr.null0xff.blog.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +20,7 @@ public class UserService {
 
   private final UserRepository userRepository;
   private final PostRepository postRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Get all users
@@ -94,7 +97,11 @@ public class UserService {
     // In a real application, you would encode the password here
     // user.setPassword(passwordEncoder.encode(user.getPassword()));
 
-    return userRepository.save(user);
+    User savedUser = userRepository.save(user);
+    eventPublisher.publishEvent(
+        new UserChangedEvent(UserChangedEvent.Type.CREATED, savedUser.getId()));
+
+    return savedUser;
   }
 
   /**
@@ -126,7 +133,10 @@ public class UserService {
     existingUser.setBio(updatedUser.getBio());
     existingUser.setAvatarUrl(updatedUser.getAvatarUrl());
 
-    return userRepository.save(existingUser);
+    User savedUser = userRepository.save(existingUser);
+    eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.UPDATED, userId));
+
+    return savedUser;
   }
 
   /**
@@ -168,6 +178,7 @@ public class UserService {
     }
 
     userRepository.deleteById(userId);
+    eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.DELETED, userId));
   }
 
   /**
@@ -0,0 +1,145 @@
+package kr.null0xff.blog.trending;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import kr.null0xff.blog.util.LongLongHashMap;
+
+/**
+ * Binary max-heap of scores per ID in primitive arrays, with the slot of every ID indexed so a
+ * score can be raised or removed in O(log n) and the best {@code k} read in O(k log k) without
+ * taking the heap apart. Not thread-safe.
+ */
+class ScoreHeap {
+
+  private long[] ids = new long[16];
+  private double[] scores = new double[16];
+  private int size;
+
+  // ID -> slot + 1, since the map reads zero for missing keys
+  private final LongLongHashMap slots = new LongLongHashMap();
+
+  int size() {
+    return size;
+  }
+
+  boolean contains(long id) {
+    return slots.containsKey(id);
+  }
+
+  /**
+   * Add to the score of an ID, adding the ID if it is not in the heap yet
+   */
+  void add(long id, double delta) {
+    int slot = (int) slots.get(id) - 1;
+    if (slot < 0) {
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, size * 2);
+        scores = Arrays.copyOf(scores, size * 2);
+      }
+      slot = size++;
+      ids[slot] = id;
+      scores[slot] = 0;
+      slots.put(id, slot + 1);
+    }
+
+    scores[slot] += delta;
+    if (delta >= 0) {
+      siftUp(slot);
+    } else {
+      siftDown(slot);
+    }
+  }
+
+  void remove(long id) {
+    int slot = (int) slots.remove(id) - 1;
+    if (slot < 0) {
+      return;
+    }
+
+    int last = --size;
+    if (slot != last) {
+      move(last, slot);
+      siftDown(slot);
+      siftUp(slot);
+    }
+  }
+
+  /**
+   * Multiply every score by the same factor, which keeps their order
+   */
+  void scale(double factor) {
+    for (int i = 0; i < size; i++) {
+      scores[i] *= factor;
+    }
+  }
+
+  /**
+   * The IDs with the highest scores and their scores, best first
+   */
+  List<Entry> top(int k) {
+    List<Entry> top = new ArrayList<>(Math.min(k, size));
+
+    // Candidates are the children of the slots taken so far, the root first
+    PriorityQueue<Integer> frontier = new PriorityQueue<>(
+        (a, b) -> Double.compare(scores[b], scores[a]));
+    if (size > 0) {
+      frontier.add(0);
+    }
+    while (top.size() < k && !frontier.isEmpty()) {
+      int slot = frontier.poll();
+      top.add(new Entry(ids[slot], scores[slot]));
+      for (int child = 2 * slot + 1; child <= 2 * slot + 2 && child < size; child++) {
+        frontier.add(child);
+      }
+    }
+    return top;
+  }
+
+  record Entry(long id, double score) {
+
+  }
+
+  private void siftUp(int slot) {
+    while (slot > 0) {
+      int parent = (slot - 1) / 2;
+      if (scores[parent] >= scores[slot]) {
+        return;
+      }
+      swap(slot, parent);
+      slot = parent;
+    }
+  }
+
+  private void siftDown(int slot) {
+    while (true) {
+      int best = slot;
+      for (int child = 2 * slot + 1; child <= 2 * slot + 2 && child < size; child++) {
+        if (scores[child] > scores[best]) {
+          best = child;
+        }
+      }
+      if (best == slot) {
+        return;
+      }
+      swap(slot, best);
+      slot = best;
+    }
+  }
+
+  private void swap(int a, int b) {
+    long id = ids[a];
+    double score = scores[a];
+    move(b, a);
+    ids[b] = id;
+    scores[b] = score;
+    slots.put(id, b + 1);
+  }
+
+  private void move(int from, int to) {
+    ids[to] = ids[from];
+    scores[to] = scores[from];
+    slots.put(ids[to], to + 1);
+  }
+}
@@ -0,0 +1,11 @@
+package kr.null0xff.blog.trending;
+
+/**
+ * A post in the trending ranking
+ *
+ * @param postId the ID of the post
+ * @param score  its decayed activity score when the ranking was taken
+ */
+public record TrendingPost(long postId, double score) {
+
+}
@@ -0,0 +1,220 @@
+package kr.null0xff.blog.trending;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import kr.null0xff.blog.config.TrendingProperties;
+import kr.null0xff.blog.event.CommentChangedEvent;
+import kr.null0xff.blog.event.PostChangedEvent;
+import kr.null0xff.blog.event.PostViewsFlushedEvent;
+import kr.null0xff.blog.repository.CommentApproval;
+import kr.null0xff.blog.repository.CommentRepository;
+import kr.null0xff.blog.repository.PostPublication;
+import kr.null0xff.blog.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Ranks published posts by recent activity: views, approved comments and the publication itself
+ * each add to the score of a post, and every contribution loses half its weight per configured
+ * half-life.
+ * <p>
+ * Instead of decaying all scores as time passes, a contribution is scaled up by how far it lies
+ * after a reference time, which ranks the same way; the scores are rebased every few dozen
+ * half-lives so they stay finite. The scores live in an indexed max-heap that each signal updates
+ * in O(log n), and the ranking served by the API is a snapshot of the top of the heap taken on a
+ * schedule, so requests never aggregate anything.
+ */
+@Component
+@Slf4j
+public class TrendingPosts {
+
+  // Rebase once contributions are scaled by 2^32, far from the limits of a double
+  private static final double REBASE_HALF_LIVES = 32;
+
+  // Posts whose activity has decayed below a hundredth of a view are not trending
+  private static final double MIN_SCORE = 0.01;
+
+  private final TrendingProperties properties;
+  private final PostRepository postRepository;
+  private final CommentRepository commentRepository;
+  private final Clock clock;
+  private final double halfLifeMillis;
+
+  // Guards the heap and the reference time
+  private final ReentrantLock lock = new ReentrantLock();
+  private final ScoreHeap scores = new ScoreHeap();
+  private long epochMillis;
+
+  private volatile List<TrendingPost> ranking = List.of();
+
+  @Autowired
+  public TrendingPosts(TrendingProperties properties, PostRepository postRepository,
+      CommentRepository commentRepository) {
+    this(properties, postRepository, commentRepository, Clock.systemDefaultZone());
+  }
+
+  /**
+   * @param clock the time the scores decay with, replaced in tests
+   */
+  TrendingPosts(TrendingProperties properties, PostRepository postRepository,
+      CommentRepository commentRepository, Clock clock) {
+    this.properties = properties;
+    this.postRepository = postRepository;
+    this.commentRepository = commentRepository;
+    this.clock = clock;
+    this.halfLifeMillis = properties.getHalfLife().toMillis();
+    this.epochMillis = clock.millis();
+  }
+
+  /**
+   * The trending published posts, best first, as of the last snapshot
+   *
+   * @param limit the maximum number of posts, at most the configured ranking size
+   */
+  public List<TrendingPost> trending(int limit) {
+    if (limit < 1 || limit > properties.getRankingSize()) {
+      throw new IllegalArgumentException(
+          "Limit must be between 1 and " + properties.getRankingSize());
+    }
+    List<TrendingPost> current = ranking;
+    return current.subList(0, Math.min(limit, current.size()));
+  }
+
+  /**
+   * Score every published post by its publication and the comments approved recently. Views
+   * before the start are not timestamped and only count from now on.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    List<PostPublication> publications = postRepository.findPublications();
+    List<CommentApproval> approvals = commentRepository.findApprovalsSince(
+        LocalDateTime.now(clock).minus(properties.getStartupWindow()));
+
+    lock.lock();
+    try {
+      for (PostPublication publication : publications) {
+        scores.add(publication.getId(),
+            properties.getPublishWeight() * weight(millis(publication.getPublishedAt())));
+      }
+      for (CommentApproval approval : approvals) {
+        if (scores.contains(approval.getPostId())) {
+          scores.add(approval.getPostId(),
+              properties.getCommentWeight() * weight(millis(approval.getUpdatedAt())));
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    snapshot();
+    log.info("Trending posts ranked {} posts and {} recent comments", publications.size(),
+        approvals.size());
+  }
+
+  /**
+   * Add and remove posts as they are published and unpublished
+   */
+  @TransactionalEventListener
+  public void onPostChanged(PostChangedEvent event) {
+    if (event.isPublished() == event.wasPublished()) {
+      return;
+    }
+
+    lock.lock();
+    try {
+      if (event.isPublished()) {
+        scores.add(event.getPostId(), properties.getPublishWeight()
+            * weight(millis(event.getAfter().getPublishedAt())));
+      } else {
+        scores.remove(event.getPostId());
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @TransactionalEventListener
+  public void onCommentChanged(CommentChangedEvent event) {
+    if (event.getType() != CommentChangedEvent.Type.APPROVED) {
+      return;
+    }
+
+    lock.lock();
+    try {
+      if (scores.contains(event.getPostId())) {
+        scores.add(event.getPostId(),
+            properties.getCommentWeight() * weight(clock.millis()));
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @EventListener
+  public void onViewsFlushed(PostViewsFlushedEvent event) {
+    lock.lock();
+    try {
+      double weight = properties.getViewWeight() * weight(clock.millis());
+      event.getViews().forEach((postId, views) -> {
+        if (scores.contains(postId)) {
+          scores.add(postId, views * weight);
+        }
+      });
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Publish the top of the heap as the ranking, with the scores decayed to the current time
+   */
+  @Scheduled(fixedDelayString = "${blog.trending.snapshot-interval}")
+  public void snapshot() {
+    long now = clock.millis();
+
+    lock.lock();
+    try {
+      if ((now - epochMillis) / halfLifeMillis > REBASE_HALF_LIVES) {
+        scores.scale(decay(now));
+        epochMillis = now;
+      }
+
+      double decay = decay(now);
+      ranking = scores.top(properties.getRankingSize()).stream()
+          .map(entry -> new TrendingPost(entry.id(), entry.score() * decay))
+          .filter(post -> post.score() >= MIN_SCORE)
+          .toList();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * The factor of a contribution made at a time, relative to the reference time; caller holds the
+   * lock
+   */
+  private double weight(long millis) {
+    return Math.pow(2, (millis - epochMillis) / halfLifeMillis);
+  }
+
+  /**
+   * The factor that turns scores relative to the reference time into current scores; caller holds
+   * the lock
+   */
+  private double decay(long now) {
+    return Math.pow(2, -(now - epochMillis) / halfLifeMillis);
+  }
+
+  private long millis(LocalDateTime time) {
+    return time != null
+        ? time.atZone(clock.getZone()).toInstant().toEpochMilli()
+        : clock.millis();
+  }
+}
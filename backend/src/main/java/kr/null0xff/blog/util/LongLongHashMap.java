@@ -0,0 +1,164 @@
+package kr.null0xff.blog.util;
+
+/**
+ * Hash map from {@code long} keys to {@code long} values stored in two primitive arrays with
+ * linear probing, so counting per ID allocates nothing. Zero is reserved to mark empty slots and
+ * cannot be used as a key, which suits database IDs. Not thread-safe.
+ */
+public class LongLongHashMap {
+
+  /**
+   * Receives the entries of a map
+   */
+  @FunctionalInterface
+  public interface EntryConsumer {
+
+    void accept(long key, long value);
+  }
+
+  private static final int MIN_CAPACITY = 8;
+
+  private long[] keys;
+  private long[] values;
+  private int mask;
+  private int size;
+
+  public LongLongHashMap() {
+    this(MIN_CAPACITY / 2);
+  }
+
+  /**
+   * @param expectedSize the number of entries the map should hold without growing
+   */
+  public LongLongHashMap(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    while (capacity / 2 < expectedSize) {
+      capacity <<= 1;
+    }
+    allocate(capacity);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public boolean containsKey(long key) {
+    return keys[find(key)] != 0;
+  }
+
+  /**
+   * The value of a key, or zero if it has none
+   */
+  public long get(long key) {
+    return values[find(key)];
+  }
+
+  public void put(long key, long value) {
+    int slot = find(key);
+    if (keys[slot] == 0) {
+      insert(slot, key, value);
+    } else {
+      values[slot] = value;
+    }
+  }
+
+  /**
+   * Add to the value of a key, starting from zero if it has none
+   *
+   * @return the new value
+   */
+  public long addTo(long key, long delta) {
+    int slot = find(key);
+    if (keys[slot] == 0) {
+      insert(slot, key, delta);
+      return delta;
+    }
+    return values[slot] += delta;
+  }
+
+  /**
+   * Remove a key
+   *
+   * @return its value, or zero if it had none
+   */
+  public long remove(long key) {
+    int gap = find(key);
+    if (keys[gap] == 0) {
+      return 0;
+    }
+    long removed = values[gap];
+
+    // Shift later entries of the probe sequence back into the gap, so lookups never stop early
+    for (int next = (gap + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+      int home = slot(keys[next]);
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        keys[gap] = keys[next];
+        values[gap] = values[next];
+        gap = next;
+      }
+    }
+    keys[gap] = 0;
+    values[gap] = 0;
+    size--;
+    return removed;
+  }
+
+  public void forEach(EntryConsumer consumer) {
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != 0) {
+        consumer.accept(keys[i], values[i]);
+      }
+    }
+  }
+
+  /**
+   * The slot holding a key, or the empty slot where it would be inserted
+   */
+  private int find(long key) {
+    if (key == 0) {
+      throw new IllegalArgumentException("Zero cannot be used as a key");
+    }
+    int slot = slot(key);
+    while (keys[slot] != 0 && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private int slot(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+  private void insert(int slot, long key, long value) {
+    keys[slot] = key;
+    values[slot] = value;
+    // Kept at most half full, so probe sequences stay short
+    if (++size > keys.length / 2) {
+      grow();
+    }
+  }
+
+  private void grow() {
+    long[] oldKeys = keys;
+    long[] oldValues = values;
+    allocate(oldKeys.length << 1);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != 0) {
+        int slot = find(oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new long[capacity];
+    mask = capacity - 1;
+  }
+}
@@ -0,0 +1,58 @@
+package kr.null0xff.blog.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the best {@code k} of a stream of items in a bounded min-heap, so ranking {@code n} items
+ * costs O(n log k) time and O(k) memory instead of sorting all of them.
+ *
+ * @param <T> the type of the ranked items
+ */
+public class TopK<T> {
+
+  private final int k;
+  private final Comparator<? super T> order;
+
+  // Worst retained item at the head, so it can be evicted in O(log k)
+  private final PriorityQueue<T> heap;
+
+  /**
+   * @param k     the number of items to keep
+   * @param order the ranking, best items first
+   */
+  public TopK(int k, Comparator<? super T> order) {
+    if (k < 0) {
+      throw new IllegalArgumentException("k must not be negative");
+    }
+    this.k = k;
+    this.order = order;
+    this.heap = new PriorityQueue<>(Math.max(1, Math.min(k, 1024)), order.reversed());
+  }
+
+  /**
+   * Offer an item, keeping it only if it ranks among the best {@code k} seen so far
+   */
+  public void offer(T item) {
+    if (k == 0) {
+      return;
+    }
+    if (heap.size() < k) {
+      heap.add(item);
+    } else if (order.compare(item, heap.peek()) < 0) {
+      heap.poll();
+      heap.add(item);
+    }
+  }
+
+  /**
+   * The retained items, best first
+   */
+  public List<T> toList() {
+    List<T> items = new ArrayList<>(heap);
+    items.sort(order);
+    return items;
+  }
+}
@@ -0,0 +1,11 @@
+package kr.null0xff.blog.views;
+
+/**
+ * The number of times a post was viewed
+ *
+ * @param postId the ID of the post
+ * @param views  its views, including the ones not yet written to the database
+ */
+public record PostViewCount(long postId, long views) {
+
+}
@@ -0,0 +1,274 @@
+package kr.null0xff.blog.views;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import kr.null0xff.blog.config.ViewTrackingProperties;
+import kr.null0xff.blog.event.PostChangedEvent;
+import kr.null0xff.blog.event.PostViewsFlushedEvent;
+import kr.null0xff.blog.repository.PostRepository;
+import kr.null0xff.blog.repository.PostViewTotal;
+import kr.null0xff.blog.util.LongLongHashMap;
+import kr.null0xff.blog.util.TopK;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Counts post views in memory and adds them to the posts table in one JDBC batch per flush, so a
+ * popular post costs one row update per flush instead of one per view and readers never wait for
+ * the row lock of a hot post.
+ * <p>
+ * The totals of all published posts are kept in memory as well, and the most viewed ranking is
+ * recomputed after each flush, so it is served without touching the database. Pending views are
+ * flushed once more when the application shuts down.
+ */
+@Component
+@Slf4j
+public class PostViews implements SmartLifecycle {
+
+  // Start before and stop after the web server, so the views of the last requests are flushed
+  private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+  private static final String FLUSH_SQL =
+      "UPDATE posts SET view_count = view_count + ? WHERE id = ?";
+
+  private static final Comparator<PostViewCount> RANKING = Comparator
+      .comparingLong(PostViewCount::views).reversed()
+      .thenComparing(Comparator.comparingLong(PostViewCount::postId).reversed());
+
+  private final ViewTrackingProperties properties;
+  private final PostRepository postRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final StripedCounters pending = new StripedCounters();
+
+  // Guarded by totalsLock: published post ID -> views, flushed or not
+  private final ReentrantLock totalsLock = new ReentrantLock();
+  private final LongLongHashMap totals = new LongLongHashMap();
+
+  // Copy of the keys of the totals, replaced whenever a post is published or unpublished, so
+  // views are checked without taking the lock
+  private volatile LongLongHashMap published = new LongLongHashMap();
+
+  // One flush at a time, whether scheduled or at shutdown
+  private final ReentrantLock flushLock = new ReentrantLock();
+
+  private volatile List<PostViewCount> ranking = List.of();
+  private volatile boolean running;
+
+  private final Counter recorded;
+  private final Timer flushTimer;
+
+  public PostViews(ViewTrackingProperties properties, PostRepository postRepository,
+      JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+      ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.postRepository = postRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.eventPublisher = eventPublisher;
+
+    this.recorded = Counter.builder("blog.views.recorded")
+        .description("Post views counted")
+        .register(meterRegistry);
+    this.flushTimer = Timer.builder("blog.views.flush")
+        .description("Time to add the counted views to the posts table")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Count a view of a published post. Only published posts are counted, so requests for other
+   * IDs cannot grow the counters.
+   *
+   * @throws EntityNotFoundException if the post does not exist or is not published
+   */
+  public void record(long postId) {
+    if (!published.containsKey(postId)) {
+      throw new EntityNotFoundException("Post not found with ID: " + postId);
+    }
+    pending.add(postId, 1);
+    recorded.increment();
+  }
+
+  /**
+   * The most viewed published posts, most views first, as of the last flush
+   *
+   * @param limit the maximum number of posts, at most the configured ranking size
+   */
+  public List<PostViewCount> mostViewed(int limit) {
+    if (limit < 1 || limit > properties.getRankingSize()) {
+      throw new IllegalArgumentException(
+          "Limit must be between 1 and " + properties.getRankingSize());
+    }
+    List<PostViewCount> current = ranking;
+    return current.subList(0, Math.min(limit, current.size()));
+  }
+
+  /**
+   * Load the stored view counts of all published posts
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    List<PostViewTotal> stored = postRepository.findPublishedViewTotals();
+
+    totalsLock.lock();
+    try {
+      stored.forEach(post -> totals.put(post.getId(), post.getViewCount()));
+      copyPublished();
+      rank();
+    } finally {
+      totalsLock.unlock();
+    }
+    log.info("Loaded the view counts of {} posts", stored.size());
+  }
+
+  /**
+   * Track posts as they are published and stop tracking them once they are not
+   */
+  @TransactionalEventListener
+  public void onPostChanged(PostChangedEvent event) {
+    if (event.isPublished() == event.wasPublished()) {
+      return;
+    }
+
+    // A post published again keeps the views it had before
+    long stored = event.isPublished()
+        ? postRepository.findViewCountById(event.getPostId()).orElse(0L)
+        : 0;
+
+    totalsLock.lock();
+    try {
+      if (event.isPublished()) {
+        totals.put(event.getPostId(), stored);
+      } else {
+        totals.remove(event.getPostId());
+      }
+      copyPublished();
+      rank();
+    } finally {
+      totalsLock.unlock();
+    }
+  }
+
+  /**
+   * Add the views counted since the last flush to the posts table
+   */
+  @Scheduled(fixedDelayString = "${blog.views.flush-interval}")
+  public void flush() {
+    flushLock.lock();
+    try {
+      LongLongHashMap counted = pending.drain();
+      if (counted.isEmpty()) {
+        return;
+      }
+
+      // Only published posts are counted; rows are updated in ID order, so concurrent flushes of
+      // several instances cannot deadlock
+      List<long[]> updates = new ArrayList<>(counted.size());
+      totalsLock.lock();
+      try {
+        counted.forEach((postId, views) -> {
+          if (totals.containsKey(postId)) {
+            updates.add(new long[]{postId, views});
+          }
+        });
+      } finally {
+        totalsLock.unlock();
+      }
+      if (updates.isEmpty()) {
+        return;
+      }
+      updates.sort(Comparator.comparingLong(update -> update[0]));
+
+      try {
+        flushTimer.record(() -> transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(FLUSH_SQL, updates, updates.size(), (statement, update) -> {
+              statement.setLong(1, update[1]);
+              statement.setLong(2, update[0]);
+            })));
+      } catch (DataAccessException e) {
+        // Counted again with the next flush
+        updates.forEach(update -> pending.add(update[0], update[1]));
+        log.warn("Failed to flush the views of {} posts, retrying with the next flush",
+            updates.size(), e);
+        return;
+      }
+
+      totalsLock.lock();
+      try {
+        for (long[] update : updates) {
+          // The post may have been unpublished while the batch ran
+          if (totals.containsKey(update[0])) {
+            totals.addTo(update[0], update[1]);
+          }
+        }
+        rank();
+      } finally {
+        totalsLock.unlock();
+      }
+
+      // Other rankings pick up the views in one go rather than per request
+      LongLongHashMap flushed = new LongLongHashMap(updates.size());
+      updates.forEach(update -> flushed.put(update[0], update[1]));
+      eventPublisher.publishEvent(new PostViewsFlushedEvent(flushed));
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  @Override
+  public void start() {
+    running = true;
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    flush();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public int getPhase() {
+    return PHASE;
+  }
+
+  /**
+   * Replace the published post IDs with those of the totals; caller holds the totals lock
+   */
+  private void copyPublished() {
+    LongLongHashMap ids = new LongLongHashMap(totals.size());
+    totals.forEach((postId, views) -> ids.put(postId, 1));
+    published = ids;
+  }
+
+  /**
+   * Recompute the ranking from the totals; caller holds the totals lock
+   */
+  private void rank() {
+    TopK<PostViewCount> ranker = new TopK<>(properties.getRankingSize(), RANKING);
+    totals.forEach((postId, views) -> ranker.offer(new PostViewCount(postId, views)));
+    ranking = List.copyOf(ranker.toList());
+  }
+}
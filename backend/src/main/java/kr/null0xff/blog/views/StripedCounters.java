@@ -0,0 +1,81 @@
+package kr.null0xff.blog.views;
+
+import java.util.concurrent.locks.ReentrantLock;
+import kr.null0xff.blog.util.LongLongHashMap;
+
+/**
+ * Counters per ID spread over stripes like the cells of a
+ * {@link java.util.concurrent.atomic.LongAdder}: each thread starts at the stripe its ID hashes to
+ * and moves on to the next one when that is busy, so concurrent increments of the same hot ID
+ * rarely wait for each other. Each stripe is a primitive map behind its own lock; the totals only
+ * exist once the stripes are drained.
+ */
+class StripedCounters {
+
+  private final Stripe[] stripes;
+  private final int mask;
+
+  StripedCounters() {
+    int count = 1;
+    while (count < Runtime.getRuntime().availableProcessors() * 2) {
+      count <<= 1;
+    }
+    stripes = new Stripe[count];
+    for (int i = 0; i < count; i++) {
+      stripes[i] = new Stripe();
+    }
+    mask = count - 1;
+  }
+
+  void add(long id, long delta) {
+    long thread = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+    int home = (int) (thread ^ (thread >>> 32)) & mask;
+
+    for (int i = 0; i < stripes.length; i++) {
+      Stripe stripe = stripes[(home + i) & mask];
+      if (stripe.lock.tryLock()) {
+        try {
+          stripe.counts.addTo(id, delta);
+        } finally {
+          stripe.lock.unlock();
+        }
+        return;
+      }
+    }
+
+    // Every stripe is busy, wait for the own one
+    Stripe stripe = stripes[home];
+    stripe.lock.lock();
+    try {
+      stripe.counts.addTo(id, delta);
+    } finally {
+      stripe.lock.unlock();
+    }
+  }
+
+  /**
+   * Take the counts added so far and reset the counters to zero
+   */
+  LongLongHashMap drain() {
+    LongLongHashMap drained = new LongLongHashMap();
+    for (Stripe stripe : stripes) {
+      LongLongHashMap counts;
+      stripe.lock.lock();
+      try {
+        counts = stripe.counts;
+        stripe.counts = new LongLongHashMap();
+      } finally {
+        stripe.lock.unlock();
+      }
+      counts.forEach(drained::addTo);
+    }
+    return drained;
+  }
+
+  private static final class Stripe {
+
+    // Not a monitor, so a virtual thread waiting for a stripe does not pin its carrier
+    final ReentrantLock lock = new ReentrantLock();
+    LongLongHashMap counts = new LongLongHashMap();
+  }
+}
@@ -0,0 +1,115 @@
+package kr.null0xff.blog.web;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import kr.null0xff.blog.cache.SerializedResponse;
+import kr.null0xff.blog.cache.SerializedResponseCache;
+import kr.null0xff.blog.config.HttpCacheProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Builds responses for conditional GET requests. The validators are checked first and the body is
+ * only loaded and mapped when the client's copy is out of date, so a revalidation costs no more
+ * than computing the validators.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalResponses {
+
+  // Encodings every response is available in; serialized responses are cached in both
+  private static final Set<ContentEncoding> COMPRESSED_ENCODINGS =
+      EnumSet.of(ContentEncoding.GZIP, ContentEncoding.IDENTITY);
+
+  private final HttpCacheProperties httpCacheProperties;
+  private final SerializedResponseCache serializedResponseCache;
+
+  /**
+   * Answer with 304 Not Modified if the request's If-None-Match or If-Modified-Since still match
+   * the validator, otherwise with 200 and the body from the supplier. Both carry the ETag,
+   * Last-Modified and the Cache-Control header of the policy.
+   * <p>
+   * The body is gzip-compressed by the {@link GzipResponseFilter} if the client accepts it, with
+   * an ETag of its own, as Tomcat does not compress responses with a strong ETag.
+   *
+   * @param request   the current request
+   * @param policy    name of the Cache-Control policy to apply
+   * @param validator the current validators of the representation
+   * @param body      loads and maps the body, only called when it has to be sent
+   */
+  public <T> ResponseEntity<T> respond(WebRequest request, String policy,
+      ResourceValidator validator, Supplier<T> body) {
+    return respond(request, policy, validator, null, body);
+  }
+
+  /**
+   * Like {@link #respond(WebRequest, String, ResourceValidator, Supplier)}, for a body of the
+   * given media type
+   */
+  public <T> ResponseEntity<T> respond(WebRequest request, String policy,
+      ResourceValidator validator, MediaType mediaType, Supplier<T> body) {
+    ContentEncoding encoding = ContentEncoding.negotiate(
+        request.getHeader(HttpHeaders.ACCEPT_ENCODING), COMPRESSED_ENCODINGS);
+    CacheControl cacheControl = httpCacheProperties.cacheControl(policy);
+
+    // Sets the ETag and Last-Modified headers in either case
+    if (request.checkNotModified(encoding.etag(validator.getEtag()),
+        validator.getLastModified().toEpochMilli())) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .cacheControl(cacheControl)
+          .varyBy(HttpHeaders.ACCEPT_ENCODING)
+          .build();
+    }
+
+    T content = body.get();
+    if (encoding == ContentEncoding.GZIP) {
+      GzipResponseFilter.gzip(request);
+    }
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .cacheControl(cacheControl)
+        .varyBy(HttpHeaders.ACCEPT_ENCODING);
+    if (mediaType != null) {
+      response.contentType(mediaType);
+    }
+    return response.body(content);
+  }
+
+  /**
+   * Like {@link #respond}, but the body is taken from the {@link SerializedResponseCache} as JSON
+   * bytes, gzip-compressed if the client accepts it, and written as they are. Meant for the
+   * hottest read-only listings, whose responses are worth keeping serialized.
+   *
+   * @param key identifies the listing and every parameter the body depends on
+   */
+  public ResponseEntity<byte[]> respondSerialized(WebRequest request, String policy,
+      String key, ResourceValidator validator, Supplier<?> body) {
+    ContentEncoding encoding = ContentEncoding.negotiate(
+        request.getHeader(HttpHeaders.ACCEPT_ENCODING), COMPRESSED_ENCODINGS);
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setCacheControl(httpCacheProperties.cacheControl(policy));
+    headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+
+    // Sets the ETag and Last-Modified headers in either case
+    if (request.checkNotModified(encoding.etag(validator.getEtag()),
+        validator.getLastModified().toEpochMilli())) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+    }
+
+    SerializedResponse response = serializedResponseCache.get(key, validator.getEtag(), body);
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    if (encoding != ContentEncoding.IDENTITY) {
+      headers.set(HttpHeaders.CONTENT_ENCODING, encoding.getCoding());
+    }
+    return ResponseEntity.ok().headers(headers).body(response.content(encoding));
+  }
+}
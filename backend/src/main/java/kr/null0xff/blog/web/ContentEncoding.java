@@ -0,0 +1,116 @@
+package kr.null0xff.blog.web;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Content codings the server can send, in order of preference. Brotli files are smaller, gzip is
+ * understood by every client.
+ */
+public enum ContentEncoding {
+
+  BROTLI("br", ".br"),
+  GZIP("gzip", ".gz"),
+  IDENTITY("identity", "");
+
+  private final String coding;
+  private final String extension;
+
+  ContentEncoding(String coding, String extension) {
+    this.coding = coding;
+    this.extension = extension;
+  }
+
+  /**
+   * The value of the Content-Encoding header
+   */
+  public String getCoding() {
+    return coding;
+  }
+
+  /**
+   * The file extension of a precompressed variant, empty for the uncompressed file
+   */
+  public String getExtension() {
+    return extension;
+  }
+
+  /**
+   * The ETag of this encoding of a representation. Strong ETags have to differ between encodings,
+   * the identity encoding keeps the ETag of the representation.
+   */
+  public String etag(String etag) {
+    if (this == IDENTITY || !etag.endsWith("\"")) {
+      return etag;
+    }
+    return etag.substring(0, etag.length() - 1) + "-" + coding + "\"";
+  }
+
+  /**
+   * Pick the encoding to send among the available ones. Codings the client rates higher win,
+   * equally rated codings are picked in order of preference. Falls back to identity when the
+   * client accepts none of them, as a client refusing identity is still better served by it than
+   * by a 406.
+   *
+   * @param acceptEncoding the Accept-Encoding header of the request, may be null
+   * @param available      the encodings the representation exists in
+   */
+  public static ContentEncoding negotiate(String acceptEncoding,
+      Collection<ContentEncoding> available) {
+    if (acceptEncoding == null || acceptEncoding.isBlank()) {
+      return IDENTITY;
+    }
+
+    Map<String, Double> qualities = parse(acceptEncoding);
+    Double wildcard = qualities.get("*");
+
+    ContentEncoding best = IDENTITY;
+    double bestQuality = 0;
+    for (ContentEncoding encoding : values()) {
+      if (!available.contains(encoding)) {
+        continue;
+      }
+      Double quality = qualities.get(encoding.coding);
+      if (quality == null) {
+        // Identity is acceptable unless refused explicitly, other codings only through "*"
+        quality = wildcard != null ? wildcard : (encoding == IDENTITY ? 1e-3 : 0);
+      }
+      if (quality > bestQuality) {
+        best = encoding;
+        bestQuality = quality;
+      }
+    }
+    return best;
+  }
+
+  private static Map<String, Double> parse(String acceptEncoding) {
+    Map<String, Double> qualities = new HashMap<>();
+    for (String part : acceptEncoding.split(",")) {
+      String[] params = part.split(";");
+      String coding = params[0].trim().toLowerCase(Locale.ROOT);
+      if (coding.isEmpty()) {
+        continue;
+      }
+      // "x-gzip" is an old alias of gzip
+      if (coding.equals("x-gzip")) {
+        coding = "gzip";
+      }
+
+      double quality = 1;
+      for (int i = 1; i < params.length; i++) {
+        String param = params[i].trim();
+        if (param.startsWith("q=")) {
+          try {
+            quality = Double.parseDouble(param.substring(2));
+          } catch (NumberFormatException e) {
+            quality = 0;
+          }
+        }
+      }
+      qualities.merge(coding, quality, Math::max);
+    }
+    return qualities;
+  }
+}
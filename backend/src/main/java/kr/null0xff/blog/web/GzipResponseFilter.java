@@ -0,0 +1,200 @@
+package kr.null0xff.blog.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Gzip-compresses the bodies of the responses {@link ConditionalResponses} negotiated gzip for.
+ * Tomcat's compression skips every response with a strong ETag, and the read endpoints send strong
+ * ETags that differ per encoding, so they compress their bodies here instead.
+ * <p>
+ * Only successful responses are compressed; the decision is made before the body is known, so
+ * small bodies are compressed as well.
+ */
+@Component
+public class GzipResponseFilter extends OncePerRequestFilter {
+
+  private static final String GZIP = GzipResponseFilter.class.getName() + ".gzip";
+
+  /**
+   * Compress the body of the response to a request with gzip
+   */
+  static void gzip(WebRequest request) {
+    request.setAttribute(GZIP, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    GzipResponse gzipResponse = new GzipResponse(request, response);
+    try {
+      filterChain.doFilter(request, gzipResponse);
+    } finally {
+      gzipResponse.finish();
+    }
+  }
+
+  private static final class GzipResponse extends HttpServletResponseWrapper {
+
+    private final HttpServletRequest request;
+    private GzipOutputStream outputStream;
+    private PrintWriter writer;
+
+    GzipResponse(HttpServletRequest request, HttpServletResponse response) {
+      super(response);
+      this.request = request;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+      if (writer != null) {
+        throw new IllegalStateException("getWriter() has already been called");
+      }
+      if (outputStream == null && compressed()) {
+        super.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        outputStream = new GzipOutputStream(super.getOutputStream());
+      }
+      return outputStream != null ? outputStream : super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+      if (writer == null && outputStream == null && compressed()) {
+        ServletOutputStream out = getOutputStream();
+        writer = new PrintWriter(new OutputStreamWriter(out, getCharacterEncoding()));
+      }
+      return writer != null ? writer : super.getWriter();
+    }
+
+    // The length of the uncompressed body does not apply to the compressed one
+
+    @Override
+    public void setContentLength(int length) {
+      if (!compressed()) {
+        super.setContentLength(length);
+      }
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+      if (!compressed()) {
+        super.setContentLengthLong(length);
+      }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+      if (!compressed() || !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+        super.setHeader(name, value);
+      }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+      if (!compressed() || !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+        super.addHeader(name, value);
+      }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+      if (!compressed() || !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+        super.setIntHeader(name, value);
+      }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+      if (!compressed() || !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+        super.addIntHeader(name, value);
+      }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+      if (writer != null) {
+        writer.flush();
+      } else if (outputStream != null) {
+        outputStream.flush();
+      }
+      super.flushBuffer();
+    }
+
+    /**
+     * Write the end of the compressed body
+     */
+    void finish() throws IOException {
+      if (writer != null) {
+        writer.close();
+      } else if (outputStream != null) {
+        outputStream.close();
+      }
+    }
+
+    private boolean compressed() {
+      return outputStream != null
+          || (Boolean.TRUE.equals(request.getAttribute(GZIP))
+          && getStatus() == HttpServletResponse.SC_OK && !isCommitted());
+    }
+  }
+
+  private static final class GzipOutputStream extends ServletOutputStream {
+
+    private final ServletOutputStream target;
+    private final GZIPOutputStream gzip;
+    private boolean closed;
+
+    GzipOutputStream(ServletOutputStream target) throws IOException {
+      this.target = target;
+      this.gzip = new GZIPOutputStream(target, 8192, true);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      gzip.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      gzip.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      gzip.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!closed) {
+        closed = true;
+        gzip.finish();
+        target.flush();
+      }
+    }
+
+    @Override
+    public boolean isReady() {
+      return target.isReady();
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+      target.setWriteListener(writeListener);
+    }
+  }
+}
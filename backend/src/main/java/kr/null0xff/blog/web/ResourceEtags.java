@@ -0,0 +1,40 @@
+package kr.null0xff.blog.web;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.springframework.core.io.Resource;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Strong ETags for static resources: a hash of the bytes sent, computed once per file. A
+ * precompressed variant is a different file and so gets an ETag of its own, as a cache must not
+ * answer a conditional request for one encoding with another.
+ */
+public class ResourceEtags implements Function<Resource, String> {
+
+  // URL and last modification of the file -> ETag
+  private final Map<String, String> etags = new ConcurrentHashMap<>();
+
+  @Override
+  public String apply(Resource resource) {
+    try {
+      String key = resource.getURL() + "@" + resource.lastModified();
+      return etags.computeIfAbsent(key, ignored -> hash(resource));
+    } catch (IOException e) {
+      // Not a file we can identify, fall back to Last-Modified
+      return null;
+    }
+  }
+
+  private static String hash(Resource resource) {
+    try (InputStream content = resource.getInputStream()) {
+      return "\"" + DigestUtils.md5DigestAsHex(content) + "\"";
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read " + resource.getDescription(), e);
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package kr.null0xff.blog.web;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import lombok.Value;
+import org.springframework.util.DigestUtils;
+
+/**
+ * The validators of a representation: a strong ETag and the time it last changed
+ */
+@Value
+public class ResourceValidator {
+
+  String etag;
+  Instant lastModified;
+
+  /**
+   * Create a validator whose ETag is a hash of the given parts. Every value the representation
+   * depends on has to be one of the parts, otherwise clients keep stale copies.
+   */
+  public static ResourceValidator of(Instant lastModified, Object... parts) {
+    String key = Arrays.stream(parts)
+        .map(String::valueOf)
+        .collect(Collectors.joining("|"));
+    String hash = DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8));
+    return new ResourceValidator("\"" + hash + "\"", lastModified);
+  }
+
+  /**
+   * Combine this validator with more parts, e.g. the version of a single row
+   *
+   * @param lastModified when the row changed (null if unknown)
+   * @param parts        the values identifying the version of the row
+   */
+  public ResourceValidator and(LocalDateTime lastModified, Object... parts) {
+    Object[] combined = Arrays.copyOf(parts, parts.length + 1);
+    combined[parts.length] = etag;
+
+    Instant latest = this.lastModified;
+    if (lastModified != null) {
+      Instant changed = lastModified.atZone(ZoneId.systemDefault()).toInstant();
+      if (changed.isAfter(latest)) {
+        latest = changed;
+      }
+    }
+    return of(latest, combined);
+  }
+}
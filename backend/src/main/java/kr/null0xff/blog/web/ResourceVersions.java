@@ -0,0 +1,100 @@
+package kr.null0xff.blog.web;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import kr.null0xff.blog.event.CategoryChangedEvent;
+import kr.null0xff.blog.event.CommentChangedEvent;
+import kr.null0xff.blog.event.PostChangedEvent;
+import kr.null0xff.blog.event.TagChangedEvent;
+import kr.null0xff.blog.event.UserChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Version counters for each kind of resource, bumped after every committed change. Collection
+ * endpoints derive their validators from these counters, so answering a revalidation does not
+ * touch the database.
+ * <p>
+ * The counters live in memory and start over on restart. The start time is part of every ETag so
+ * that a restarted instance never matches an ETag handed out before.
+ */
+@Component
+@Slf4j
+public class ResourceVersions {
+
+  public enum Resource {
+    POSTS,
+    TAGS,
+    CATEGORIES,
+    COMMENTS,
+    USERS
+  }
+
+  private final Instant startedAt = Instant.now();
+
+  private final Map<Resource, AtomicLong> versions = new EnumMap<>(Resource.class);
+  private final Map<Resource, AtomicReference<Instant>> changedAt = new EnumMap<>(Resource.class);
+
+  public ResourceVersions() {
+    for (Resource resource : Resource.values()) {
+      versions.put(resource, new AtomicLong());
+      changedAt.put(resource, new AtomicReference<>(startedAt));
+    }
+  }
+
+  /**
+   * Validator for a representation that depends on the given kinds of resources
+   */
+  public ResourceValidator validator(Resource... resources) {
+    Object[] parts = new Object[resources.length * 2 + 1];
+    parts[0] = startedAt.toEpochMilli();
+    Instant lastModified = startedAt;
+    for (int i = 0; i < resources.length; i++) {
+      parts[i * 2 + 1] = resources[i];
+      parts[i * 2 + 2] = versions.get(resources[i]).get();
+      Instant changed = changedAt.get(resources[i]).get();
+      if (changed.isAfter(lastModified)) {
+        lastModified = changed;
+      }
+    }
+    return ResourceValidator.of(lastModified, parts);
+  }
+
+  /**
+   * Record a change to the given kind of resource
+   */
+  public void bump(Resource resource) {
+    long version = versions.get(resource).incrementAndGet();
+    changedAt.get(resource).set(Instant.now());
+    log.debug("{} changed, now at version {}", resource, version);
+  }
+
+  @TransactionalEventListener
+  public void onPostChanged(PostChangedEvent event) {
+    bump(Resource.POSTS);
+  }
+
+  @TransactionalEventListener
+  public void onTagChanged(TagChangedEvent event) {
+    bump(Resource.TAGS);
+  }
+
+  @TransactionalEventListener
+  public void onCategoryChanged(CategoryChangedEvent event) {
+    bump(Resource.CATEGORIES);
+  }
+
+  @TransactionalEventListener
+  public void onCommentChanged(CommentChangedEvent event) {
+    bump(Resource.COMMENTS);
+  }
+
+  @TransactionalEventListener
+  public void onUserChanged(UserChangedEvent event) {
+    bump(Resource.USERS);
+  }
+}
@@ -0,0 +1,94 @@
+package kr.null0xff.blog.web;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import kr.null0xff.blog.config.StaticAssetProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * The {@code index.html} of the SvelteKit build, held in memory together with its precompressed
+ * variants, so every client-side route is answered without a forward or a file read.
+ * <p>
+ * The shell references the hashed assets of the current build, so it is always revalidated; each
+ * encoding has its own ETag and responses vary by Accept-Encoding.
+ */
+@Component
+@Slf4j
+public class SpaShell {
+
+  private static final String INDEX = "index.html";
+
+  private final Map<ContentEncoding, Representation> representations =
+      new EnumMap<>(ContentEncoding.class);
+
+  public SpaShell(StaticAssetProperties properties, ResourceLoader resourceLoader)
+      throws IOException {
+    for (ContentEncoding encoding : ContentEncoding.values()) {
+      Resource resource = resourceLoader.getResource(
+          properties.getLocation() + INDEX + encoding.getExtension());
+      if (!resource.exists()) {
+        continue;
+      }
+
+      byte[] content;
+      try (InputStream in = resource.getInputStream()) {
+        content = in.readAllBytes();
+      }
+      String etag = "\"" + DigestUtils.md5DigestAsHex(content) + "\"";
+      representations.put(encoding, new Representation(content, etag));
+    }
+
+    if (!representations.containsKey(ContentEncoding.IDENTITY)) {
+      // Without the frontend build (e.g. a backend-only run) client routes answer 404
+      log.warn("No {} in {}, the frontend is not served", INDEX, properties.getLocation());
+      representations.clear();
+    }
+  }
+
+  /**
+   * Answer with the shell in the best encoding the client accepts, or with 304 Not Modified if
+   * the client's copy is current
+   */
+  public ResponseEntity<byte[]> respond(WebRequest request) {
+    if (representations.isEmpty()) {
+      return ResponseEntity.notFound().build();
+    }
+
+    ContentEncoding encoding = ContentEncoding.negotiate(
+        request.getHeader(HttpHeaders.ACCEPT_ENCODING), representations.keySet());
+    Representation representation = representations.get(encoding);
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setCacheControl(CacheControl.noCache());
+    headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+
+    // Sets the ETag header in either case
+    if (request.checkNotModified(representation.etag())) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+    }
+
+    headers.setContentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8));
+    if (encoding != ContentEncoding.IDENTITY) {
+      headers.set(HttpHeaders.CONTENT_ENCODING, encoding.getCoding());
+    }
+    return ResponseEntity.ok().headers(headers).body(representation.content());
+  }
+
+  private record Representation(byte[] content, String etag) {
+
+  }
+}
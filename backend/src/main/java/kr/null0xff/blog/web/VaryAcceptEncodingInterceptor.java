@@ -0,0 +1,21 @@
+package kr.null0xff.blog.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Marks static responses as varying by Accept-Encoding. Spring only adds the header when it sends
+ * a precompressed variant, so a shared cache could otherwise keep the uncompressed file and hand
+ * it to every client.
+ */
+public class VaryAcceptEncodingInterceptor implements HandlerInterceptor {
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+      Object handler) {
+    response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    return true;
+  }
+}
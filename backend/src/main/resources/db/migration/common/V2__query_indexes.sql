@@ -0,0 +1,36 @@
+-- Composite indexes for the hot repository queries. Each index leads with the equality columns
+-- of a query and ends with its sort column, so the database can read the first page in index
+-- order instead of scanning and sorting. QueryPlanVerifier checks the plans at startup.
+
+-- PostSummaryRepository.findSummaries for the published listings and their keyset cursor, ordered
+-- by published_at DESC, id DESC
+create index idx_posts_published_published_at on posts (published, published_at, id);
+
+-- PostSummaryRepository.findSummaries by author and PostRepository.countByAuthorAndPublishedTrue
+create index idx_posts_author_published on posts (author_id, published, published_at);
+
+-- PostSummaryRepository.findSummaries by category and CategoryRepository.recountPosts
+create index idx_posts_category_published on posts (category_id, published, published_at);
+
+-- PostSummaryRepository.findSummaries by tag and TagRepository.recountPosts: the primary key
+-- (post_id, tag_id) only serves lookups by post, this one serves lookups by tag
+create index idx_post_tags_tag_post on post_tags (tag_id, post_id);
+
+-- CommentRepository.findByPostAndApprovedTrue / countByPostAndApprovedTrue /
+-- findVersionByPostId
+create index idx_comments_post_approved on comments (post_id, approved, created_at);
+
+-- CommentRepository.findByPostAndParentIsNullAndApprovedTrue
+create index idx_comments_post_parent_approved
+    on comments (post_id, parent_id, approved, created_at);
+
+-- CommentRepository.findByParentAndApprovedTrue / countRepliesByParentIds /
+-- findApprovedRepliesByParentIds
+create index idx_comments_parent_approved on comments (parent_id, approved, created_at);
+
+-- CommentRepository.findByApprovedFalse / findByApprovedTrueOrderByCreatedAtDesc /
+-- countByApprovedFalse
+create index idx_comments_approved_created_at on comments (approved, created_at);
+
+-- CommentRepository.findByAuthor / countByAuthor
+create index idx_comments_author_created_at on comments (author_id, created_at);
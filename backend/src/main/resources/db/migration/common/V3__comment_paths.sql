@@ -0,0 +1,6 @@
+-- Materialized comment paths: the IDs of all ancestors of a comment, root first, as fixed-width
+-- base-36 segments. All replies below a comment share a path prefix, so the replies of a page of
+-- top-level comments are one range of idx_comments_post_path. V4 fills in existing replies.
+alter table comments add path varchar(720) default '' not null;
+
+create index idx_comments_post_path on comments (post_id, path);
@@ -0,0 +1,2 @@
+-- Views per post, counted in memory and added in periodic batches rather than one update per view
+alter table posts add view_count bigint default 0 not null;
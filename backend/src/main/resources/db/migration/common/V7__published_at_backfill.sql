@@ -0,0 +1,4 @@
+-- Posts published before publishedAt was set on creation have none, which hides them from the
+-- cursor listings and breaks the cursor of a slice ending at one. They count as published when
+-- they were created.
+update posts set published_at = coalesce(published_at, created_at) where published = true;
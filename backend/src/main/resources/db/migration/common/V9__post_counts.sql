@@ -0,0 +1,18 @@
+-- Published-post counters on tags and categories, kept up to date by PostCounterService so the
+-- listings sorted by popularity never count posts. Existing rows are counted once here.
+alter table tags add post_count bigint default 0 not null;
+alter table categories add post_count bigint default 0 not null;
+
+update tags set post_count = (
+    select count(*)
+    from post_tags pt
+    join posts p on p.id = pt.post_id
+    where pt.tag_id = tags.id and p.published = true);
+
+update categories set post_count = (
+    select count(*)
+    from posts p
+    where p.category_id = categories.id and p.published = true);
+
+create index idx_tags_post_count on tags (post_count);
+create index idx_categories_post_count on categories (post_count);
@@ -0,0 +1,107 @@
+-- Initial schema for H2, exactly as generated by Hibernate from the entity mappings before the
+-- schema moved to Flyway: IDENTITY IDs and no post counters. Constraint names are Hibernate's,
+-- so databases created by ddl-auto can be baselined at this version. The TEXT content columns are
+-- declared as CLOB, which is what TEXT means to Hibernate's schema validation (H2 itself reads
+-- TEXT as VARCHAR).
+
+create table categories (
+    color varchar(7),
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    name varchar(50) not null unique,
+    description varchar(200),
+    slug varchar(255) unique,
+    primary key (id)
+);
+
+create table comments (
+    approved boolean not null,
+    author_id bigint not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    parent_id bigint,
+    post_id bigint not null,
+    updated_at timestamp(6),
+    content clob not null,
+    primary key (id)
+);
+
+create table post_tags (
+    post_id bigint not null,
+    tag_id bigint not null,
+    primary key (post_id, tag_id)
+);
+
+create table posts (
+    published boolean not null,
+    author_id bigint not null,
+    category_id bigint,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    published_at timestamp(6),
+    updated_at timestamp(6),
+    slug varchar(200) not null unique,
+    title varchar(200) not null,
+    description varchar(500) not null,
+    image_url varchar(255),
+    content clob not null,
+    primary key (id)
+);
+
+create table tags (
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    name varchar(50) not null unique,
+    description varchar(200),
+    slug varchar(255) unique,
+    primary key (id)
+);
+
+create table users (
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    username varchar(50) not null unique,
+    email varchar(100) not null unique,
+    password varchar(120) not null,
+    avatar_url varchar(255),
+    bio varchar(255),
+    primary key (id)
+);
+
+alter table comments
+    add constraint FKn2na60ukhs76ibtpt9burkm27
+    foreign key (author_id)
+    references users (id);
+
+alter table comments
+    add constraint FKlri30okf66phtcgbe5pok7cc0
+    foreign key (parent_id)
+    references comments (id);
+
+alter table comments
+    add constraint FKh4c7lvsc298whoyd4w9ta25cr
+    foreign key (post_id)
+    references posts (id);
+
+alter table post_tags
+    add constraint FKm6cfovkyqvu5rlm6ahdx3eavj
+    foreign key (tag_id)
+    references tags (id);
+
+alter table post_tags
+    add constraint FKkifam22p4s1nm3bkmp1igcn5w
+    foreign key (post_id)
+    references posts (id);
+
+alter table posts
+    add constraint FK6xvn0811tkyo3nfjk2xvqx6ns
+    foreign key (author_id)
+    references users (id);
+
+alter table posts
+    add constraint FKijnwr3brs8vaosl80jg9rp7uc
+    foreign key (category_id)
+    references categories (id);
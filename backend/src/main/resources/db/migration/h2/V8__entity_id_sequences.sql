@@ -0,0 +1,18 @@
+-- Pooled sequences for the entity IDs, so Hibernate assigns IDs itself and can send inserts as
+-- JDBC batches. The identity columns of V1 stay; they are simply no longer used.
+--
+-- The sequences advance in steps of 50, matching the allocationSize of the @SequenceGenerator
+-- mappings. Hibernate's pooled optimizer treats each sequence value as the top of a block of 50
+-- IDs, so every sequence starts 50 past the highest existing ID.
+
+create sequence users_seq start with 1 increment by 50;
+create sequence categories_seq start with 1 increment by 50;
+create sequence tags_seq start with 1 increment by 50;
+create sequence posts_seq start with 1 increment by 50;
+create sequence comments_seq start with 1 increment by 50;
+
+alter sequence users_seq restart with (select coalesce(max(id), 0) + 50 from users);
+alter sequence categories_seq restart with (select coalesce(max(id), 0) + 50 from categories);
+alter sequence tags_seq restart with (select coalesce(max(id), 0) + 50 from tags);
+alter sequence posts_seq restart with (select coalesce(max(id), 0) + 50 from posts);
+alter sequence comments_seq restart with (select coalesce(max(id), 0) + 50 from comments);
@@ -0,0 +1,127 @@
+-- Initial schema for MariaDB, exactly as generated by Hibernate from the entity mappings before
+-- the schema moved to Flyway: IDENTITY IDs and no post counters. Constraint names are Hibernate's,
+-- so databases created by ddl-auto can be baselined at this version (see application.yaml) and
+-- reach the current schema through the same later migrations as new databases.
+
+create table categories (
+    color varchar(7),
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    name varchar(50) not null,
+    description varchar(200),
+    slug varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table comments (
+    approved bit not null,
+    author_id bigint not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    parent_id bigint,
+    post_id bigint not null,
+    updated_at datetime(6),
+    content TEXT not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table post_tags (
+    post_id bigint not null,
+    tag_id bigint not null,
+    primary key (post_id, tag_id)
+) engine=InnoDB;
+
+create table posts (
+    published bit not null,
+    author_id bigint not null,
+    category_id bigint,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    published_at datetime(6),
+    updated_at datetime(6),
+    slug varchar(200) not null,
+    title varchar(200) not null,
+    description varchar(500) not null,
+    image_url varchar(255),
+    content TEXT not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table tags (
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    name varchar(50) not null,
+    description varchar(200),
+    slug varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    username varchar(50) not null,
+    email varchar(100) not null,
+    password varchar(120) not null,
+    avatar_url varchar(255),
+    bio varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+alter table categories
+    add constraint UKt8o6pivur7nn124jehx7cygw5 unique (name);
+
+alter table categories
+    add constraint UKoul14ho7bctbefv8jywp5v3i2 unique (slug);
+
+alter table posts
+    add constraint UKqmmso8qxjpbxwegdtp0l90390 unique (slug);
+
+alter table tags
+    add constraint UKt48xdq560gs3gap9g7jg36kgc unique (name);
+
+alter table tags
+    add constraint UKsn0d91hxu700qcw0n4pebp5vc unique (slug);
+
+alter table users
+    add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+
+alter table users
+    add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table comments
+    add constraint FKn2na60ukhs76ibtpt9burkm27
+    foreign key (author_id)
+    references users (id);
+
+alter table comments
+    add constraint FKlri30okf66phtcgbe5pok7cc0
+    foreign key (parent_id)
+    references comments (id);
+
+alter table comments
+    add constraint FKh4c7lvsc298whoyd4w9ta25cr
+    foreign key (post_id)
+    references posts (id);
+
+alter table post_tags
+    add constraint FKm6cfovkyqvu5rlm6ahdx3eavj
+    foreign key (tag_id)
+    references tags (id);
+
+alter table post_tags
+    add constraint FKkifam22p4s1nm3bkmp1igcn5w
+    foreign key (post_id)
+    references posts (id);
+
+alter table posts
+    add constraint FK6xvn0811tkyo3nfjk2xvqx6ns
+    foreign key (author_id)
+    references users (id);
+
+alter table posts
+    add constraint FKijnwr3brs8vaosl80jg9rp7uc
+    foreign key (category_id)
+    references categories (id);
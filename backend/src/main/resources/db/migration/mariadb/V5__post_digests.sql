@@ -0,0 +1,7 @@
+-- Word count, reading time, excerpt and heading outline derived from the content when a post is
+-- saved, so listings never read the content. Rows written before have a null excerpt and are
+-- filled in on startup.
+alter table posts add word_count integer default 0 not null;
+alter table posts add reading_minutes integer default 0 not null;
+alter table posts add excerpt varchar(300);
+alter table posts add outline TEXT;
@@ -0,0 +1,44 @@
+-- Pooled sequences for the entity IDs (MariaDB 10.3+), so Hibernate assigns IDs itself and can
+-- send inserts as JDBC batches. The AUTO_INCREMENT columns of V1 stay; they are simply no longer
+-- used.
+--
+-- The sequences advance in steps of 50, matching the allocationSize of the @SequenceGenerator
+-- mappings. Hibernate's pooled optimizer treats each sequence value as the top of a block of 50
+-- IDs, so every sequence starts 50 past the highest existing ID. ALTER SEQUENCE only takes
+-- literals, so the restart values go through prepared statements.
+
+create sequence users_seq start with 1 increment by 50 nocache;
+create sequence categories_seq start with 1 increment by 50 nocache;
+create sequence tags_seq start with 1 increment by 50 nocache;
+create sequence posts_seq start with 1 increment by 50 nocache;
+create sequence comments_seq start with 1 increment by 50 nocache;
+
+set @restart = (select coalesce(max(id), 0) + 50 from users);
+set @sql = concat('alter sequence users_seq restart with ', @restart);
+prepare restart_sequence from @sql;
+execute restart_sequence;
+deallocate prepare restart_sequence;
+
+set @restart = (select coalesce(max(id), 0) + 50 from categories);
+set @sql = concat('alter sequence categories_seq restart with ', @restart);
+prepare restart_sequence from @sql;
+execute restart_sequence;
+deallocate prepare restart_sequence;
+
+set @restart = (select coalesce(max(id), 0) + 50 from tags);
+set @sql = concat('alter sequence tags_seq restart with ', @restart);
+prepare restart_sequence from @sql;
+execute restart_sequence;
+deallocate prepare restart_sequence;
+
+set @restart = (select coalesce(max(id), 0) + 50 from posts);
+set @sql = concat('alter sequence posts_seq restart with ', @restart);
+prepare restart_sequence from @sql;
+execute restart_sequence;
+deallocate prepare restart_sequence;
+
+set @restart = (select coalesce(max(id), 0) + 50 from comments);
+set @sql = concat('alter sequence comments_seq restart with ', @restart);
+prepare restart_sequence from @sql;
+execute restart_sequence;
+deallocate prepare restart_sequence;
@@ -0,0 +1,87 @@
+package kr.null0xff.blog.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import kr.null0xff.blog.entity.Comment;
+import kr.null0xff.blog.entity.Post;
+import org.junit.jupiter.api.Test;
+
+class CommentResponseTest {
+
+  private final Post post = post();
+
+  @Test
+  void threadsNestRepliesPastDepthTwo() {
+    Comment root = comment(1, null);
+    Comment reply = comment(2, root);
+    Comment nested = comment(3, reply);
+    Comment deeper = comment(4, nested);
+    Comment deepest = comment(5, deeper);
+    Comment sibling = comment(6, root);
+
+    List<CommentResponse> threads = CommentResponse.threadsOf(List.of(root),
+        List.of(reply, nested, deeper, deepest, sibling));
+
+    assertThat(threads).singleElement().satisfies(thread -> {
+      assertThat(thread.getId()).isEqualTo(1);
+      assertThat(thread.getReplies()).extracting(CommentResponse::getId).containsExactly(2L, 6L);
+
+      CommentResponse level = thread.getReplies().get(0);
+      for (long id = 3; id <= 5; id++) {
+        assertThat(level.getReplies()).extracting(CommentResponse::getId).containsExactly(id);
+        level = level.getReplies().get(0);
+      }
+      assertThat(level.getReplies()).isEmpty();
+    });
+  }
+
+  @Test
+  void threadsDoNotNeedParentsBeforeReplies() {
+    Comment root = comment(1, null);
+    Comment reply = comment(2, root);
+    Comment nested = comment(3, reply);
+
+    List<CommentResponse> threads = CommentResponse.threadsOf(List.of(root),
+        List.of(nested, reply));
+
+    assertThat(threads.get(0).getReplies()).singleElement()
+        .satisfies(node -> assertThat(node.getReplies())
+            .extracting(CommentResponse::getId).containsExactly(3L));
+  }
+
+  @Test
+  void threadsKeepTheRootOrderAndDropOrphans() {
+    Comment first = comment(7, null);
+    Comment second = comment(3, null);
+    Comment outsidePage = comment(5, null);
+    Comment reply = comment(8, second);
+    Comment orphan = comment(9, outsidePage);
+    Comment orphanReply = comment(10, orphan);
+
+    List<CommentResponse> threads = CommentResponse.threadsOf(List.of(first, second),
+        List.of(reply, orphan, orphanReply));
+
+    assertThat(threads).extracting(CommentResponse::getId).containsExactly(7L, 3L);
+    assertThat(threads.get(0).getReplies()).isEmpty();
+    assertThat(threads.get(1).getReplies()).extracting(CommentResponse::getId)
+        .containsExactly(8L);
+  }
+
+  private Comment comment(long id, Comment parent) {
+    return Comment.builder()
+        .id(id)
+        .content("Comment " + id)
+        .approved(true)
+        .post(post)
+        .parent(parent)
+        .path(parent != null ? parent.getSubtreePath() : "")
+        .build();
+  }
+
+  private static Post post() {
+    Post post = new Post();
+    post.setId(1L);
+    return post;
+  }
+}
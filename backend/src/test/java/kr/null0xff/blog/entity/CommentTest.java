@@ -0,0 +1,74 @@
+package kr.null0xff.blog.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CommentTest {
+
+  @Test
+  void segmentsHaveAFixedWidth() {
+    assertThat(Comment.segment(1)).isEqualTo("00000001/");
+    assertThat(Comment.segment(36)).isEqualTo("00000010/");
+    assertThat(Comment.segment(Long.parseLong("zzzzzzzz", 36))).isEqualTo("zzzzzzzz/");
+  }
+
+  @Test
+  void pathsSortLikeTheIdSequencesOfTheirAncestors() {
+    List<String> paths = new ArrayList<>(List.of(
+        Comment.segment(100) + Comment.segment(5),
+        Comment.segment(9),
+        Comment.segment(100),
+        Comment.segment(10) + Comment.segment(2),
+        Comment.segment(10)));
+
+    paths.sort(null);
+
+    assertThat(paths).containsExactly(
+        Comment.segment(9),
+        Comment.segment(10),
+        Comment.segment(10) + Comment.segment(2),
+        Comment.segment(100),
+        Comment.segment(100) + Comment.segment(5));
+  }
+
+  @Test
+  void subtreeRangeCoversAllDescendantsAndNothingElse() {
+    Comment root = comment(37, "");
+    Comment reply = comment(38, root.getSubtreePath());
+    Comment nested = comment(39, reply.getSubtreePath());
+    Comment deep = comment(40, nested.getSubtreePath());
+
+    String start = root.getSubtreePath();
+    String end = Comment.subtreePathEnd(start);
+
+    for (Comment descendant : List.of(reply, nested, deep)) {
+      assertThat(descendant.getPath()).isGreaterThanOrEqualTo(start).isLessThan(end);
+    }
+
+    // The next root and its replies, and the root itself, lie outside the range
+    Comment next = comment(38, "");
+    assertThat(next.getSubtreePath()).isGreaterThanOrEqualTo(end);
+    assertThat(comment(41, next.getSubtreePath()).getPath()).isGreaterThanOrEqualTo(end);
+    assertThat(root.getPath()).isLessThan(start);
+    assertThat(comment(1, Comment.segment(36)).getPath()).isLessThan(start);
+  }
+
+  @Test
+  void depthCountsTheAncestors() {
+    Comment root = comment(1, "");
+    Comment reply = comment(2, root.getSubtreePath());
+    Comment nested = comment(3, reply.getSubtreePath());
+
+    assertThat(root.getDepth()).isZero();
+    assertThat(reply.getDepth()).isEqualTo(1);
+    assertThat(nested.getDepth()).isEqualTo(2);
+    assertThat(nested.getPath()).isEqualTo(Comment.segment(1) + Comment.segment(2));
+  }
+
+  private static Comment comment(long id, String path) {
+    return Comment.builder().id(id).content("Comment " + id).path(path).build();
+  }
+}
@@ -0,0 +1,103 @@
+package kr.null0xff.blog.ingest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import kr.null0xff.blog.dto.CommentCreateRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CommentJournalTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @TempDir
+  private Path directory;
+
+  @Test
+  void recoversTheCommentsAfterTheLastCommitMarker() throws IOException {
+    Path file = directory.resolve("comments.journal");
+    try (CommentJournal journal = new CommentJournal(file, objectMapper)) {
+      for (long sequence = 1; sequence <= 5; sequence++) {
+        journal.append(comment(sequence));
+      }
+      journal.commit(2);
+      journal.commit(3);
+    }
+
+    try (CommentJournal journal = new CommentJournal(file, objectMapper)) {
+      List<PendingComment> recovered = journal.recover();
+
+      assertThat(recovered).extracting(PendingComment::getSequence).containsExactly(4L, 5L);
+      assertThat(recovered).extracting(comment -> comment.getRequest().getContent())
+          .containsExactly("Comment 4", "Comment 5");
+      assertThat(journal.getLastAppended()).isEqualTo(5);
+    }
+  }
+
+  @Test
+  void skipsTornLinesAndCompactsTheJournal() throws IOException {
+    Path file = directory.resolve("comments.journal");
+    try (CommentJournal journal = new CommentJournal(file, objectMapper)) {
+      journal.append(comment(1));
+      journal.append(comment(2));
+      journal.commit(1);
+    }
+    // A crash in the middle of appending the third comment
+    Files.writeString(file, "{\"sequence\":3,\"comment\":{\"cont", StandardCharsets.UTF_8,
+        StandardOpenOption.APPEND);
+
+    try (CommentJournal journal = new CommentJournal(file, objectMapper)) {
+      assertThat(journal.recover()).extracting(PendingComment::getSequence).containsExactly(2L);
+      assertThat(journal.getLastAppended()).isEqualTo(2);
+    }
+
+    // Only the pending comment is left, so a second recovery finds the same
+    assertThat(Files.readAllLines(file)).hasSize(1);
+    try (CommentJournal journal = new CommentJournal(file, objectMapper)) {
+      assertThat(journal.recover()).extracting(PendingComment::getSequence).containsExactly(2L);
+    }
+  }
+
+  @Test
+  void committingEverythingEmptiesTheJournal() throws IOException {
+    Path file = directory.resolve("comments.journal");
+    try (CommentJournal journal = new CommentJournal(file, objectMapper)) {
+      journal.append(comment(1));
+      journal.append(comment(2));
+      journal.commit(2);
+
+      assertThat(Files.size(file)).isZero();
+
+      // The journal keeps working after being truncated
+      journal.append(comment(3));
+    }
+
+    try (CommentJournal journal = new CommentJournal(file, objectMapper)) {
+      assertThat(journal.recover()).extracting(PendingComment::getSequence).containsExactly(3L);
+    }
+  }
+
+  @Test
+  void recoversNothingFromANewJournal() throws IOException {
+    Path file = directory.resolve("nested").resolve("comments.journal");
+    try (CommentJournal journal = new CommentJournal(file, objectMapper)) {
+      assertThat(journal.recover()).isEmpty();
+      assertThat(journal.getLastAppended()).isZero();
+    }
+  }
+
+  private static PendingComment comment(long sequence) {
+    return new PendingComment(sequence, CommentCreateRequest.builder()
+        .content("Comment " + sequence)
+        .postId(1L)
+        .authorId(1L)
+        .build());
+  }
+}
@@ -0,0 +1,61 @@
+package kr.null0xff.blog.markdown;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class MarkdownRendererTest {
+
+  private final MarkdownRenderer renderer = new MarkdownRenderer();
+
+  @Test
+  void escapesScriptTags() {
+    String html = renderer.render("Hello <script>alert('x')</script>\n\n<script>alert(1)</script>");
+
+    assertThat(html).doesNotContain("<script").contains("&lt;script&gt;");
+  }
+
+  @Test
+  void escapesRawHtml() {
+    String html = renderer.render(
+        "<div onclick=\"steal()\">block</div>\n\nInline <img src=x onerror=alert(1)> image");
+
+    assertThat(html).doesNotContain("<div").doesNotContain("<img")
+        .contains("&lt;div onclick=&quot;steal()&quot;&gt;")
+        .contains("&lt;img src=x onerror=alert(1)&gt;");
+  }
+
+  @Test
+  void dropsScriptUrlsFromLinksAndImages() {
+    String html = renderer.render("[click](javascript:alert(1)) "
+        + "[upper](JavaScript:alert(2)) ![pic](javascript:alert(3))");
+
+    assertThat(html.toLowerCase()).doesNotContain("javascript:");
+    assertThat(html).contains("<a rel=\"nofollow\" href=\"\">click</a>");
+  }
+
+  @Test
+  void keepsSafeLinks() {
+    String html = renderer.render("[docs](https://example.com/a?b=1&c=2) and https://example.org");
+
+    assertThat(html)
+        .contains("<a rel=\"nofollow\" href=\"https://example.com/a?b=1&amp;c=2\">docs</a>")
+        .contains("<a rel=\"nofollow\" href=\"https://example.org\">https://example.org</a>");
+  }
+
+  @Test
+  void rendersExtensionsAndHeadingAnchors() {
+    String html = renderer.render(
+        "# Getting Started\n\n| a | b |\n|---|---|\n| 1 | 2 |\n\n~~old~~");
+
+    assertThat(html)
+        .contains("<h1 id=\"getting-started\">Getting Started</h1>")
+        .contains("<table>")
+        .contains("<del>old</del>");
+  }
+
+  @Test
+  void rendersNullAsEmpty() {
+    assertThat(renderer.render(null)).isEmpty();
+  }
+}
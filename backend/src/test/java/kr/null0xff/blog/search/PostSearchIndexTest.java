@@ -0,0 +1,143 @@
+package kr.null0xff.blog.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import kr.null0xff.blog.event.PostSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PostSearchIndexTest {
+
+  private PostSearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    // The repository and transaction manager are only used to rebuild the index
+    index = new PostSearchIndex(null, null);
+  }
+
+  @Test
+  void ranksTitleMatchesAboveContentMatches() {
+    index.index(post(1L, "Cooking notes", "Pasta and rice", "A page about kotlin in passing"));
+    index.index(post(2L, "Kotlin coroutines", "Structured concurrency", "Suspending functions"));
+    index.index(post(3L, "Gardening", "Tomatoes", "Nothing relevant here"));
+
+    SearchResult result = index.search("kotlin", 0, 10);
+
+    assertThat(result.getTotalHits()).isEqualTo(2);
+    assertThat(result.getHits()).extracting(SearchHit::getPostId).containsExactly(2L, 1L);
+    assertThat(result.getHits().get(0).getScore())
+        .isGreaterThan(result.getHits().get(1).getScore());
+  }
+
+  @Test
+  void ranksRepeatedTermsHigherAndRareTermsAboveCommonOnes() {
+    index.index(post(1L, "Java", "Intro", "java java java"));
+    index.index(post(2L, "Java", "Intro", "java"));
+    index.index(post(3L, "Spring", "Intro", "java streams"));
+
+    assertThat(index.search("java", 0, 10).getHits())
+        .extracting(SearchHit::getPostId).containsExactly(1L, 2L, 3L);
+
+    // "streams" occurs in one post only, so it outweighs "java" for that post
+    assertThat(index.search("java streams", 0, 10).getHits())
+        .extracting(SearchHit::getPostId).containsExactly(3L);
+  }
+
+  @Test
+  void requiresEveryQueryTerm() {
+    index.index(post(1L, "Spring Boot", "Web", "Starters"));
+    index.index(post(2L, "Spring Data", "Persistence", "Repositories"));
+
+    assertThat(index.search("spring boot", 0, 10).getHits())
+        .extracting(SearchHit::getPostId).containsExactly(1L);
+    assertThat(index.search("spring kotlin", 0, 10).getTotalHits()).isZero();
+  }
+
+  @Test
+  void expandsOnlyTheLastTermAsPrefix() {
+    index.index(post(1L, "Transactions", "Isolation levels", "Locking reads"));
+    index.index(post(2L, "Transport", "Networking", "Sockets"));
+    index.index(post(3L, "Trans", "Fats", "Isolation"));
+
+    SearchResult prefix = index.search("trans", 0, 10);
+    assertThat(prefix.getHits()).extracting(SearchHit::getPostId)
+        // Titles of the same length: the exact match ranks above the prefix expansions
+        .startsWith(3L)
+        .containsExactlyInAnyOrder(1L, 2L, 3L);
+    assertThat(prefix.getHits().get(1).getMatchedTerms())
+        .isSubsetOf("transactions", "transport");
+
+    // An earlier term must match exactly
+    assertThat(index.search("iso locking", 0, 10).getTotalHits()).isZero();
+    assertThat(index.search("isolation lock", 0, 10).getHits())
+        .extracting(SearchHit::getPostId).containsExactly(1L);
+  }
+
+  @Test
+  void pagesThroughRankedHits() {
+    for (long id = 1; id <= 5; id++) {
+      index.index(post(id, "Post " + id, "Paging", "paging ".repeat((int) id)));
+    }
+
+    SearchResult page = index.search("paging", 2, 2);
+
+    assertThat(page.getTotalHits()).isEqualTo(5);
+    assertThat(page.getHits()).extracting(SearchHit::getPostId).containsExactly(3L, 2L);
+    assertThat(index.search("paging", 5, 2).getHits()).isEmpty();
+  }
+
+  @Test
+  void removesUnpublishedPosts() {
+    index.index(post(1L, "Caching", "Caffeine", "Eviction"));
+    index.index(post(2L, "Caching again", "Redis", "Eviction"));
+
+    index.index(unpublished(1L, "Caching", "Caffeine", "Eviction"));
+
+    assertThat(index.size()).isEqualTo(1);
+    assertThat(index.search("caffeine", 0, 10).getTotalHits()).isZero();
+    assertThat(index.search("caching", 0, 10).getHits())
+        .extracting(SearchHit::getPostId).containsExactly(2L);
+
+    index.remove(2L);
+    index.remove(2L);
+
+    assertThat(index.size()).isZero();
+    assertThat(index.search("eviction", 0, 10).getTotalHits()).isZero();
+  }
+
+  @Test
+  void replacesTheTermsOfAReindexedPost() {
+    index.index(post(1L, "Draft title", "Draft", "Old content"));
+    index.index(post(1L, "Final title", "Final", "New content"));
+
+    assertThat(index.size()).isEqualTo(1);
+    assertThat(index.search("draft", 0, 10).getTotalHits()).isZero();
+    assertThat(index.search("final", 0, 10).getHits())
+        .extracting(SearchHit::getPostId).containsExactly(1L);
+  }
+
+  private static PostSnapshot post(Long id, String title, String description, String content) {
+    return snapshot(id, title, description, content, true);
+  }
+
+  private static PostSnapshot unpublished(Long id, String title, String description,
+      String content) {
+    return snapshot(id, title, description, content, false);
+  }
+
+  private static PostSnapshot snapshot(Long id, String title, String description, String content,
+      boolean published) {
+    return PostSnapshot.builder()
+        .id(id)
+        .slug("post-" + id)
+        .title(title)
+        .description(description)
+        .content(content)
+        .published(published)
+        .categoryName("General")
+        .tags(Map.of())
+        .build();
+  }
+}
@@ -0,0 +1,95 @@
+package kr.null0xff.blog.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Set;
+import kr.null0xff.blog.dto.PostSummaryResponse;
+import kr.null0xff.blog.entity.Category;
+import kr.null0xff.blog.entity.Post;
+import kr.null0xff.blog.entity.User;
+import kr.null0xff.blog.repository.PostSummaryView;
+import kr.null0xff.blog.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PostServiceQueryCountTest {
+
+  private static final int POST_COUNT = 12;
+
+  @Autowired
+  private PostService postService;
+
+  @Autowired
+  private CategoryService categoryService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    String suffix = Long.toString(System.nanoTime(), 36);
+    for (int i = 0; i < POST_COUNT; i++) {
+      User author = userRepository.save(User.builder()
+          .username("qc-" + suffix + "-" + i)
+          .email("qc-" + suffix + "-" + i + "@example.com")
+          .password("password")
+          .build());
+      Category category = categoryService.createCategory(Category.builder()
+          .name("qc-" + suffix + "-" + i)
+          .slug("qc-" + suffix + "-" + i)
+          .build());
+
+      Post post = new Post();
+      post.setTitle("Query count " + i);
+      post.setSlug("query-count-" + suffix + "-" + i);
+      post.setDescription("Description " + i);
+      post.setContent("Content " + i);
+      post.setPublished(true);
+      postService.createPost(post, author.getId(), category.getId(),
+          Set.of("qc-" + suffix + "-a" + i, "qc-" + suffix + "-b" + i));
+    }
+  }
+
+  @Test
+  void publishedPostPageCostsConstantNumberOfStatements() {
+    assertThat(statementsToRenderPage(5)).isEqualTo(3);
+    assertThat(statementsToRenderPage(10)).isEqualTo(3);
+  }
+
+  /**
+   * Load a page of published post summaries and map it to responses outside the transaction, like
+   * the listing endpoints do, returning the number of statements prepared (page, tags and count).
+   */
+  private long statementsToRenderPage(int size) {
+    statistics.clear();
+
+    Page<PostSummaryView> page = postService.getPublishedPostSummaries(
+        PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "publishedAt")));
+    List<PostSummaryResponse> responses = page.map(PostSummaryResponse::fromView).getContent();
+
+    assertThat(responses).hasSize(size);
+    assertThat(responses).allSatisfy(response -> {
+      assertThat(response.getAuthor()).isNotNull();
+      assertThat(response.getCategory()).isNotNull();
+      assertThat(response.getTags()).hasSize(2);
+    });
+    return statistics.getPrepareStatementCount();
+  }
+}
@@ -0,0 +1,96 @@
+package kr.null0xff.blog.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import kr.null0xff.blog.entity.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class SlugAllocatorTest {
+
+  private final SlugAllocator allocator = new SlugAllocator();
+
+  @Test
+  void nextFreeKeepsAFreeBase() {
+    assertThat(SlugAllocator.nextFree("spring", Set.of("spring-1", "other"))).isEqualTo("spring");
+  }
+
+  @Test
+  void nextFreeFillsTheLowestSuffixGap() {
+    assertThat(SlugAllocator.nextFree("spring", Set.of("spring", "spring-1", "spring-3")))
+        .isEqualTo("spring-2");
+    assertThat(SlugAllocator.nextFree("spring", Set.of("spring", "spring-2")))
+        .isEqualTo("spring-1");
+  }
+
+  @Test
+  void nextFreeIgnoresSlugsOfLongerBases() {
+    assertThat(SlugAllocator.nextFree("spring", Set.of("spring", "spring-boot", "spring-10")))
+        .isEqualTo("spring-1");
+  }
+
+  @Test
+  void allocateAllQueriesOnlyTakenBases() {
+    List<String> prefixQueries = new ArrayList<>();
+    Function<String, Collection<String>> existing = base -> {
+      prefixQueries.add(base);
+      return base.equals("java") ? Set.of("java", "java-1") : Set.of();
+    };
+
+    List<String> slugs = allocator.allocateAll(Tag.class, List.of("Java", "Kotlin"), existing,
+        bases -> bases.contains("java") ? Set.of("java") : Set.of());
+
+    assertThat(slugs).containsExactly("java-2", "kotlin");
+    assertThat(prefixQueries).containsExactly("java");
+  }
+
+  @Test
+  void allocateAllSeparatesDuplicateBasesInOneBatch() {
+    List<String> slugs = allocator.allocateAll(Tag.class,
+        List.of("Spring Boot", "spring boot!", "Kotlin", "SPRING BOOT"),
+        base -> Set.of(), bases -> Set.of());
+
+    assertThat(slugs).containsExactly("spring-boot", "spring-boot-1", "kotlin", "spring-boot-2");
+  }
+
+  @Test
+  void reservedSlugsAreSkippedUntilTheTransactionCompletes() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      String first = allocator.allocate(Tag.class, "Caching", base -> Set.of());
+      List<String> batch = allocator.allocateAll(Tag.class, List.of("Caching"),
+          base -> Set.of(), bases -> Set.of());
+      String otherType = allocator.allocate(Object.class, "Caching", base -> Set.of());
+
+      assertThat(first).isEqualTo("caching");
+      assertThat(batch).containsExactly("caching-1");
+      assertThat(otherType).isEqualTo("caching");
+
+      List<TransactionSynchronization> synchronizations =
+          TransactionSynchronizationManager.getSynchronizations();
+      synchronizations.forEach(synchronization ->
+          synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertThat(allocator.allocate(Tag.class, "Caching", base -> Set.of())).isEqualTo("caching");
+  }
+
+  @Test
+  void suggestDoesNotReserve() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      assertThat(allocator.suggest("Caching", base -> Set.of())).isEqualTo("caching");
+      assertThat(allocator.allocate(Tag.class, "Caching", base -> Set.of())).isEqualTo("caching");
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+}
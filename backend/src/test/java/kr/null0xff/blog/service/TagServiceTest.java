@@ -0,0 +1,87 @@
+package kr.null0xff.blog.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import kr.null0xff.blog.entity.Tag;
+import kr.null0xff.blog.repository.TagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class TagServiceTest {
+
+  @Autowired
+  private TagService tagService;
+
+  @Autowired
+  private TagRepository tagRepository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate transaction;
+  private String suffix;
+
+  @BeforeEach
+  void setUp() {
+    transaction = new TransactionTemplate(transactionManager);
+    suffix = Long.toString(System.nanoTime(), 36);
+  }
+
+  @Test
+  void newTagsRollBackWithTheCaller() {
+    String name = "rollback-" + suffix;
+
+    transaction.executeWithoutResult(status -> {
+      assertThat(tagService.resolveTags(List.of(name))).extracting(Tag::getId).doesNotContainNull();
+      status.setRollbackOnly();
+    });
+
+    assertThat(tagRepository.findByName(name)).isEmpty();
+  }
+
+  @Test
+  void usesATagCreatedConcurrently() throws Exception {
+    String name = "race-" + suffix;
+    CountDownLatch inserted = new CountDownLatch(1);
+    CountDownLatch commit = new CountDownLatch(1);
+
+    // Another request inserts the tag and commits it only once this one tries to insert it too
+    CompletableFuture<Tag> other = CompletableFuture.supplyAsync(() -> transaction.execute(
+        status -> {
+          Tag tag = tagRepository.saveAndFlush(
+              Tag.builder().name(name).slug(name).build());
+          inserted.countDown();
+          awaitUninterruptibly(commit);
+          return tag;
+        }));
+    assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+
+    CompletableFuture<Set<Tag>> resolved = CompletableFuture.supplyAsync(
+        () -> tagService.resolveTags(List.of(name)));
+    Thread.sleep(200);
+    commit.countDown();
+
+    Tag created = other.get(10, TimeUnit.SECONDS);
+    assertThat(resolved.get(10, TimeUnit.SECONDS)).extracting(Tag::getId)
+        .containsExactly(created.getId());
+    assertThat(tagRepository.findByNameIn(List.of(name))).hasSize(1);
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package kr.null0xff.blog.trending;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ScoreHeapTest {
+
+  @Test
+  void topListsTheBestScoresFirst() {
+    ScoreHeap heap = new ScoreHeap();
+    heap.add(1, 5);
+    heap.add(2, 9);
+    heap.add(3, 1);
+    heap.add(4, 7);
+
+    assertThat(heap.top(3)).containsExactly(
+        new ScoreHeap.Entry(2, 9), new ScoreHeap.Entry(4, 7), new ScoreHeap.Entry(1, 5));
+    assertThat(heap.top(10)).hasSize(4);
+    assertThat(new ScoreHeap().top(3)).isEmpty();
+  }
+
+  @Test
+  void addRaisesAndLowersExistingScores() {
+    ScoreHeap heap = new ScoreHeap();
+    heap.add(1, 5);
+    heap.add(2, 3);
+    heap.add(3, 4);
+
+    heap.add(2, 10);
+    heap.add(1, -4);
+
+    assertThat(heap.size()).isEqualTo(3);
+    assertThat(heap.top(3)).extracting(ScoreHeap.Entry::id).containsExactly(2L, 3L, 1L);
+  }
+
+  @Test
+  void removeKeepsTheRestOrdered() {
+    ScoreHeap heap = new ScoreHeap();
+    for (long id = 1; id <= 10; id++) {
+      heap.add(id, id);
+    }
+
+    heap.remove(10);
+    heap.remove(3);
+    heap.remove(3);
+    heap.remove(42);
+
+    assertThat(heap.size()).isEqualTo(8);
+    assertThat(heap.contains(3)).isFalse();
+    assertThat(heap.top(4)).extracting(ScoreHeap.Entry::id).containsExactly(9L, 8L, 7L, 6L);
+  }
+
+  @Test
+  void matchesASortedReferenceUnderRandomOperations() {
+    Random random = new Random(7);
+    ScoreHeap heap = new ScoreHeap();
+    Map<Long, Double> reference = new HashMap<>();
+
+    for (int i = 0; i < 20_000; i++) {
+      long id = 1 + random.nextInt(200);
+      int operation = random.nextInt(10);
+      if (operation < 6) {
+        double delta = random.nextDouble() * 10 - (operation == 5 ? 10 : 0);
+        heap.add(id, delta);
+        reference.merge(id, delta, Double::sum);
+      } else if (operation < 9) {
+        heap.remove(id);
+        reference.remove(id);
+      } else {
+        heap.scale(0.5);
+        reference.replaceAll((key, score) -> score * 0.5);
+      }
+
+      if (i % 100 == 0) {
+        assertTop(heap, reference, 1 + random.nextInt(30));
+      }
+    }
+    assertTop(heap, reference, reference.size());
+  }
+
+  private static void assertTop(ScoreHeap heap, Map<Long, Double> reference, int k) {
+    assertThat(heap.size()).isEqualTo(reference.size());
+
+    List<Double> expected = reference.values().stream()
+        .sorted(Comparator.reverseOrder())
+        .limit(k)
+        .toList();
+    List<ScoreHeap.Entry> top = heap.top(k);
+
+    // Compare scores, since the order of equal scores is not defined
+    assertThat(top).extracting(ScoreHeap.Entry::score).containsExactlyElementsOf(expected);
+    top.forEach(entry -> assertThat(reference.get(entry.id())).isEqualTo(entry.score()));
+  }
+}
@@ -0,0 +1,160 @@
+package kr.null0xff.blog.trending;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import kr.null0xff.blog.config.TrendingProperties;
+import kr.null0xff.blog.event.PostViewsFlushedEvent;
+import kr.null0xff.blog.repository.CommentRepository;
+import kr.null0xff.blog.repository.PostPublication;
+import kr.null0xff.blog.repository.PostRepository;
+import kr.null0xff.blog.util.LongLongHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TrendingPostsTest {
+
+  private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+  private final MutableClock clock = new MutableClock(START);
+  private final PostRepository postRepository = mock(PostRepository.class);
+  private final CommentRepository commentRepository = mock(CommentRepository.class);
+
+  private TrendingPosts trendingPosts;
+
+  @BeforeEach
+  void setUp() {
+    TrendingProperties properties = new TrendingProperties();
+    properties.setHalfLife(Duration.ofHours(1));
+    // Large enough that the publications still count after the dozens of half-lives a rebase
+    // takes, which decay them by 2^-32
+    properties.setPublishWeight(1e12);
+    properties.setViewWeight(1);
+    properties.setRankingSize(10);
+
+    when(postRepository.findPublications()).thenReturn(List.of(
+        publication(1, START.minus(Duration.ofHours(2))),
+        publication(2, START.minus(Duration.ofHours(1))),
+        publication(3, START)));
+    when(commentRepository.findApprovalsSince(any())).thenReturn(List.of());
+
+    trendingPosts = new TrendingPosts(properties, postRepository, commentRepository, clock);
+    trendingPosts.load();
+  }
+
+  @Test
+  void ranksNewerPublicationsHigher() {
+    assertThat(trendingPosts.trending(10)).extracting(TrendingPost::postId)
+        .containsExactly(3L, 2L, 1L);
+    assertThat(trendingPosts.trending(10).get(0).score()).isCloseTo(1e12, within(1.0));
+  }
+
+  @Test
+  void rebaseKeepsTheRanking() {
+    // Just before the rebase: the publications have decayed by 2^-32 and views lift post 1
+    clock.advance(Duration.ofHours(32));
+    double publication = 1e12 * Math.pow(2, -32);
+    trendingPosts.onViewsFlushed(views(1, 100));
+    trendingPosts.snapshot();
+
+    List<TrendingPost> before = trendingPosts.trending(10);
+    assertThat(before).extracting(TrendingPost::postId).containsExactly(3L, 1L, 2L);
+    assertScores(before, publication, publication / 4 + 100, publication / 2);
+
+    // One more half-life rebases the scores and halves all of them
+    clock.advance(Duration.ofHours(1));
+    trendingPosts.snapshot();
+
+    List<TrendingPost> after = trendingPosts.trending(10);
+    assertThat(after).extracting(TrendingPost::postId).containsExactly(3L, 1L, 2L);
+    for (int i = 0; i < after.size(); i++) {
+      assertThat(after.get(i).score())
+          .isCloseTo(before.get(i).score() / 2, within(before.get(i).score() * 1e-9));
+    }
+
+    // Activity after the rebase adds on the new reference time
+    trendingPosts.onViewsFlushed(views(2, 100));
+    trendingPosts.snapshot();
+
+    List<TrendingPost> latest = trendingPosts.trending(10);
+    assertThat(latest).extracting(TrendingPost::postId).containsExactly(2L, 3L, 1L);
+    assertScores(latest, publication / 4 + 100, publication / 2, publication / 8 + 50);
+  }
+
+  @Test
+  void dropsPostsThatDecayedAway() {
+    clock.advance(Duration.ofHours(60));
+    trendingPosts.onViewsFlushed(views(2, 1));
+    trendingPosts.snapshot();
+
+    assertThat(trendingPosts.trending(10)).extracting(TrendingPost::postId).containsExactly(2L);
+  }
+
+  private static void assertScores(List<TrendingPost> ranking, double... expected) {
+    assertThat(ranking).hasSize(expected.length);
+    for (int i = 0; i < expected.length; i++) {
+      assertThat(ranking.get(i).score()).isCloseTo(expected[i], within(expected[i] * 1e-9));
+    }
+  }
+
+  private static PostViewsFlushedEvent views(long postId, long views) {
+    LongLongHashMap counted = new LongLongHashMap();
+    counted.put(postId, views);
+    return new PostViewsFlushedEvent(counted);
+  }
+
+  private static PostPublication publication(long id, Instant publishedAt) {
+    return new PostPublication() {
+      @Override
+      public Long getId() {
+        return id;
+      }
+
+      @Override
+      public LocalDateTime getPublishedAt() {
+        return LocalDateTime.ofInstant(publishedAt, ZoneOffset.UTC);
+      }
+    };
+  }
+
+  /**
+   * A clock in UTC that only moves when told to
+   */
+  private static final class MutableClock extends Clock {
+
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
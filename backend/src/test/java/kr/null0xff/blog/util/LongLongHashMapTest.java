@@ -0,0 +1,106 @@
+package kr.null0xff.blog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LongLongHashMapTest {
+
+  // Capacity of a new map, which holds up to half as many entries before it grows
+  private static final int CAPACITY = 8;
+
+  @Test
+  void removeShiftsEntriesBackAcrossTheEndOfTheTable() {
+    // Three keys hash to the last slot and wrap around to the first two, a fourth key hashes to
+    // the first slot and is pushed behind them
+    List<Long> last = keysWithHome(CAPACITY - 1, 3);
+    long first = keysWithHome(0, 1).get(0);
+
+    LongLongHashMap map = new LongLongHashMap();
+    for (long key : last) {
+      map.put(key, key * 10);
+    }
+    map.put(first, 1);
+
+    assertThat(map.remove(last.get(0))).isEqualTo(last.get(0) * 10);
+
+    assertThat(map.size()).isEqualTo(3);
+    assertThat(map.containsKey(last.get(0))).isFalse();
+    assertThat(map.get(last.get(1))).isEqualTo(last.get(1) * 10);
+    assertThat(map.get(last.get(2))).isEqualTo(last.get(2) * 10);
+    assertThat(map.get(first)).isEqualTo(1);
+
+    // Removing in the middle of the wrapped sequence keeps the rest reachable as well
+    assertThat(map.remove(last.get(1))).isEqualTo(last.get(1) * 10);
+    assertThat(map.get(last.get(2))).isEqualTo(last.get(2) * 10);
+    assertThat(map.get(first)).isEqualTo(1);
+  }
+
+  @Test
+  void removeLeavesEntriesThatAreAlreadyHome() {
+    List<Long> last = keysWithHome(CAPACITY - 1, 2);
+    long second = keysWithHome(1, 1).get(0);
+
+    LongLongHashMap map = new LongLongHashMap();
+    map.put(last.get(0), 1);
+    map.put(second, 2);
+    map.put(last.get(1), 3);
+
+    map.remove(last.get(0));
+
+    assertThat(map.get(second)).isEqualTo(2);
+    assertThat(map.get(last.get(1))).isEqualTo(3);
+    assertThat(map.remove(last.get(0))).isZero();
+  }
+
+  @Test
+  void matchesAHashMapUnderRandomOperations() {
+    Random random = new Random(42);
+    LongLongHashMap map = new LongLongHashMap();
+    Map<Long, Long> reference = new HashMap<>();
+
+    for (int i = 0; i < 100_000; i++) {
+      long key = 1 + random.nextInt(64);
+      switch (random.nextInt(3)) {
+        case 0 -> {
+          map.put(key, i);
+          reference.put(key, (long) i);
+        }
+        case 1 -> assertThat(map.addTo(key, 3)).isEqualTo(reference.merge(key, 3L, Long::sum));
+        default -> {
+          long expected = reference.containsKey(key) ? reference.remove(key) : 0;
+          assertThat(map.remove(key)).isEqualTo(expected);
+        }
+      }
+      assertThat(map.size()).isEqualTo(reference.size());
+    }
+
+    Map<Long, Long> entries = new HashMap<>();
+    map.forEach(entries::put);
+    assertThat(entries).isEqualTo(reference);
+  }
+
+  @Test
+  void rejectsZeroKeys() {
+    LongLongHashMap map = new LongLongHashMap();
+
+    assertThatThrownBy(() -> map.put(0, 1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static List<Long> keysWithHome(int slot, int count) {
+    List<Long> keys = new ArrayList<>();
+    for (long key = 1; keys.size() < count; key++) {
+      long hash = key * 0x9E3779B97F4A7C15L;
+      if (((int) (hash ^ (hash >>> 32)) & (CAPACITY - 1)) == slot) {
+        keys.add(key);
+      }
+    }
+    return keys;
+  }
+}
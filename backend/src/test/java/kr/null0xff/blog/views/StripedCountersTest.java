@@ -0,0 +1,91 @@
+package kr.null0xff.blog.views;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import kr.null0xff.blog.util.LongLongHashMap;
+import org.junit.jupiter.api.Test;
+
+class StripedCountersTest {
+
+  private final StripedCounters counters = new StripedCounters();
+
+  @Test
+  void drainSumsTheCountsOfAllThreads() throws InterruptedException {
+    int threads = 8;
+    int increments = 10_000;
+    CountDownLatch start = new CountDownLatch(1);
+
+    List<Thread> workers = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      long own = 100 + t;
+      workers.add(Thread.ofPlatform().start(() -> {
+        awaitUninterruptibly(start);
+        for (int i = 0; i < increments; i++) {
+          // One hot ID shared by every thread, one ID per thread
+          counters.add(1, 1);
+          counters.add(own, 2);
+        }
+      }));
+    }
+    start.countDown();
+    for (Thread worker : workers) {
+      worker.join();
+    }
+
+    LongLongHashMap drained = counters.drain();
+
+    assertThat(drained.size()).isEqualTo(threads + 1);
+    assertThat(drained.get(1)).isEqualTo((long) threads * increments);
+    for (int t = 0; t < threads; t++) {
+      assertThat(drained.get(100 + t)).isEqualTo(2L * increments);
+    }
+  }
+
+  @Test
+  void drainResetsTheCounters() {
+    counters.add(1, 3);
+    counters.add(2, 4);
+    counters.add(1, 5);
+
+    LongLongHashMap first = counters.drain();
+    assertThat(first.get(1)).isEqualTo(8);
+    assertThat(first.get(2)).isEqualTo(4);
+
+    assertThat(counters.drain().isEmpty()).isTrue();
+
+    counters.add(2, 1);
+    LongLongHashMap second = counters.drain();
+    assertThat(second.size()).isEqualTo(1);
+    assertThat(second.get(2)).isEqualTo(1);
+  }
+
+  @Test
+  void countsAddedWhileDrainingAreKeptForTheNextDrain() throws InterruptedException {
+    long total = 200_000;
+    Thread writer = Thread.ofPlatform().start(() -> {
+      for (long i = 0; i < total; i++) {
+        counters.add(7, 1);
+      }
+    });
+
+    long drained = 0;
+    while (writer.isAlive()) {
+      drained += counters.drain().get(7);
+    }
+    writer.join();
+    drained += counters.drain().get(7);
+
+    assertThat(drained).isEqualTo(total);
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package kr.null0xff.blog.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import kr.null0xff.blog.entity.Category;
+import kr.null0xff.blog.entity.Post;
+import kr.null0xff.blog.entity.User;
+import kr.null0xff.blog.repository.UserRepository;
+import kr.null0xff.blog.service.CategoryService;
+import kr.null0xff.blog.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GzipResponseFilterTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private PostService postService;
+
+  @Autowired
+  private CategoryService categoryService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private String categorySlug;
+
+  @BeforeEach
+  void setUp() {
+    String suffix = Long.toString(System.nanoTime(), 36);
+    User author = userRepository.save(User.builder()
+        .username("gz-" + suffix)
+        .email("gz-" + suffix + "@example.com")
+        .password("password")
+        .build());
+    categorySlug = "gz-" + suffix;
+    Category category = categoryService.createCategory(Category.builder()
+        .name(categorySlug)
+        .slug(categorySlug)
+        .build());
+
+    for (int i = 0; i < 5; i++) {
+      Post post = new Post();
+      post.setTitle("Compressed " + i);
+      post.setSlug("compressed-" + suffix + "-" + i);
+      post.setDescription("Description " + i);
+      post.setContent("Content " + i);
+      post.setPublished(true);
+      postService.createPost(post, author.getId(), category.getId(), Set.of("gz-" + suffix));
+    }
+  }
+
+  @Test
+  void listingIsCompressedWithItsOwnEtag() throws Exception {
+    MockHttpServletResponse gzip = mockMvc.perform(get("/api/posts/by-category/" + categorySlug)
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+        .andReturn().getResponse();
+
+    MockHttpServletResponse identity = mockMvc.perform(
+            get("/api/posts/by-category/" + categorySlug))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+        .andReturn().getResponse();
+
+    String gzipEtag = gzip.getHeader(HttpHeaders.ETAG);
+    assertThat(gzipEtag).isNotEqualTo(identity.getHeader(HttpHeaders.ETAG)).endsWith("-gzip\"");
+    assertThat(gzip.getHeader(HttpHeaders.CONTENT_LENGTH)).isNull();
+    assertThat(gzip.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+
+    JsonNode page = objectMapper.readTree(gunzip(gzip.getContentAsByteArray()));
+    assertThat(page.get("content")).hasSize(5);
+    assertThat(page).isEqualTo(objectMapper.readTree(identity.getContentAsByteArray()));
+
+    // The compressed copy revalidates against its own ETag
+    mockMvc.perform(get("/api/posts/by-category/" + categorySlug)
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+            .header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+        .andExpect(status().isNotModified());
+  }
+
+  @Test
+  void errorsAreNotCompressedByTheFilter() throws Exception {
+    mockMvc.perform(get("/api/posts/by-slug/missing-" + categorySlug)
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+        .andExpect(status().isNotFound())
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+  }
+
+  private static byte[] gunzip(byte[] content) throws IOException {
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+      return in.readAllBytes();
+    }
+  }
+}
@@ -14,8 +14,10 @@ export function normalizePost(post: any): Post {
     id: post.id,
     title: post.title,
     slug: post.slug,
-    description: post.description || '',
-    content: post.content || '',
+    description: post.description || post.excerpt || '',
+    // Single posts are fetched with their content already rendered to HTML by the backend
+    content: post.contentHtml || post.content || '',
+    readingMinutes: post.readingMinutes,
     imageUrl: post.imageUrl || `https://picsum.photos/seed/${post.id}/800/600`,
     date: post.publishedAt || post.createdAt || new Date().toISOString(),
     author: post.author?.username || 'Anonymous',
@@ -86,7 +88,7 @@ export async function getPaginatedPosts(page: number, limit: number): Promise<Pa
  */
 export async function getPostBySlug(slug: string): Promise<Post> {
   try {
-    const response = await fetch(`${API_URL}/posts/by-slug/${slug}`);
+    const response = await fetch(`${API_URL}/posts/by-slug/${slug}?html=true`);
 
     if (!response.ok) {
       if (response.status === 404) {
@@ -149,6 +151,53 @@ export async function getPostsByCategory(categorySlug: string, page: number = 0,
   }
 }
 
+/**
+ * Fetches the posts most related to a post. Related posts are optional on the page, so failures
+ * yield an empty list.
+ */
+export async function getRelatedPosts(postId: string | number, limit: number = 3): Promise<Post[]> {
+  try {
+    const response = await fetch(`${API_URL}/posts/${postId}/related?limit=${limit}`);
+
+    if (!response.ok) {
+      return [];
+    }
+
+    const data = await response.json();
+    return data.map(normalizePost);
+  } catch (err) {
+    console.error(`Error fetching related posts of post ${postId}:`, err);
+    return [];
+  }
+}
+
+/**
+ * Fetches the posts with the most recent activity. An empty list when nothing is trending.
+ */
+export async function getTrendingPosts(limit: number = 3): Promise<Post[]> {
+  try {
+    const response = await fetch(`${API_URL}/posts/trending?limit=${limit}`);
+
+    if (!response.ok) {
+      return [];
+    }
+
+    const data = await response.json();
+    return data.map(normalizePost);
+  } catch (err) {
+    console.error('Error fetching trending posts:', err);
+    return [];
+  }
+}
+
+/**
+ * Counts a view of a post. Fire and forget: a lost view is not worth an error on the page.
+ */
+export function recordPostView(postId: string | number): void {
+  fetch(`${API_URL}/posts/${postId}/views`, {method: 'POST', keepalive: true})
+    .catch((err) => console.error(`Error recording a view of post ${postId}:`, err));
+}
+
 /**
  * Fetches posts by tag slug
  */
@@ -4,6 +4,7 @@ export interface Post {
   slug: string;
   description: string;
   content?: string;
+  readingMinutes?: number;
   imageUrl: string;
   date: string;
   author?: string;
@@ -27,6 +28,7 @@ export interface BlogPageData {
 
 export interface PostPageData {
   post: Post;
+  relatedPosts?: Post[];
 }
 
 export interface Reply {
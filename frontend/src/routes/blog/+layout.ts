@@ -1,17 +1,18 @@
-import { getAllPosts } from '$lib/services/blogService';
+import { getAllPosts, getTrendingPosts } from '$lib/services/blogService';
 import type { LayoutLoad } from './$types';
 import type { Post } from '$lib/types/blog';
 import { error } from '@sveltejs/kit';
 
 export const load: LayoutLoad = async () => {
   try {
-    // Get all posts and pick the first 3 for featured posts
-    const allPosts = await getAllPosts();
-
-    // Sort by date and get the most recent posts for featured section
-    const featuredPosts = allPosts
-      .sort((a, b) => new Date(b.date).getTime() - new Date(a.date).getTime())
-      .slice(0, 3);
+    // Feature the trending posts, or the most recent ones while nothing is trending
+    let featuredPosts = await getTrendingPosts(3);
+    if (featuredPosts.length === 0) {
+      const allPosts = await getAllPosts();
+      featuredPosts = allPosts
+        .sort((a, b) => new Date(b.date).getTime() - new Date(a.date).getTime())
+        .slice(0, 3);
+    }
 
     return {
       featuredPosts
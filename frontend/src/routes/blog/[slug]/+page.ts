@@ -1,5 +1,5 @@
 import type {PageLoad} from './$types';
-import {getPostBySlug} from '$lib/services/blogService';
+import {getPostBySlug, getRelatedPosts} from '$lib/services/blogService';
 import {error} from '@sveltejs/kit';
 import type {PostPageData} from '$lib/types/blog';
 
@@ -10,10 +10,12 @@ export const load: PageLoad<PostPageData> = async ({params, parent}) => {
 
     // Get the specific post by slug
     const post = await getPostBySlug(params.slug);
+    const relatedPosts = await getRelatedPosts(post.id);
 
     return {
       post,
-      featuredPosts
+      featuredPosts,
+      relatedPosts
     };
   } catch (err) {
     // If it's already a SvelteKit error, rethrow it
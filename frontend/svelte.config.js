@@ -9,7 +9,7 @@ const config = {
     adapter: adapter({
       // Output directory for the static build
       fallback: 'index.html', // Optional: For SPA-style routing
-      precompress: false     // Optional: Set to true to precompress files
+      precompress: true      // .br and .gz variants, served by the backend as they are
     })
   }
 };